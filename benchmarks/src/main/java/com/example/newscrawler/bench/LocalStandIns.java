@@ -0,0 +1,378 @@
+/**
+ * LocalStandIns 클래스는 크롤러가 접속하는 외부 서비스를 대신하는 로컬 HTTP 서버(com.sun.net.httpserver) 세 개를 띄웁니다.
+ * - naver: 네이버 검색 API 대역. /v1/search/news.json은 녹화 응답(fixtures/news_100.json)의 기사로 만든
+ *   기사 풀(pool)에서 검색어마다 정해진 구간을 최신순으로 돌려주므로, 검색어끼리 결과가 일부 겹칩니다.
+ *   display, start, sort 파라미터와 total 값을 실제 API처럼 처리하며, /v1/search/image는 이미지 호스트의 주소를 돌려줍니다.
+ * - web: 언론사 기사 페이지와 이미지 호스트 대역. /article/{id}는 <head>에 og:image가 있는 HTML을,
+ *   /images/{n}.jpg는 시작 시 만든 JPEG를 돌려줍니다. ogImageRate 비율의 기사만 og:image를 가집니다.
+ * - slack: Slack 웹훅 대역. /slack/{이름}으로 받은 메시지와 attachment 수를 웹훅별로 셉니다.
+ * 서버마다 Behavior로 응답 지연, 5xx 오류 비율, 429 비율, 초당 처리 한도(넘으면 Retry-After와 함께 429)를 지정합니다.
+ * 요청, 주입한 오류, 429 응답 수는 경로별로 집계하여 counters()로 확인합니다.
+ */
+
+package com.example.newscrawler.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LocalStandIns implements AutoCloseable {
+    private static final int IMAGE_COUNT = 16;
+    private static final int ARTICLE_BODY_BYTES = 64 * 1024;
+    // 기사 풀 전체가 NewsItemParser의 최근 3일 기준 안에 들어오도록 게시 시각을 배치합니다.
+    private static final long POOL_SPAN_MILLIS = 2L * 24 * 60 * 60 * 1000;
+
+    private final HttpServer naver;
+    private final HttpServer web;
+    private final HttpServer slack;
+    private final Behavior naverBehavior;
+    private final Behavior webBehavior;
+    private final Behavior slackBehavior;
+    private final JSONArray recorded;
+    private final int poolSize;
+    private final int resultsPerQuery;
+    private final double ogImageRate;
+    private final long poolStartMillis = System.currentTimeMillis();
+    private final byte[][] images = new byte[IMAGE_COUNT][];
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param poolSize        기사 풀 크기 (서로 다른 기사 수)
+     * @param resultsPerQuery 검색어 하나의 전체 결과 수 (total), 페이지 수는 이 값을 display로 나눈 만큼입니다.
+     * @param ogImageRate     og:image가 있는 기사 페이지의 비율 (0~1)
+     */
+    LocalStandIns(int poolSize, int resultsPerQuery, double ogImageRate,
+                  Behavior naverBehavior, Behavior webBehavior, Behavior slackBehavior) throws IOException {
+        this.poolSize = poolSize;
+        this.resultsPerQuery = Math.min(resultsPerQuery, poolSize);
+        this.ogImageRate = ogImageRate;
+        this.naverBehavior = naverBehavior;
+        this.webBehavior = webBehavior;
+        this.slackBehavior = slackBehavior;
+        this.recorded = NewsFixtures.recordedItems();
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            images[i] = renderImage(i);
+        }
+
+        naver = start();
+        naver.createContext("/v1/search/news.json", exchange -> handle(exchange, naverBehavior, "naver news", this::news));
+        naver.createContext("/v1/search/image", exchange -> handle(exchange, naverBehavior, "naver image", this::imageSearch));
+        web = start();
+        web.createContext("/article/", exchange -> handle(exchange, webBehavior, "web article", this::article));
+        web.createContext("/images/", exchange -> handle(exchange, webBehavior, "web image", this::image));
+        slack = start();
+        slack.createContext("/slack/", exchange -> handle(exchange, slackBehavior, "slack", this::webhook));
+    }
+
+    String naverBaseUrl() {
+        return baseUrl(naver) + "/v1/search/";
+    }
+
+    String slackWebhookUrl(String name) {
+        return baseUrl(slack) + "/slack/" + name;
+    }
+
+    /**
+     * counters 메서드는 "대역 경로 항목" 형식의 이름(예: "naver news requests")별 집계를 이름순으로 반환합니다.
+     */
+    Map<String, Long> counters() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, value) -> snapshot.put(name, value.sum()));
+        return snapshot;
+    }
+
+    long counter(String name) {
+        LongAdder value = counters.get(name);
+        return value == null ? 0 : value.sum();
+    }
+
+    @Override
+    public void close() {
+        naver.stop(0);
+        web.stop(0);
+        slack.stop(0);
+    }
+
+    private static HttpServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    private static String baseUrl(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Behavior behavior, String name, Handler handler) {
+        try (exchange) {
+            count(name + " requests");
+            int injected = behavior.apply(exchange);
+            if (injected == 429) {
+                count(name + " throttled");
+                return;
+            }
+            if (injected != 0) {
+                count(name + " errors");
+                return;
+            }
+            handler.handle(exchange);
+        } catch (Exception e) {
+            count(name + " failures");
+        }
+    }
+
+    private void count(String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * news 메서드는 검색어의 해시로 기사 풀의 시작 위치를 정하고, 그 위치부터 resultsPerQuery개를 최신순 결과로 돌려줍니다.
+     * 풀의 번호가 작을수록 최신 기사이므로 구간을 그대로 자르면 최신순이 됩니다.
+     */
+    private void news(HttpExchange exchange) throws IOException {
+        Map<String, String> params = queryParams(exchange);
+        String query = params.getOrDefault("query", "");
+        int display = Math.max(1, Math.min(100, Integer.parseInt(params.getOrDefault("display", "10"))));
+        int start = Math.max(1, Integer.parseInt(params.getOrDefault("start", "1")));
+        int first = Math.floorMod(query.hashCode() * 31, poolSize - resultsPerQuery + 1);
+
+        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+        JSONArray items = new JSONArray();
+        for (int k = start - 1; k < Math.min(resultsPerQuery, start - 1 + display); k++) {
+            int id = first + k;
+            JSONObject source = recorded.getJSONObject(id % recorded.length());
+            String link = baseUrl(web) + "/article/" + id + "?sid=107";
+            JSONObject item = new JSONObject();
+            item.put("title", source.getString("title"));
+            item.put("originallink", link);
+            item.put("link", link);
+            item.put("description", source.getString("description"));
+            item.put("pubDate", sdf.format(new Date(poolStartMillis - id * (POOL_SPAN_MILLIS / poolSize))));
+            items.put(item);
+        }
+        JSONObject response = new JSONObject();
+        response.put("lastBuildDate", sdf.format(new Date()));
+        response.put("total", resultsPerQuery);
+        response.put("start", start);
+        response.put("display", items.length());
+        response.put("items", items);
+        send(exchange, 200, "application/json; charset=utf-8", response.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void imageSearch(HttpExchange exchange) throws IOException {
+        String query = queryParams(exchange).getOrDefault("query", "");
+        JSONObject item = new JSONObject();
+        item.put("title", query);
+        item.put("link", baseUrl(web) + "/images/" + Math.floorMod(query.hashCode(), IMAGE_COUNT) + ".jpg?type=w647");
+        item.put("thumbnail", item.getString("link"));
+        JSONObject response = new JSONObject();
+        response.put("total", 1);
+        response.put("start", 1);
+        response.put("display", 1);
+        response.put("items", new JSONArray().put(item));
+        send(exchange, 200, "application/json; charset=utf-8", response.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void article(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int id = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+        StringBuilder html = new StringBuilder(ARTICLE_BODY_BYTES + 1024);
+        html.append("<!DOCTYPE html><html lang=\"ko\"><head><meta charset=\"utf-8\">")
+                .append("<title>").append(recorded.getJSONObject(id % recorded.length()).getString("title")).append("</title>")
+                .append("<script>window.__ARTICLE__ = {id: ").append(id).append(", tags: '<b>x</b>'};</script>");
+        // 기사 번호로 정하므로 같은 기사는 항상 같은 결과가 됩니다.
+        if (new Random(id).nextDouble() < ogImageRate) {
+            html.append("<meta property=\"og:image\" content=\"/images/").append(id % IMAGE_COUNT).append(".jpg\">");
+        }
+        html.append("</head><body><article>");
+        while (html.length() < ARTICLE_BODY_BYTES) {
+            html.append("<p>본문 문단입니다. 기사 본문은 og:image 조회에서 읽지 않아야 합니다.</p>");
+        }
+        html.append("</article></body></html>");
+        send(exchange, 200, "text/html; charset=utf-8", html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void image(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        int index = Integer.parseInt(name.substring(0, name.indexOf('.')));
+        send(exchange, 200, "image/jpeg", images[Math.floorMod(index, IMAGE_COUNT)]);
+    }
+
+    private void webhook(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        try (InputStream in = exchange.getRequestBody()) {
+            JSONObject payload = new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            JSONArray attachments = payload.optJSONArray("attachments");
+            count("slack " + name + " messages");
+            counters.computeIfAbsent("slack " + name + " attachments", key -> new LongAdder())
+                    .add(attachments == null ? 1 : attachments.length());
+        }
+        send(exchange, 200, "text/plain", "ok".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    /**
+     * renderImage 메서드는 실제 기사 사진과 비슷한 크기(1280x853, 수백 KB)의 JPEG를 만듭니다.
+     */
+    private static byte[] renderImage(int seed) throws IOException {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(1280, 853, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setPaint(new GradientPaint(0, 0, new Color(random.nextInt(0xFFFFFF)),
+                    1280, 853, new Color(random.nextInt(0xFFFFFF))));
+            g.fillRect(0, 0, 1280, 853);
+            for (int i = 0; i < 400; i++) {
+                g.setColor(new Color(random.nextInt(0xFFFFFF)));
+                g.fillOval(random.nextInt(1280), random.nextInt(853), 5 + random.nextInt(120), 5 + random.nextInt(120));
+            }
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Behavior 클래스는 대역 서버 하나의 응답 특성입니다.
+     */
+    static final class Behavior {
+        final long latencyMillis;
+        final long jitterMillis;
+        final double errorRate;
+        final double throttleRate;
+        final double ratePerSecond;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        /**
+         * @param latencyMillis 모든 응답에 더하는 지연 시간
+         * @param jitterMillis  지연 시간에 더하는 0~jitterMillis 사이의 임의 값
+         * @param errorRate     503으로 응답할 비율 (0~1)
+         * @param throttleRate  429로 응답할 비율 (0~1)
+         * @param ratePerSecond 초당 처리 한도, 넘는 요청은 429로 응답 (0이면 제한 없음)
+         */
+        Behavior(long latencyMillis, long jitterMillis, double errorRate, double throttleRate, double ratePerSecond) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.errorRate = errorRate;
+            this.throttleRate = throttleRate;
+            this.ratePerSecond = ratePerSecond;
+            this.tokens = ratePerSecond;
+        }
+
+        /**
+         * parse 메서드는 "prefix.latencyMs" 형식의 옵션에서 Behavior를 만듭니다. 없는 옵션은 기본값을 씁니다.
+         */
+        static Behavior parse(Map<String, String> options, String prefix, long defaultLatencyMillis) {
+            return new Behavior(
+                    Long.parseLong(options.getOrDefault(prefix + ".latencyMs", Long.toString(defaultLatencyMillis))),
+                    Long.parseLong(options.getOrDefault(prefix + ".jitterMs", Long.toString(defaultLatencyMillis / 2))),
+                    Double.parseDouble(options.getOrDefault(prefix + ".errorRate", "0")),
+                    Double.parseDouble(options.getOrDefault(prefix + ".throttleRate", "0")),
+                    Double.parseDouble(options.getOrDefault(prefix + ".ratePerSecond", "0")));
+        }
+
+        /**
+         * apply 메서드는 지연 시간만큼 기다린 뒤 오류를 주입할지 정합니다.
+         *
+         * @return 주입한 오류 응답의 상태 코드, 정상 처리해야 하면 0
+         */
+        int apply(HttpExchange exchange) throws IOException, InterruptedException {
+            long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (!acquire() || roll < throttleRate) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 429, "application/json", "{\"errorCode\":\"012\",\"errorMessage\":\"Rate limit\"}"
+                        .getBytes(StandardCharsets.UTF_8));
+                return 429;
+            }
+            if (roll < throttleRate + errorRate) {
+                send(exchange, 503, "text/plain", "injected error".getBytes(StandardCharsets.UTF_8));
+                return 503;
+            }
+            return 0;
+        }
+
+        private synchronized boolean acquire() {
+            if (ratePerSecond <= 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            tokens = Math.min(ratePerSecond, tokens + (now - lastRefillNanos) / 1e9 * ratePerSecond);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("latency=%d+%dms errors=%.1f%% 429=%.1f%% limit=%s",
+                    latencyMillis, jitterMillis, errorRate * 100, throttleRate * 100,
+                    ratePerSecond > 0 ? ratePerSecond + "/s" : "none");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * NewsFixtures 클래스는 벤치마크에 사용할 네이버 뉴스 응답과 전송 기록 파일을 만듭니다.
+ * - fixtures/news_100.json은 baseball_news.csv와 sent_articles.txt에 기록된 실제 기사 100건을
+ *   네이버 뉴스 검색 API 응답 형식(<b> 강조, HTML 엔티티, 쿼리가 붙은 link 포함)으로 옮긴 녹화 응답입니다.
+ * - newsJson(n)은 녹화 응답의 기사를 반복하여 n건짜리 응답을 만들고, 링크가 겹치지 않게 하며
+ *   게시 시각을 현재 시각 기준 최근 3일 안으로 다시 매겨 NewsItemParser의 기준 시각 필터에 걸리지 않게 합니다.
+ * - writeSentArticles는 sent_articles.txt와 같은 형식(한 줄에 링크 하나)의 합성 전송 기록을 만듭니다.
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.service.NewsItemParser;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+final class NewsFixtures {
+    private static final String RECORDED_RESPONSE = "/fixtures/news_100.json";
+    // 10,000건을 20초 간격으로 배치해도 약 56시간으로 최근 3일 안에 들어옵니다.
+    private static final long PUB_DATE_STEP_MILLIS = 20_000;
+
+    private NewsFixtures() {
+    }
+
+    /**
+     * newsJson 메서드는 녹화 응답을 바탕으로 기사 n건을 담은 네이버 뉴스 검색 응답 본문을 만듭니다.
+     *
+     * @param items 응답에 담을 기사 수
+     * @return 최신순으로 정렬된 응답 본문
+     */
+    static String newsJson(int items) throws IOException {
+        JSONArray recorded = recordedItems();
+        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+        long now = System.currentTimeMillis();
+
+        JSONArray generated = new JSONArray();
+        for (int i = 0; i < items; i++) {
+            JSONObject source = recorded.getJSONObject(i % recorded.length());
+            int round = i / recorded.length();
+            JSONObject item = new JSONObject();
+            item.put("title", source.getString("title"));
+            item.put("originallink", withRound(source.getString("originallink"), round));
+            item.put("link", withRound(source.getString("link"), round));
+            item.put("description", source.getString("description"));
+            item.put("pubDate", sdf.format(new Date(now - i * PUB_DATE_STEP_MILLIS)));
+            generated.put(item);
+        }
+
+        JSONObject response = new JSONObject();
+        response.put("lastBuildDate", sdf.format(new Date(now)));
+        response.put("total", items);
+        response.put("start", 1);
+        response.put("display", items);
+        response.put("items", generated);
+        return response.toString();
+    }
+
+    /**
+     * newsItems 메서드는 newsJson(n) 응답을 파싱한 NewsItem 리스트를 반환합니다.
+     */
+    static List<NewsItem> newsItems(int items) throws Exception {
+        return NewsItemParser.parse(newsJson(items));
+    }
+
+    /**
+     * writeSentArticles 메서드는 서로 다른 링크 n개를 한 줄에 하나씩 기록한 전송 기록 파일을 만듭니다.
+     */
+    static void writeSentArticles(Path file, int lines) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write(sentLink(i));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * sentLink 메서드는 writeSentArticles가 i번째 줄에 기록하는 링크를 반환합니다.
+     */
+    static String sentLink(int i) {
+        return String.format("https://n.news.naver.com/mnews/article/%03d/%010d", i % 1000, i);
+    }
+
+    /**
+     * recordedItems 메서드는 녹화 응답의 기사 100건(items 배열)을 반환합니다.
+     */
+    static JSONArray recordedItems() throws IOException {
+        return loadRecorded().getJSONArray("items");
+    }
+
+    static Logger quietLogger() {
+        Logger logger = Logger.getLogger("bench");
+        logger.setLevel(Level.OFF);
+        return logger;
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String withRound(String link, int round) {
+        if (round == 0) {
+            return link;
+        }
+        int query = link.indexOf('?');
+        return query < 0 ? link + "-" + round : link.substring(0, query) + "-" + round + link.substring(query);
+    }
+
+    private static JSONObject loadRecorded() throws IOException {
+        try (InputStream in = NewsFixtures.class.getResourceAsStream(RECORDED_RESPONSE)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + RECORDED_RESPONSE);
+            }
+            return new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
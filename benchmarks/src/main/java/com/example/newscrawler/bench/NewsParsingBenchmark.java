@@ -0,0 +1,51 @@
+/**
+ * NewsParsingBenchmark 클래스는 getNewsItems가 사용하는 네이버 뉴스 응답 파싱 비용을 측정합니다.
+ * - parseString: 응답 본문 전체를 String으로 받은 뒤 파싱하는 경로 (NewsItemParser.parse(String))
+ * - parseStream: 응답 스트림을 기준 시각 필터와 함께 읽는 경로 (getNewsItems와 NewsCrawlEngine이 사용)
+ * 응답 크기는 API 한 페이지(10, 100건)와 여러 페이지를 합친 규모(10,000건)입니다.
+ * 기사당 할당량은 -prof gc로 확인합니다 (gc.alloc.rate.norm).
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.service.NewsItemParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NewsParsingBenchmark {
+    @Param({"10", "100", "10000"})
+    int items;
+
+    private String body;
+    private byte[] bytes;
+    private Date cutoff;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        body = NewsFixtures.newsJson(items);
+        bytes = body.getBytes(StandardCharsets.UTF_8);
+        cutoff = NewsItemParser.recentCutoff();
+    }
+
+    @Benchmark
+    public List<NewsItem> parseString() throws Exception {
+        return NewsItemParser.parse(body);
+    }
+
+    @Benchmark
+    public List<NewsItem> parseStream() throws Exception {
+        return NewsItemParser.parse(new ByteArrayInputStream(bytes), cutoff, true).getItems();
+    }
+}
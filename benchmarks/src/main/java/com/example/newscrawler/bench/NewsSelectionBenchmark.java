@@ -0,0 +1,80 @@
+/**
+ * NewsSelectionBenchmark 클래스는 processNews와 processKeywords가 두 검색 결과("date", "sim")를 합쳐
+ * 전송 후보를 고르는 단계의 비용을 측정합니다.
+ * - mergeAndSort: LinkedHashSet으로 링크 기준 중복을 제거하고 Collections.sort로 최신순 정렬
+ * - mergeSortAndCollapse: 위 단계에 NearDuplicateDetector.collapse를 더한 이전 선택 경로
+ * - rankTopK: NewsRankingStage로 후보를 흘려 보내며 점수를 매기고 상위 K(30)개만 유지하는 선택 단계
+ * - rankTopKAndCollapse: 위 단계에 상위 K개에 대한 collapse를 더한 현재 선택 경로
+ * 두 결과는 절반이 겹치도록 구성하여 검색 기준 간 중복이 흔한 실제 응답을 흉내 냅니다.
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.service.CrawlMetrics;
+import com.example.newscrawler.service.NearDuplicateDetector;
+import com.example.newscrawler.service.NewsRankerImpl;
+import com.example.newscrawler.service.NewsRankingStage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NewsSelectionBenchmark {
+    private static final int K = 30;
+    private static final List<String> KEYWORDS = List.of("KBO", "프로야구", "KIA 타이거즈");
+
+    @Param({"10", "100", "10000"})
+    int items;
+
+    private List<NewsItem> dateResults;
+    private List<NewsItem> simResults;
+    private NearDuplicateDetector detector;
+    private NewsRankingStage rankingStage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<NewsItem> all = NewsFixtures.newsItems(items + items / 2);
+        dateResults = new ArrayList<>(all.subList(0, items));
+        // "sim" 결과는 관련도순이므로 게시 시각 순서가 섞여 있습니다.
+        simResults = new ArrayList<>(all.subList(items / 2, items + items / 2));
+        Collections.shuffle(simResults, new Random(42));
+        detector = new NearDuplicateDetector(NewsFixtures.quietLogger());
+        rankingStage = new NewsRankingStage(new NewsRankerImpl(), new CrawlMetrics(NewsFixtures.quietLogger()));
+    }
+
+    @Benchmark
+    public List<NewsItem> mergeAndSort() {
+        return merge();
+    }
+
+    @Benchmark
+    public List<NewsItem> mergeSortAndCollapse() {
+        return detector.collapse(merge());
+    }
+
+    @Benchmark
+    public List<NewsItem> rankTopK() {
+        return rankingStage.rank(KEYWORDS, dateResults, simResults, Set.of(), K);
+    }
+
+    @Benchmark
+    public List<NewsItem> rankTopKAndCollapse() {
+        return detector.collapse(rankTopK());
+    }
+
+    private List<NewsItem> merge() {
+        Set<NewsItem> uniqueNewsItems = new LinkedHashSet<>();
+        uniqueNewsItems.addAll(dateResults);
+        uniqueNewsItems.addAll(simResults);
+        List<NewsItem> finalNewsList = new ArrayList<>(uniqueNewsItems);
+        Collections.sort(finalNewsList);
+        return finalNewsList;
+    }
+}
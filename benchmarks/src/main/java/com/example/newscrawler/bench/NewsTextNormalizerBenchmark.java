@@ -0,0 +1,72 @@
+/**
+ * NewsTextNormalizerBenchmark 클래스는 기사 하나의 필드(title, description, link, pubDate)를 변환하는 비용을 측정합니다.
+ * - regexAndSimpleDateFormat: 이전 방식 (replaceAll 세 번, split("\\?"), SimpleDateFormat.parse)
+ * - normalizerAndDateTimeFormatter: NewsTextNormalizer와 NewsItemParser가 쓰는 java.time 포매터
+ * 녹화 응답의 100건을 한 번에 처리하며 @OperationsPerInvocation으로 나누어 기사당 시간과 할당량(-prof gc)을 보고합니다.
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.service.NewsTextNormalizer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.SimpleDateFormat;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NewsTextNormalizerBenchmark {
+    private static final int ITEMS = 100;
+
+    private final String[] titles = new String[ITEMS];
+    private final String[] descriptions = new String[ITEMS];
+    private final String[] links = new String[ITEMS];
+    private final String[] pubDates = new String[ITEMS];
+    private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+    private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        JSONArray items = new JSONObject(NewsFixtures.newsJson(ITEMS)).getJSONArray("items");
+        for (int i = 0; i < ITEMS; i++) {
+            JSONObject item = items.getJSONObject(i);
+            titles[i] = item.getString("title");
+            descriptions[i] = item.getString("description");
+            links[i] = item.getString("link");
+            pubDates[i] = item.getString("pubDate");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void regexAndSimpleDateFormat(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < ITEMS; i++) {
+            blackhole.consume(titles[i].replaceAll("<.*?>", ""));
+            blackhole.consume(descriptions[i].replaceAll("<b>", "**").replaceAll("</b>", "**"));
+            blackhole.consume(links[i].split("\\?")[0]);
+            blackhole.consume(simpleDateFormat.parse(pubDates[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void normalizerAndDateTimeFormatter(Blackhole blackhole) {
+        for (int i = 0; i < ITEMS; i++) {
+            blackhole.consume(NewsTextNormalizer.title(titles[i]));
+            blackhole.consume(NewsTextNormalizer.snippet(descriptions[i]));
+            blackhole.consume(NewsTextNormalizer.articleLink(links[i]));
+            blackhole.consume(Date.from(OffsetDateTime.parse(pubDates[i], dateTimeFormatter).toInstant()));
+        }
+    }
+}
@@ -0,0 +1,371 @@
+/**
+ * ReplayHarness 클래스는 LocalStandIns의 로컬 대역 서버를 상대로 NewsService를 처음부터 끝까지 실행하는 부하 생성기입니다.
+ * - NaverSportsNewsCrawler와 같은 순서로 구성 요소(ScheduledApiClient, CachingApiClient, ImageServiceImpl, ImageCompressor,
+ *   MappedNewsRepository, BatchingSlackNotifier, SubscriptionRouter)를 조립하되, 주소만 대역 서버로 바꾸고
+ *   모든 파일은 임시 작업 디렉터리에 씁니다. 실제 API 인증 정보나 웹훅은 쓰지 않습니다.
+ * - mode=batch는 전체 검색어로 processKeywords를 한 번 실행하고(일회 실행 모드),
+ *   mode=poll은 검색어마다 pollKeyword를 실행하여(상주 모드) 검색어별 처리 시간을 잽니다.
+ * - 끝나면 처리량과 함께 API 호출(전송 구간/대기와 재시도 포함), 이미지, 알림, 검색어별 지연 시간의 백분위수와
+ *   대역 서버가 받은 요청, 주입한 오류, 429 수를 출력합니다.
+ *
+ * 실행: java -cp benchmarks/target/benchmarks.jar com.example.newscrawler.bench.ReplayHarness [이름=값 ...]
+ *   keywords=2000 mode=batch|poll pollers=1 parallelism=16 rate=200 quota=1000000
+ *   pool=20000 results=300 ogImageRate=0.9 subscriptions=subscriptions.example.json
+ *   naver.latencyMs=30 naver.jitterMs=15 naver.errorRate=0 naver.throttleRate=0 naver.ratePerSecond=0
+ *   web.* slack.* (naver.*와 같은 항목), metricsFile=경로, keep=true(작업 디렉터리 유지), verbose=true
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.model.Subscription;
+import com.example.newscrawler.repository.ContentAddressedImageStore;
+import com.example.newscrawler.repository.FileNewsRepository;
+import com.example.newscrawler.repository.ImageCompressor;
+import com.example.newscrawler.repository.JournaledNewsRepository;
+import com.example.newscrawler.repository.MappedNewsRepository;
+import com.example.newscrawler.repository.NewsRepository;
+import com.example.newscrawler.repository.NewsSearchIndex;
+import com.example.newscrawler.service.*;
+
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ReplayHarness {
+    private static final String[] NAMES = {
+            "KIA", "삼성", "LG", "두산", "KT", "SSG", "롯데", "한화", "NC", "키움",
+            "김도영", "양현종", "구자욱", "원태인", "오지환", "양의지", "강백호", "최정", "김광현", "전준우",
+            "류현진", "노시환", "박민우", "송성문", "안우진", "문동주", "곽빈", "홍창기", "윤동희", "구창모"};
+    private static final String[] TOPICS = {
+            "", "홈런", "선발", "부상", "트레이드", "FA", "연봉", "인터뷰", "시범경기", "개막전",
+            "불펜", "타율", "신인", "감독", "2군", "복귀", "기록", "올스타", "포스트시즌", "스프링캠프"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected name=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int keywordCount = Integer.parseInt(options.getOrDefault("keywords", "2000"));
+        String mode = options.getOrDefault("mode", "batch");
+        int parallelism = Integer.parseInt(options.getOrDefault("parallelism", "16"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        long quota = Long.parseLong(options.getOrDefault("quota", "1000000"));
+        boolean keep = Boolean.parseBoolean(options.getOrDefault("keep", "false"));
+
+        Logger logger = Logger.getLogger("replay");
+        logger.setLevel(Boolean.parseBoolean(options.getOrDefault("verbose", "false")) ? Level.INFO : Level.SEVERE);
+
+        LocalStandIns.Behavior naverBehavior = LocalStandIns.Behavior.parse(options, "naver", 30);
+        LocalStandIns.Behavior webBehavior = LocalStandIns.Behavior.parse(options, "web", 20);
+        LocalStandIns.Behavior slackBehavior = LocalStandIns.Behavior.parse(options, "slack", 80);
+        Path work = Files.createTempDirectory("replay-");
+
+        try (LocalStandIns standIns = new LocalStandIns(
+                Integer.parseInt(options.getOrDefault("pool", "20000")),
+                Integer.parseInt(options.getOrDefault("results", "300")),
+                Double.parseDouble(options.getOrDefault("ogImageRate", "0.9")),
+                naverBehavior, webBehavior, slackBehavior)) {
+
+            // NaverSportsNewsCrawler.main과 같은 구성, 주소와 파일 위치만 다름
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            CrawlMetrics metrics = new CrawlMetrics(logger);
+            LatencyRecorder wire = new LatencyRecorder("api (wire)");
+            LatencyRecorder scheduled = new LatencyRecorder("api (scheduled)");
+            LatencyRecorder images = new LatencyRecorder("image");
+            LatencyRecorder notifications = new LatencyRecorder("notification");
+            LatencyRecorder keywordLatency = new LatencyRecorder("keyword");
+
+            ScheduledApiClient scheduledApiClient = new ScheduledApiClient(
+                    new InstrumentedApiClient(new TimedApiClient(new ApiClientImpl(client, standIns.naverBaseUrl(),
+                            "replay", "replay", logger), wire), metrics),
+                    work.resolve("api_quota.txt"), quota, rate, parallelism, logger);
+            CachingApiClient apiClient = new CachingApiClient(new TimedApiClient(scheduledApiClient, scheduled),
+                    work.resolve("cache"), Map.of("news.json", Duration.ofMinutes(30), "image", Duration.ofDays(7)),
+                    Duration.ofHours(1), 64L * 1024 * 1024, logger);
+            ImageCompressor imageCompressor = new ImageCompressor(800, 0.75f, 320,
+                    Integer.parseInt(options.getOrDefault("imageWorkers",
+                            Integer.toString(Runtime.getRuntime().availableProcessors()))), logger);
+            ContentAddressedImageStore imageStore = new ContentAddressedImageStore(
+                    Files.createDirectories(work.resolve("images")), logger, imageCompressor);
+            JournaledNewsRepository journal = new JournaledNewsRepository(new MappedNewsRepository(logger,
+                    work.resolve("sent_articles.txt"), work.resolve("sent_articles.idx"),
+                    new FileNewsRepository(logger, new NewsSearchIndex(work.resolve("search_index"), logger), work)),
+                    work.resolve("news_journal.log"), logger);
+            NewsRepository repository = new InstrumentedNewsRepository(journal, metrics);
+            ImageServiceImpl imageService = new ImageServiceImpl(apiClient, logger, imageStore, client);
+            ImageDownloader imageDownloader = new TimedImageDownloader(
+                    new InstrumentedImageDownloader(imageService, metrics), images);
+            metrics.register(CrawlMetrics.IMAGE_SOURCE, "source=\"og_image\"", imageService::getOpenGraphImages);
+            metrics.register(CrawlMetrics.IMAGE_SOURCE, "source=\"search\"", imageService::getSearchImages);
+
+            // 구독의 웹훅은 모두 Slack 대역 서버의 구독 이름 경로로 바꿈
+            List<Subscription> subscriptions = new ArrayList<>();
+            String subscriptionsFile = options.get("subscriptions");
+            if (subscriptionsFile == null) {
+                subscriptions.add(new Subscription("default", standIns.slackWebhookUrl("default"),
+                        List.of(), List.of(), List.of()));
+            } else {
+                for (Subscription s : SubscriptionConfig.load(Path.of(subscriptionsFile), null, logger).getSubscriptions()) {
+                    subscriptions.add(new Subscription(s.getName(), standIns.slackWebhookUrl(s.getName()),
+                            s.getTeams(), s.getPlayers(), s.getKeywords()));
+                }
+            }
+            Map<String, BatchingSlackNotifier> slackNotifiers = new LinkedHashMap<>();
+            List<Notifier> notifiers = new ArrayList<>();
+            for (Subscription subscription : subscriptions) {
+                BatchingSlackNotifier notifier = slackNotifiers.computeIfAbsent(subscription.getWebhookUrl(),
+                        url -> new BatchingSlackNotifier(client, url, 1000, Duration.ofSeconds(2), 10, logger));
+                notifiers.add(new TimedNotifier(new InstrumentedNotifier(notifier, metrics), notifications));
+            }
+            NewsService newsService = new NewsService(apiClient, repository, imageDownloader,
+                    new SubscriptionRouter(subscriptions, notifiers, logger), logger, parallelism, metrics,
+                    new NewsRankerImpl(), new NearDuplicateDetector(logger));
+
+            List<String> keywords = keywords(keywordCount);
+            System.out.printf("Replaying %d keywords (mode=%s, parallelism=%d, client rate=%.0f/s, %d subscription(s))%n",
+                    keywords.size(), mode, parallelism, rate, subscriptions.size());
+            System.out.println("  naver: " + naverBehavior);
+            System.out.println("  web:   " + webBehavior);
+            System.out.println("  slack: " + slackBehavior);
+
+            long startNanos = System.nanoTime();
+            if ("poll".equals(mode)) {
+                int pollers = Integer.parseInt(options.getOrDefault("pollers", "1"));
+                ExecutorService executor = Executors.newFixedThreadPool(pollers);
+                for (String keyword : keywords) {
+                    executor.submit(() -> {
+                        long keywordStart = System.nanoTime();
+                        newsService.pollKeyword(keyword, null);
+                        keywordLatency.record(System.nanoTime() - keywordStart);
+                    });
+                }
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.DAYS);
+            } else {
+                newsService.processKeywords(keywords);
+            }
+            long crawlNanos = System.nanoTime() - startNanos;
+            slackNotifiers.values().forEach(BatchingSlackNotifier::close);
+            imageCompressor.close();
+            journal.close();
+            long totalNanos = System.nanoTime() - startNanos;
+
+            double seconds = crawlNanos / 1e9;
+            System.out.printf("%nCrawl finished in %.2f s (%.2f s including notifier drain): %.1f keywords/s%n",
+                    seconds, totalNanos / 1e9, keywords.size() / seconds);
+            long naverRequests = standIns.counter("naver news requests") + standIns.counter("naver image requests");
+            System.out.printf("Naver stand-in: %d requests (%.1f/s), quota used %d%n",
+                    naverRequests, naverRequests / seconds, scheduledApiClient.getUsedToday());
+            System.out.printf("News journal: %d record(s), %d fsync(s)%n", journal.getRecords(), journal.getSyncs());
+            System.out.printf("%nLatency (ms)        %8s %8s %8s %8s %8s %8s%n", "count", "p50", "p90", "p99", "p99.9", "max");
+            for (LatencyRecorder recorder : List.of(wire, scheduled, images, notifications, keywordLatency)) {
+                recorder.print();
+            }
+            System.out.println();
+            System.out.println("Stand-in counters:");
+            standIns.counters().forEach((name, value) -> System.out.printf("  %-36s %d%n", name, value));
+            System.out.println();
+            System.out.println("Pipeline:");
+            for (String line : metrics.scrape().split("\n")) {
+                if (line.startsWith(CrawlMetrics.ITEMS) || line.startsWith(CrawlMetrics.NOTIFICATIONS + "{")
+                        || line.startsWith(CrawlMetrics.IMAGE_SOURCE) || line.startsWith(CrawlMetrics.ROUTED)) {
+                    System.out.println("  " + line);
+                }
+            }
+            String metricsFile = options.get("metricsFile");
+            if (metricsFile != null) {
+                metrics.writeFile(Path.of(metricsFile));
+            }
+        } finally {
+            if (keep) {
+                System.out.println("Work directory kept: " + work);
+            } else {
+                NewsFixtures.deleteRecursively(work);
+            }
+        }
+    }
+
+    /**
+     * keywords 메서드는 팀/선수 이름과 주제를 조합하여 서로 다른 검색어 n개를 만듭니다.
+     */
+    static List<String> keywords(int count) {
+        List<String> keywords = new ArrayList<>(count);
+        for (int i = 0; keywords.size() < count; i++) {
+            String name = NAMES[i % NAMES.length];
+            int combination = i / NAMES.length;
+            String topic = TOPICS[combination % TOPICS.length];
+            int round = combination / TOPICS.length;
+            String keyword = topic.isEmpty() ? name : name + " " + topic;
+            keywords.add(round == 0 ? keyword : keyword + " " + (round + 1));
+        }
+        return keywords;
+    }
+
+    /**
+     * LatencyRecorder 클래스는 지연 시간을 모두 기록해 두었다가 백분위수를 계산합니다.
+     */
+    static final class LatencyRecorder {
+        private final String name;
+        private long[] nanos = new long[1024];
+        private int count;
+
+        LatencyRecorder(String name) {
+            this.name = name;
+        }
+
+        synchronized void record(long elapsedNanos) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+        }
+
+        synchronized void print() {
+            if (count == 0) {
+                return;
+            }
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            System.out.printf("  %-17s %8d %8.1f %8.1f %8.1f %8.1f %8.1f%n", name, count,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+        }
+    }
+
+    /**
+     * TimedApiClient 클래스는 호출이 끝날 때까지의 시간을 기록합니다. 스트림 응답은 스트림을 받은 시점까지입니다.
+     */
+    private static final class TimedApiClient implements ApiClient {
+        private final ApiClient delegate;
+        private final LatencyRecorder recorder;
+
+        TimedApiClient(ApiClient delegate, LatencyRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public String getData(String path, String query, int display, int start, String sort) throws Exception {
+            long startNanos = System.nanoTime();
+            try {
+                return delegate.getData(path, query, display, start, sort);
+            } finally {
+                recorder.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public InputStream getStream(String path, String query, int display, int start, String sort) throws Exception {
+            long startNanos = System.nanoTime();
+            try {
+                return delegate.getStream(path, query, display, start, sort);
+            } finally {
+                recorder.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public ApiResponse getConditional(String path, String query, int display, int start, String sort,
+                                          String etag, String lastModified) throws Exception {
+            long startNanos = System.nanoTime();
+            try {
+                return delegate.getConditional(path, query, display, start, sort, etag, lastModified);
+            } finally {
+                recorder.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public ApiResponse getConditionalStream(String path, String query, int display, int start, String sort,
+                                                String etag, String lastModified) throws Exception {
+            long startNanos = System.nanoTime();
+            try {
+                return delegate.getConditionalStream(path, query, display, start, sort, etag, lastModified);
+            } finally {
+                recorder.record(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private static final class TimedImageDownloader implements ImageDownloader {
+        private final ImageDownloader delegate;
+        private final LatencyRecorder recorder;
+
+        TimedImageDownloader(ImageDownloader delegate, LatencyRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public String downloadImage(String newsTitle) {
+            return downloadImage(newsTitle, null);
+        }
+
+        @Override
+        public String downloadImage(String newsTitle, String articleLink) {
+            long startNanos = System.nanoTime();
+            try {
+                return delegate.downloadImage(newsTitle, articleLink);
+            } finally {
+                recorder.record(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public String thumbnailFor(String fileName) {
+            return delegate.thumbnailFor(fileName);
+        }
+    }
+
+    /**
+     * TimedNotifier 클래스는 알림 요청부터 전송 확인(Future 완료)까지의 시간을 기록합니다.
+     */
+    private static final class TimedNotifier implements Notifier {
+        private final Notifier delegate;
+        private final LatencyRecorder recorder;
+
+        TimedNotifier(Notifier delegate, LatencyRecorder recorder) {
+            this.delegate = delegate;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void notify(String title, String articleLink, String imageUrl) {
+            notifyAsync(title, articleLink, imageUrl).join();
+        }
+
+        @Override
+        public CompletableFuture<Void> notifyAsync(String title, String articleLink, String imageUrl) {
+            long startNanos = System.nanoTime();
+            return delegate.notifyAsync(title, articleLink, imageUrl)
+                    .whenComplete((ignored, error) -> recorder.record(System.nanoTime() - startNanos));
+        }
+    }
+}
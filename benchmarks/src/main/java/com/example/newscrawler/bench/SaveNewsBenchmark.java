@@ -0,0 +1,85 @@
+/**
+ * SaveNewsBenchmark 클래스는 전송이 확인된 기사를 기록하는 단계의 비용을 측정합니다.
+ * - saveNews: FileNewsRepository.saveNews로 기사 묶음을 월별 보관소 세그먼트와 CSV/Markdown 보기에 추가
+ * - markAndFlushFile: FileNewsRepository.markArticleAsSent를 기사마다 호출 (호출마다 파일을 열고 닫음)
+ * - markAndFlushMapped: MappedNewsRepository.markArticleAsSent 후 flush()로 한 번에 로그에 추가
+ * 묶음 크기는 한 번의 실행에서 전송하는 최대 기사 수(3)와 대량 재처리 규모(100)입니다.
+ * 파일이 계속 커지지 않도록 측정 반복(iteration)마다 새 디렉터리를 사용합니다.
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.repository.FileNewsRepository;
+import com.example.newscrawler.repository.MappedNewsRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SaveNewsBenchmark {
+    @Param({"3", "100"})
+    int batch;
+
+    private final Logger logger = NewsFixtures.quietLogger();
+    private List<NewsItem> newsItems;
+    private Map<String, String> newsImages;
+    private Path dir;
+    private FileNewsRepository fileRepository;
+    private MappedNewsRepository mappedRepository;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void loadFixtures() throws Exception {
+        newsItems = NewsFixtures.newsItems(batch);
+        newsImages = new HashMap<>();
+        for (int i = 0; i < newsItems.size(); i += 2) {
+            newsImages.put(newsItems.get(i).getTitle(), "image_" + i + ".jpg");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openRepositories() throws Exception {
+        dir = Files.createTempDirectory("save-news-bench");
+        fileRepository = new FileNewsRepository(logger, null, dir);
+        mappedRepository = new MappedNewsRepository(logger, dir.resolve("sent_mapped.txt"),
+                dir.resolve("sent_mapped.idx"), fileRepository);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteFiles() throws Exception {
+        NewsFixtures.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public void saveNews() {
+        fileRepository.saveNews(newsItems, newsImages);
+    }
+
+    @Benchmark
+    public void markAndFlushFile() {
+        for (NewsItem newsItem : newsItems) {
+            fileRepository.markArticleAsSent(newsItem.getLink() + "#" + sequence++);
+        }
+        fileRepository.flush();
+    }
+
+    @Benchmark
+    public void markAndFlushMapped() {
+        for (NewsItem newsItem : newsItems) {
+            mappedRepository.markArticleAsSent(newsItem.getLink() + "#" + sequence++);
+        }
+        mappedRepository.flush();
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * SentArticlesBenchmark 클래스는 실행마다 한 번 일어나는 전송 기록 적재와, 기사마다 일어나는 전송 여부 확인 비용을 측정합니다.
+ * - loadFileRepository: FileNewsRepository.getSentArticles로 링크 로그 전체를 HashSet에 읽는 경로
+ * - openMappedRepository: 기존 색인 파일이 있는 상태에서 MappedNewsRepository를 여는 경로 (일반적인 실행)
+ * - rebuildMappedRepository: 색인 파일 없이 로그 전체를 읽어 색인을 다시 만드는 경로 (첫 실행, 비정상 종료 후)
+ * - containsHashSet / containsMapped: 적재된 집합에서 링크 하나의 포함 여부를 확인하는 비용
+ * 기본 규모는 1천~1백만 줄이며, 1천만 줄은 실행 시 -p lines=10000000으로 지정합니다 (파일 약 600MB).
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.repository.FileNewsRepository;
+import com.example.newscrawler.repository.MappedNewsRepository;
+import com.example.newscrawler.repository.NewsRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SentArticlesBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    int lines;
+
+    private final Logger logger = NewsFixtures.quietLogger();
+    private Path dir;
+    private Path logPath;
+    private Path indexPath;
+    private Path rebuildDir;
+    private Set<String> loadedSet;
+    private Set<String> mappedSet;
+    private String hitLink;
+    private String missLink;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("sent-articles-bench");
+        logPath = dir.resolve("sent_articles.txt");
+        indexPath = dir.resolve("sent_articles.idx");
+        NewsFixtures.writeSentArticles(logPath, lines);
+        rebuildDir = Files.createTempDirectory("sent-articles-rebuild");
+        Files.copy(logPath, rebuildDir.resolve("sent_articles.txt"));
+
+        loadedSet = new FileNewsRepository(logger, null, dir).getSentArticles();
+        mappedSet = openMapped(dir, indexPath).getSentArticles();
+        hitLink = NewsFixtures.sentLink(lines / 2);
+        missLink = NewsFixtures.sentLink(lines + 1);
+    }
+
+    @Setup(Level.Invocation)
+    public void dropRebuildIndex() throws Exception {
+        Files.deleteIfExists(rebuildDir.resolve("sent_articles.idx"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        NewsFixtures.deleteRecursively(dir);
+        NewsFixtures.deleteRecursively(rebuildDir);
+    }
+
+    @Benchmark
+    public Set<String> loadFileRepository() {
+        return new FileNewsRepository(logger, null, dir).getSentArticles();
+    }
+
+    @Benchmark
+    public boolean openMappedRepository() {
+        return openMapped(dir, indexPath).getSentArticles().contains(hitLink);
+    }
+
+    @Benchmark
+    public boolean rebuildMappedRepository() {
+        return openMapped(rebuildDir, rebuildDir.resolve("sent_articles.idx")).getSentArticles().contains(hitLink);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean containsHashSet() {
+        return loadedSet.contains(hitLink) & loadedSet.contains(missLink);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean containsMapped() {
+        return mappedSet.contains(hitLink) & mappedSet.contains(missLink);
+    }
+
+    private NewsRepository openMapped(Path dataDir, Path index) {
+        return new MappedNewsRepository(logger, dataDir.resolve("sent_articles.txt"), index,
+                new FileNewsRepository(logger, null, dataDir));
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * StartupBenchmark 클래스는 NaverSportsNewsCrawler 프로세스를 새로 띄워 첫 검색 API 요청이 나갈 때까지의 시간을 잽니다.
+ * - 측정마다 새 JVM을 띄우며, LocalStandIns의 네이버 대역 서버가 news.json 요청을 처음 받은 시점까지가 측정 구간입니다.
+ *   측정용 대역 서버는 응답하지 않고 기다리므로, 측정 중인 프로세스는 캐시나 상태 파일을 바꾸지 않은 채 종료(SIGKILL)됩니다.
+ * - 준비 단계에서 오래 사용한 캐시를 흉내 내도록 cacheEntries개의 캐시 파일과 sentLinks개의 전송 기록을 만들고,
+ *   크롤러를 한 번 끝까지 실행하여 보관소, 검색 색인, 저널, 전송 기록 색인, 스냅숏(warm_start.bin)을 실제 실행과 같은 방식으로 만듭니다.
+ * - launch
+ *   cold: 스냅숏 없이 시작 (측정마다 warm_start.bin을 지움)
+ *   rebuild: 스냅숏으로 시작하되 전송 기록 색인(.cache/sent_articles.idx)이 없는 상태 (측정마다 지움).
+ *            색인이 캐시되지 않던 때의 워크플로 실행과 같습니다.
+ *   snapshot: 준비 실행이 남긴 warm_start.bin과 전송 기록 색인으로 시작
+ *   appcds: snapshot에 더해, 준비 실행이 -XX:+AutoCreateSharedArchive로 만든 AppCDS 아카이브를 사용 (워크플로와 같은 옵션)
+ * - jvmArgs로 크롤러 JVM 옵션을 더할 수 있습니다. 예: -p jvmArgs="-XX:TieredStopAtLevel=1"
+ *
+ * 실행: java -jar benchmarks/target/benchmarks.jar StartupBenchmark
+ */
+
+package com.example.newscrawler.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+    private static final String FIRST_REQUEST = "naver news requests";
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Param({"cold", "rebuild", "snapshot", "appcds"})
+    String launch;
+
+    @Param({"2000"})
+    int cacheEntries;
+
+    @Param({"20000"})
+    int sentLinks;
+
+    @Param({""})
+    String jvmArgs;
+
+    private Path work;
+    private LocalStandIns standIns;
+    private Process crawler;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        work = Files.createTempDirectory("startup-bench");
+        seedCache(work.resolve(".cache/api"), cacheEntries);
+        seedSentLog(work.resolve("sent_articles.txt"), sentLinks);
+        LocalStandIns.Behavior quick = new LocalStandIns.Behavior(5, 0, 0, 0, 0);
+        try (LocalStandIns training = new LocalStandIns(2000, 300, 0.9, quick, quick, quick)) {
+            Process process = start(training, String.join(",", ReplayHarness.keywords(10)));
+            if (!process.waitFor(5, TimeUnit.MINUTES) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                throw new IllegalStateException("Training run failed, see " + work.resolve("crawler.log"));
+            }
+        }
+        if (!Files.exists(work.resolve(".cache/warm_start.bin"))) {
+            throw new IllegalStateException("Training run did not write a warm start snapshot");
+        }
+        LocalStandIns.Behavior hanging = new LocalStandIns.Behavior(TimeUnit.MINUTES.toMillis(10), 0, 0, 0, 0);
+        standIns = new LocalStandIns(2000, 300, 0.9, hanging, hanging, hanging);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetSnapshot() throws Exception {
+        if ("cold".equals(launch)) {
+            Files.deleteIfExists(work.resolve(".cache/warm_start.bin"));
+        }
+        if ("rebuild".equals(launch)) {
+            Files.deleteIfExists(work.resolve(".cache/sent_articles.idx"));
+        }
+    }
+
+    @Benchmark
+    public Process timeToFirstRequest() throws Exception {
+        long seen = standIns.counter(FIRST_REQUEST);
+        long started = System.nanoTime();
+        crawler = start(standIns, "KBO");
+        while (standIns.counter(FIRST_REQUEST) == seen) {
+            if (!crawler.isAlive()) {
+                throw new IllegalStateException("Crawler exited with " + crawler.exitValue()
+                        + " before its first request, see " + work.resolve("crawler.log"));
+            }
+            if (System.nanoTime() - started > TIMEOUT_NANOS) {
+                throw new IllegalStateException("No request within a minute, see " + work.resolve("crawler.log"));
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        return crawler;
+    }
+
+    @TearDown(Level.Invocation)
+    public void killCrawler() throws Exception {
+        if (crawler != null) {
+            crawler.destroyForcibly().waitFor();
+            crawler = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws Exception {
+        standIns.close();
+        NewsFixtures.deleteRecursively(work);
+    }
+
+    private Process start(LocalStandIns target, String keywords) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if ("appcds".equals(launch)) {
+            command.add("-XX:SharedArchiveFile=" + work.resolve("crawler.jsa"));
+            command.add("-XX:+AutoCreateSharedArchive");
+        }
+        for (String arg : jvmArgs.trim().split("\\s+")) {
+            if (!arg.isEmpty()) {
+                command.add(arg);
+            }
+        }
+        // 크롤러는 작업 디렉터리에서 실행되므로 클래스 경로를 절대 경로로 바꿉니다.
+        List<String> classPath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classPath.add(Path.of(entry).toAbsolutePath().toString());
+        }
+        command.add("-cp");
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add("com.example.newscrawler.NaverSportsNewsCrawler");
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(work.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(work.resolve("crawler.log").toFile()));
+        Map<String, String> env = builder.environment();
+        env.put("KEYWORD", keywords);
+        env.put("NAVER_API_BASE_URL", target.naverBaseUrl());
+        env.put("NAVER_CLIENT_ID", "startup");
+        env.put("NAVER_CLIENT_SECRET", "startup");
+        env.put("NAVER_RATE_PER_SECOND", "1000");
+        env.put("SLACK_WEBHOOK_URL", target.slackWebhookUrl("default"));
+        env.remove("SUBSCRIPTIONS_FILE");
+        env.remove("CRAWLER_MODE");
+        env.remove("API_CACHE_DIR");
+        return builder.start();
+    }
+
+    /**
+     * seedSentLog 메서드는 오래 운영한 저장소처럼 links개의 링크가 든 전송 기록을 만듭니다.
+     */
+    private static void seedSentLog(Path log, int links) throws Exception {
+        StringBuilder sb = new StringBuilder(links * 64);
+        for (int i = 0; i < links; i++) {
+            sb.append("https://n.news.naver.com/mnews/article/").append(100 + i % 400).append('/')
+                    .append(String.format("%010d", i)).append('\n');
+        }
+        Files.writeString(log, sb);
+    }
+
+    /**
+     * seedCache 메서드는 CachingApiClient 형식의 캐시 파일을 만듭니다. 이름은 실제 키처럼 64자리 16진수이며,
+     * 크기와 수정 시각은 서로 달라 크기 예산과 사용 순서 복원에 영향을 줍니다.
+     */
+    private static void seedCache(Path cacheDir, int entries) throws Exception {
+        Files.createDirectories(cacheDir);
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < entries; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            byte[] body = new byte[4 * 1024 + random.nextInt(24 * 1024)];
+            ByteBuffer entry = ByteBuffer.allocate(8 + 1 + 1 + 4 + body.length);
+            entry.putLong(now).put((byte) 0).put((byte) 0).putInt(body.length).put(body);
+            File file = cacheDir.resolve(HexFormat.of().formatHex(key)).toFile();
+            Files.write(file.toPath(), entry.array());
+            file.setLastModified(now - TimeUnit.MINUTES.toMillis(entries - i));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * SubscriptionMatcherBenchmark 클래스는 기사 하나를 모든 구독 규칙과 비교하는 비용을 측정합니다.
+ * - containsPerTerm: 구독마다 규칙마다 제목과 설명에 String.contains를 호출하는 단순한 방식 (규칙 수에 비례)
+ * - ahoCorasick: SubscriptionMatcher로 제목과 설명을 한 번만 훑는 방식
+ * 구독은 KBO 10개 구단 규칙(팀 이름 2~3개, 선수 3명)을 기본으로, subscriptions 값만큼 선수 규칙을 늘려 만듭니다.
+ * 녹화 응답의 100건을 한 번에 처리하며 @OperationsPerInvocation으로 나누어 기사당 시간을 보고합니다.
+ */
+
+package com.example.newscrawler.bench;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.model.Subscription;
+import com.example.newscrawler.service.SubscriptionMatcher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SubscriptionMatcherBenchmark {
+    private static final int ITEMS = 100;
+    private static final String[][] TEAMS = {
+            {"KIA 타이거즈", "기아 타이거즈", "KIA", "김도영", "양현종", "나성범"},
+            {"삼성 라이온즈", "삼성", "구자욱", "원태인", "강민호"},
+            {"LG 트윈스", "LG", "오지환", "임찬규", "홍창기"},
+            {"두산 베어스", "두산", "양의지", "곽빈", "정수빈"},
+            {"KT 위즈", "KT", "강백호", "고영표", "소형준"},
+            {"SSG 랜더스", "SSG", "최정", "김광현", "한유섬"},
+            {"롯데 자이언츠", "롯데", "전준우", "윤동희", "김원중"},
+            {"한화 이글스", "한화", "류현진", "노시환", "문동주"},
+            {"NC 다이노스", "NC", "박민우", "구창모", "김주원"},
+            {"키움 히어로즈", "키움", "송성문", "이주형", "안우진"}};
+    private static final String SURNAMES = "김이박최정강조윤장임한오서신권황안송류홍";
+    private static final String GIVEN = "민서준도현우지성영수호진태재";
+
+    @Param({"10", "100"})
+    int subscriptions;
+
+    private List<NewsItem> newsItems;
+    private List<Subscription> subscriptionList;
+    private String[][] lowerTerms;
+    private SubscriptionMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        newsItems = NewsFixtures.newsItems(ITEMS);
+        subscriptionList = new ArrayList<>();
+        for (int s = 0; s < subscriptions; s++) {
+            String[] team = TEAMS[s % TEAMS.length];
+            List<String> players = new ArrayList<>(List.of(team).subList(team.length - 3, team.length));
+            if (s >= TEAMS.length) {
+                // 팀 채널 외의 구독은 선수 이름 규칙을 더 가진 것으로 가정합니다.
+                for (int p = 0; p < 5; p++) {
+                    int n = s * 5 + p;
+                    players.add("" + SURNAMES.charAt(n % SURNAMES.length()) + GIVEN.charAt(n / 3 % GIVEN.length())
+                            + GIVEN.charAt(n / 7 % GIVEN.length()));
+                }
+            }
+            subscriptionList.add(new Subscription("sub-" + s, null,
+                    List.of(team).subList(0, team.length - 3), players, List.of()));
+        }
+        lowerTerms = new String[subscriptions][];
+        for (int s = 0; s < subscriptions; s++) {
+            lowerTerms[s] = subscriptionList.get(s).getTerms().stream()
+                    .map(term -> term.toLowerCase(Locale.ROOT)).toArray(String[]::new);
+        }
+        matcher = new SubscriptionMatcher(subscriptionList);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void containsPerTerm(Blackhole blackhole) {
+        for (NewsItem newsItem : newsItems) {
+            String title = newsItem.getTitle().toLowerCase(Locale.ROOT);
+            String description = newsItem.getDescription().toLowerCase(Locale.ROOT);
+            BitSet matched = new BitSet(subscriptions);
+            for (int s = 0; s < lowerTerms.length; s++) {
+                for (String term : lowerTerms[s]) {
+                    if (title.contains(term) || description.contains(term)) {
+                        matched.set(s);
+                        break;
+                    }
+                }
+            }
+            blackhole.consume(matched);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void ahoCorasick(Blackhole blackhole) {
+        for (NewsItem newsItem : newsItems) {
+            blackhole.consume(matcher.match(newsItem));
+        }
+    }
+}
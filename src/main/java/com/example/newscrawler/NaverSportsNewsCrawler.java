@@ -1,17 +1,27 @@
 /**
  * NaverSportsNewsCrawler는 네이버 API를 통해 뉴스 데이터를 수집, 처리 및 알림 전송을 수행하는 애플리케이션의 진입점입니다.
- * - 환경 변수 KEYWORD를 통해 검색어를 받아, 지정된 검색어로 뉴스를 검색합니다.
- * - HttpClient와 Logger를 초기화하여 API 호출 및 로깅을 처리합니다.
- * - ApiClient, NewsRepository, ImageDownloader, Notifier 인터페이스의 구체 구현체를 생성하여
- *   의존성 주입을 통해 뉴스 수집, 파일 저장, 이미지 다운로드 및 Slack 알림 전송 기능을 구성합니다.
- * - NewsService를 통해 API에서 뉴스 데이터를 가져오고, 중복 기사 제거, 이미지 저장, 알림 전송 및 최종 데이터 저장을 수행합니다.
+ * - 환경 변수 KEYWORD(쉼표로 여러 개 지정)로 검색어를 받고, 그 밖의 설정도 환경 변수에서 읽습니다.
+ * - ApiClient, NewsRepository, ImageDownloader, Notifier 구현체를 캐시, 호출 조절, 저널, 계측 데코레이터와 함께 생성하여
+ *   NewsService에 주입합니다. 각 구성 요소의 동작과 설정은 해당 클래스를 참고합니다.
+ * - 한 번 실행하고 끝나며, CRAWLER_MODE=daemon(또는 실행 인자 --daemon)이면 NewsDaemon으로 상주합니다.
+ * - 실행이 끝나면 다음 실행이 이어 쓸 상태(스냅숏, API 할당량, 측정값)를 기록합니다.
  */
 
 package com.example.newscrawler;
 
+import com.example.newscrawler.model.Subscription;
 import com.example.newscrawler.service.*;
 import com.example.newscrawler.repository.*;
+import java.io.IOException;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,19 +32,190 @@ public class NaverSportsNewsCrawler {
         if (keyword == null || keyword.isEmpty()) {
             keyword = "국내 야구 스포츠";
         }
+        List<String> keywords = new ArrayList<>();
+        for (String k : keyword.split(",")) {
+            if (!k.isBlank()) {
+                keywords.add(k.trim());
+            }
+        }
         
+        int parallelism = 4;
+        String parallelismEnv = System.getenv("PIPELINE_PARALLELISM");
+        if (parallelismEnv != null && !parallelismEnv.isEmpty()) {
+            parallelism = Integer.parseInt(parallelismEnv);
+        }
+
+        boolean daemonMode = "daemon".equals(System.getenv("CRAWLER_MODE"))
+                || (args.length > 0 && "--daemon".equals(args[0]));
+        Duration pollInterval = Duration.ofMinutes(Long.parseLong(getenvOrDefault("DAEMON_POLL_MINUTES", "5")));
+        Duration newsTtl = Duration.ofMinutes(30);
+        if (daemonMode && pollInterval.dividedBy(2).compareTo(newsTtl) < 0) {
+            newsTtl = pollInterval.dividedBy(2);
+        }
+
         Logger logger = Logger.getLogger(NaverSportsNewsCrawler.class.getName());
         logger.setLevel(Level.INFO);
-        HttpClient client = HttpClient.newHttpClient();
+        // API, 기사 페이지, 이미지, Slack 요청이 하나의 HttpClient(HTTP/2 우선, 연결 재사용)를 공유
+        // 기본 SSLContext 초기화(인증서 저장소 읽기 등)에 수백 ms가 걸리므로 다른 스레드에서 만들고, 그동안 저장소를 엽니다.
+        CompletableFuture<HttpClient> clientFuture = CompletableFuture.supplyAsync(() -> HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build());
+        CrawlMetrics metrics = new CrawlMetrics(logger);
+        Path metricsFile = Path.of(getenvOrDefault("METRICS_FILE", "metrics.prom"));
 
         // 의존성 주입: 각 인터페이스의 구현체 생성
-        ApiClient apiClient = new ApiClientImpl(client, logger);
-        NewsRepository repository = new FileNewsRepository(logger);
-        ImageDownloader imageDownloader = new ImageServiceImpl(apiClient, logger);
-        Notifier notifier = new SlackNotifierImpl(client, logger);
+        String cacheDir = System.getenv("API_CACHE_DIR");
+        if (cacheDir == null || cacheDir.isEmpty()) {
+            cacheDir = ".cache/api";
+        }
+        WarmStartSnapshot snapshot = new WarmStartSnapshot(Path.of(cacheDir).resolveSibling("warm_start.bin"), logger);
+        ImageCompressor imageCompressor = new ImageCompressor(
+                Integer.parseInt(getenvOrDefault("IMAGE_MAX_DIMENSION", "800")),
+                Float.parseFloat(getenvOrDefault("IMAGE_QUALITY", "0.75")),
+                Integer.parseInt(getenvOrDefault("IMAGE_THUMBNAIL_DIMENSION", "320")),
+                Integer.parseInt(getenvOrDefault("IMAGE_WORKERS",
+                        Integer.toString(Runtime.getRuntime().availableProcessors()))),
+                logger);
+        ContentAddressedImageStore imageStore = new ContentAddressedImageStore(Path.of("images"), logger, imageCompressor);
+        // 전송 기록 색인과 검색 색인은 원본에서 다시 만들 수 있으므로 커밋하지 않고, 저널과 함께 .cache에 두어 실행 사이에 보존합니다.
+        MappedNewsRepository sentLog = new MappedNewsRepository(logger, Path.of("sent_articles.txt"),
+                Path.of(cacheDir).resolveSibling("sent_articles.idx"),
+                new FileNewsRepository(logger, new NewsSearchIndex(Path.of("search_index"),
+                        Path.of(cacheDir).resolveSibling("search_index.bin"), logger)));
+        JournaledNewsRepository journal = new JournaledNewsRepository(sentLog,
+                Path.of(cacheDir).resolveSibling("news_journal.log"), logger);
+        NewsRepository repository = new InstrumentedNewsRepository(journal, metrics);
+
+        HttpClient client = clientFuture.join();
+        ScheduledApiClient scheduledApiClient = new ScheduledApiClient(
+                new InstrumentedApiClient(new ApiClientImpl(client,
+                        getenvOrDefault("NAVER_API_BASE_URL", ApiClientImpl.DEFAULT_BASE_URL),
+                        System.getenv("NAVER_CLIENT_ID"), System.getenv("NAVER_CLIENT_SECRET"), logger), metrics),
+                Path.of(cacheDir).resolveSibling("api_quota.txt"),
+                Long.parseLong(getenvOrDefault("NAVER_DAILY_QUOTA", "25000")),
+                Double.parseDouble(getenvOrDefault("NAVER_RATE_PER_SECOND", "10")),
+                parallelism, logger);
+        CachingApiClient apiClient = new CachingApiClient(scheduledApiClient, Path.of(cacheDir),
+                Map.of("news.json", newsTtl, "image", Duration.ofDays(7)),
+                Duration.ofHours(1), 64L * 1024 * 1024, logger, snapshot);
+        ImageServiceImpl imageService = new ImageServiceImpl(apiClient, logger, imageStore, client);
+        ImageDownloader imageDownloader = new InstrumentedImageDownloader(imageService, metrics);
+        registerComponentMetrics(metrics, apiClient, scheduledApiClient, imageStore, imageService, journal);
+
+        // 구독 설정이 있으면 구독별 웹훅으로, 없으면 SLACK_WEBHOOK_URL 하나로 알림을 보냄
+        String defaultWebhookUrl = System.getenv("SLACK_WEBHOOK_URL");
+        List<Subscription> subscriptions = List.of(
+                new Subscription("default", defaultWebhookUrl, List.of(), List.of(), List.of()));
+        String subscriptionsFile = System.getenv("SUBSCRIPTIONS_FILE");
+        if (subscriptionsFile != null && !subscriptionsFile.isEmpty()) {
+            try {
+                SubscriptionConfig config = SubscriptionConfig.load(Path.of(subscriptionsFile), defaultWebhookUrl, logger);
+                subscriptions = config.getSubscriptions();
+                if (!config.getQueries().isEmpty()) {
+                    keywords = config.getQueries();
+                }
+            } catch (IOException e) {
+                logger.severe("Failed to load subscriptions: " + e.getMessage());
+                return;
+            }
+        }
+        Map<String, BatchingSlackNotifier> slackNotifiers = new LinkedHashMap<>();
+        List<Notifier> notifiers = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            // 같은 웹훅을 쓰는 구독은 전송 한도를 함께 지키도록 하나의 BatchingSlackNotifier를 공유
+            BatchingSlackNotifier notifier = slackNotifiers.computeIfAbsent(subscription.getWebhookUrl(),
+                    url -> new BatchingSlackNotifier(client, url, 1000, Duration.ofSeconds(2), 10, logger));
+            notifiers.add(new InstrumentedNotifier(notifier, metrics));
+        }
+        SubscriptionRouter router = new SubscriptionRouter(subscriptions, notifiers, logger);
 
         // NewsService 생성 후 뉴스 처리 실행
-        NewsService newsService = new NewsService(apiClient, repository, imageDownloader, notifier, logger);
-        newsService.processNews(keyword, 1);
+        // 최근 전송한 기사의 서명은 스냅숏으로 다음 실행에 넘겨, 다른 언론사의 같은 기사를 다시 보내지 않음
+        NearDuplicateDetector nearDuplicateDetector = new NearDuplicateDetector(logger, Duration.ofDays(3), snapshot);
+        NewsService newsService = new NewsService(apiClient, repository, imageDownloader,
+                router, logger, parallelism, metrics, new NewsRankerImpl(), nearDuplicateDetector);
+        if (!daemonMode) {
+            newsService.processKeywords(keywords);
+            slackNotifiers.values().forEach(BatchingSlackNotifier::close);
+            imageCompressor.close();
+            journal.close();
+            apiClient.logStats();
+            apiClient.saveSnapshot(snapshot);
+            nearDuplicateDetector.saveSnapshot(snapshot);
+            snapshot.write();
+            scheduledApiClient.saveQuota();
+            metrics.writeFile(metricsFile);
+            return;
+        }
+
+        String metricsPort = System.getenv("METRICS_PORT");
+        try {
+            if (metricsPort != null && !metricsPort.isEmpty()) {
+                metrics.serve(Integer.parseInt(metricsPort));
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to start metrics endpoint: " + e.getMessage());
+        }
+        metrics.exportPeriodically(metricsFile, Duration.ofMinutes(1));
+
+        NewsDaemon daemon = new NewsDaemon(newsService, keywords, pollInterval,
+                Path.of("daemon_state.properties"), logger);
+        Thread mainThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            daemon.stop();
+            try {
+                mainThread.join(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            daemon.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            slackNotifiers.values().forEach(BatchingSlackNotifier::close);
+            imageCompressor.close();
+            journal.close();
+            apiClient.logStats();
+            apiClient.saveSnapshot(snapshot);
+            nearDuplicateDetector.saveSnapshot(snapshot);
+            snapshot.write();
+            scheduledApiClient.saveQuota();
+            metrics.close();
+            metrics.writeFile(metricsFile);
+        }
+    }
+
+    /**
+     * registerComponentMetrics 메서드는 각 구성 요소가 이미 집계하고 있는 값을 CrawlMetrics에서 읽을 수 있도록 등록합니다.
+     */
+    private static void registerComponentMetrics(CrawlMetrics metrics, CachingApiClient apiClient,
+                                                 ScheduledApiClient scheduledApiClient,
+                                                 ContentAddressedImageStore imageStore,
+                                                 ImageServiceImpl imageService,
+                                                 JournaledNewsRepository journal) {
+        metrics.register(CrawlMetrics.API_CACHE_REQUESTS, "result=\"hit\"", apiClient::getHits);
+        metrics.register(CrawlMetrics.API_CACHE_REQUESTS, "result=\"revalidated\"", apiClient::getRevalidated);
+        metrics.register(CrawlMetrics.API_CACHE_REQUESTS, "result=\"miss\"", apiClient::getMisses);
+        metrics.register(CrawlMetrics.API_QUOTA_USED, "", scheduledApiClient::getUsedToday);
+        metrics.register(CrawlMetrics.API_CONCURRENCY_LIMIT, "", scheduledApiClient::getConcurrencyLimit);
+        metrics.register(CrawlMetrics.IMAGE_SOURCE, "source=\"og_image\"", imageService::getOpenGraphImages);
+        metrics.register(CrawlMetrics.IMAGE_SOURCE, "source=\"search\"", imageService::getSearchImages);
+        metrics.register(CrawlMetrics.IMAGE_STORE, "result=\"title_hit\"", imageStore::getTitleHits);
+        metrics.register(CrawlMetrics.IMAGE_STORE, "result=\"url_hit\"", imageStore::getUrlHits);
+        metrics.register(CrawlMetrics.IMAGE_STORE, "result=\"stored\"", imageStore::getStoredImages);
+        metrics.register(CrawlMetrics.IMAGE_STORE, "result=\"duplicate\"", imageStore::getDuplicateImages);
+        metrics.register(CrawlMetrics.IMAGE_DOWNLOAD_BYTES, "", imageStore::getDownloadedBytes);
+        metrics.register(CrawlMetrics.IMAGE_STORED_BYTES, "", imageStore::getStoredBytes);
+        metrics.register(CrawlMetrics.JOURNAL_RECORDS, "", journal::getRecords);
+        metrics.register(CrawlMetrics.JOURNAL_SYNCS, "", journal::getSyncs);
+    }
+
+    private static String getenvOrDefault(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
     }
 }
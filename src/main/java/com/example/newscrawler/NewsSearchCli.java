@@ -0,0 +1,68 @@
+/**
+ * NewsSearchCli는 저장된 뉴스 기록을 검색 색인(search_index)으로 조회하는 명령행 도구입니다.
+ * - 사용법: java -cp build:lib/json.jar com.example.newscrawler.NewsSearchCli 검색어 [--from yyyy-MM-dd] [--to yyyy-MM-dd] [--limit n]
+ * - --to 날짜는 그 날짜의 끝까지 포함합니다.
+ * - 결과는 점수, 게시 시각, 제목, 링크(또는 이미지 파일명) 순으로 한 줄씩 출력됩니다.
+ * - 크롤러와 같은 색인 파일(API_CACHE_DIR 옆의 search_index.bin, 기본 .cache/search_index.bin)을 사용합니다.
+ */
+
+package com.example.newscrawler;
+
+import com.example.newscrawler.repository.NewsSearchIndex;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class NewsSearchCli {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: NewsSearchCli <query> [--from yyyy-MM-dd] [--to yyyy-MM-dd] [--limit n]");
+            System.exit(1);
+        }
+        SimpleDateFormat dayFormat = new SimpleDateFormat("yyyy-MM-dd");
+        StringBuilder query = new StringBuilder();
+        Date from = null;
+        Date to = null;
+        int limit = 20;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--from":
+                    from = dayFormat.parse(args[++i]);
+                    break;
+                case "--to":
+                    to = new Date(dayFormat.parse(args[++i]).getTime() + 24L * 60 * 60 * 1000);
+                    break;
+                case "--limit":
+                    limit = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    query.append(args[i]).append(' ');
+            }
+        }
+
+        Logger logger = Logger.getLogger(NewsSearchCli.class.getName());
+        logger.setLevel(Level.WARNING);
+        String cacheDir = System.getenv("API_CACHE_DIR");
+        if (cacheDir == null || cacheDir.isEmpty()) {
+            cacheDir = ".cache/api";
+        }
+        NewsSearchIndex index = new NewsSearchIndex(Path.of("search_index"),
+                Path.of(cacheDir).resolveSibling("search_index.bin"), logger);
+        // 색인은 처음 사용할 때 읽으므로, 검색 시간에 포함되지 않도록 먼저 엽니다.
+        int articles = index.size();
+
+        long started = System.nanoTime();
+        List<NewsSearchIndex.SearchHit> hits = index.search(query.toString().trim(), from, to, limit);
+        long elapsedMicros = (System.nanoTime() - started) / 1000;
+
+        SimpleDateFormat outputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        for (NewsSearchIndex.SearchHit hit : hits) {
+            String target = hit.getLink().isEmpty() ? hit.getImage() : hit.getLink();
+            System.out.printf("%.3f\t%s\t%s\t%s%n", hit.getScore(), outputFormat.format(hit.getPubDate()), hit.getTitle(), target);
+        }
+        System.out.printf("%d hit(s) of %d article(s) in %d us%n", hits.size(), articles, elapsedMicros);
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Subscription 클래스는 하나의 알림 구독(예: 팀별 Slack 채널)을 나타냅니다.
+ * - 팀 이름(teams), 선수 이름(players), 일반 키워드(keywords) 규칙과 알림을 받을 웹훅 주소(webhookUrl)를 보유합니다.
+ * - 규칙 중 하나라도 기사 제목이나 설명에 나오면 해당 기사는 이 구독과 일치합니다.
+ * - 규칙이 하나도 없는 구독은 모든 기사와 일치합니다 (구독 설정이 없을 때의 기본 채널).
+ * - 불변 객체로 설계되어 여러 스레드에서 공유할 수 있습니다.
+ */
+
+package com.example.newscrawler.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Subscription {
+    private final String name;
+    private final String webhookUrl;
+    private final List<String> teams;
+    private final List<String> players;
+    private final List<String> keywords;
+
+    public Subscription(String name, String webhookUrl, List<String> teams, List<String> players, List<String> keywords) {
+        this.name = name;
+        this.webhookUrl = webhookUrl;
+        this.teams = List.copyOf(teams);
+        this.players = List.copyOf(players);
+        this.keywords = List.copyOf(keywords);
+    }
+
+    public String getName() {
+        return name;
+    }
+    public String getWebhookUrl() {
+        return webhookUrl;
+    }
+    public List<String> getTeams() {
+        return teams;
+    }
+    public List<String> getPlayers() {
+        return players;
+    }
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * getTerms 메서드는 팀, 선수, 키워드 규칙을 하나의 목록으로 반환합니다.
+     */
+    public List<String> getTerms() {
+        List<String> terms = new ArrayList<>(teams.size() + players.size() + keywords.size());
+        terms.addAll(teams);
+        terms.addAll(players);
+        terms.addAll(keywords);
+        return terms;
+    }
+
+    public boolean isCatchAll() {
+        return teams.isEmpty() && players.isEmpty() && keywords.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * ContentAddressedImageStore 클래스는 다운로드한 이미지를 내용의 해시(SHA-256)를 이름으로 하여 한 번만 저장합니다.
+ * - 응답 스트림을 임시 파일로 쓰는 동안 해시를 함께 계산하므로 이미지를 메모리에 모으거나 두 번 읽지 않습니다.
+ * - 파일 앞부분의 매직 바이트로 실제 형식(jpg, png, gif, webp, bmp)을 판별하여 확장자를 정하고,
+ *   비어 있거나 이미지가 아닌 응답(HTML 오류 페이지 등)은 저장하지 않습니다.
+ * - 같은 해시의 파일이 이미 있으면 새로 쓰지 않고 기존 파일을 재사용합니다.
+ * - 색인 파일(images/index.tsv)에 "파일명\t원본 URL\t뉴스 제목"을 한 줄씩 추가하여 제목→이미지, URL→이미지를 조회할 수 있게 합니다.
+ *   같은 URL의 이미지는 다시 다운로드하지 않도록 findByUrl()로 먼저 확인할 수 있습니다.
+ * - ImageCompressor가 주어지면 저장 전에 이미지를 줄이고 다시 압축하여 "해시.jpg"로 저장하고, 썸네일 "해시_thumb.jpg"를 함께 만듭니다.
+ *   파일명의 해시는 원본 내용의 해시이므로, 같은 원본은 압축 여부와 관계없이 한 번만 저장됩니다.
+ * - 제목/URL 조회 적중 수, 새로 저장한 이미지 수, 내용이 같아 재사용한 이미지 수, 다운로드한 바이트 수와 저장한 바이트 수를 집계합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+public class ContentAddressedImageStore {
+    private static final long MAX_IMAGE_BYTES = 20L * 1024 * 1024;
+    private static final int SNIFF_BYTES = 12;
+    private static final String THUMBNAIL_SUFFIX = "_thumb.jpg";
+
+    private final Path imagesDir;
+    private final Path indexPath;
+    private final Logger logger;
+    private final ImageCompressor compressor;
+    private final Map<String, String> byTitle = new HashMap<>();
+    private final Map<String, String> byUrl = new HashMap<>();
+    private final AtomicLong titleHits = new AtomicLong();
+    private final AtomicLong urlHits = new AtomicLong();
+    private final AtomicLong storedImages = new AtomicLong();
+    private final AtomicLong duplicateImages = new AtomicLong();
+    private final AtomicLong downloadedBytes = new AtomicLong();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    public ContentAddressedImageStore(Path imagesDir, Logger logger) {
+        this(imagesDir, logger, null);
+    }
+
+    public ContentAddressedImageStore(Path imagesDir, Logger logger, ImageCompressor compressor) {
+        this.imagesDir = imagesDir;
+        this.indexPath = imagesDir.resolve("index.tsv");
+        this.logger = logger;
+        this.compressor = compressor;
+        loadIndex();
+    }
+
+    public synchronized String findByTitle(String newsTitle) {
+        return countHit(byTitle.get(clean(newsTitle)), titleHits);
+    }
+
+    public synchronized String findByUrl(String imageUrl) {
+        return countHit(byUrl.get(clean(imageUrl)), urlHits);
+    }
+
+    public long getTitleHits() {
+        return titleHits.get();
+    }
+    public long getUrlHits() {
+        return urlHits.get();
+    }
+    public long getStoredImages() {
+        return storedImages.get();
+    }
+    public long getDuplicateImages() {
+        return duplicateImages.get();
+    }
+    public long getDownloadedBytes() {
+        return downloadedBytes.get();
+    }
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    /**
+     * thumbnailFor 메서드는 저장된 이미지의 썸네일 파일명을 반환합니다. 썸네일이 없으면 원래 파일명을 반환합니다.
+     */
+    public String thumbnailFor(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String thumbnail = (dot < 0 ? fileName : fileName.substring(0, dot)) + THUMBNAIL_SUFFIX;
+        return Files.exists(imagesDir.resolve(thumbnail)) ? thumbnail : fileName;
+    }
+
+    /**
+     * store 메서드는 이미지 스트림을 저장하고 저장된 파일명("해시.확장자")을 반환합니다.
+     *
+     * @param in        이미지 응답 스트림 (이 메서드에서 닫힙니다)
+     * @param imageUrl  이미지 원본 URL
+     * @param newsTitle 이미지를 사용하는 뉴스 제목
+     * @return 저장된 파일명
+     * @throws IOException 스트림 읽기/쓰기에 실패했거나, 응답이 비어 있거나 이미지가 아닌 경우
+     */
+    public String store(InputStream in, String imageUrl, String newsTitle) throws IOException {
+        Files.createDirectories(imagesDir);
+        Path tmp = Files.createTempFile(imagesDir, ".download-", ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] header = new byte[SNIFF_BYTES];
+            int headerLength = 0;
+            long total = 0;
+
+            try (InputStream body = in; OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[16384];
+                int n;
+                while ((n = body.read(buffer)) != -1) {
+                    if (headerLength < SNIFF_BYTES) {
+                        int copy = Math.min(n, SNIFF_BYTES - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copy);
+                        headerLength += copy;
+                    }
+                    total += n;
+                    if (total > MAX_IMAGE_BYTES) {
+                        throw new IOException("Image exceeds " + MAX_IMAGE_BYTES + " bytes: " + imageUrl);
+                    }
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+
+            downloadedBytes.addAndGet(total);
+            if (total == 0) {
+                throw new IOException("Empty image payload: " + imageUrl);
+            }
+            String ext = sniffExtension(header, headerLength);
+            if (ext == null) {
+                throw new IOException("Payload is not a supported image: " + imageUrl);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String fileName = hash + "." + ext;
+            if (Files.exists(imagesDir.resolve(hash + ".jpg"))) {
+                // 다른 형식의 원본도 압축되면 "해시.jpg"로 저장됩니다.
+                fileName = hash + ".jpg";
+            }
+            Path target = imagesDir.resolve(fileName);
+            if (Files.exists(target)) {
+                duplicateImages.incrementAndGet();
+                logger.info("Image already stored: " + fileName);
+            } else if (compressor != null && compressor.compress(tmp, imagesDir.resolve(hash + ".jpg"),
+                    imagesDir.resolve(hash + THUMBNAIL_SUFFIX))) {
+                fileName = hash + ".jpg";
+                storedImages.incrementAndGet();
+                storedBytes.addAndGet(Files.size(imagesDir.resolve(fileName)));
+            } else {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                storedImages.incrementAndGet();
+                storedBytes.addAndGet(total);
+                logger.info("Saved image: " + target + " (" + total + " bytes)");
+            }
+            record(fileName, imageUrl, newsTitle);
+            return fileName;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing " + imageUrl);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * record 메서드는 이미 저장된 이미지를 다른 뉴스 제목에서 재사용할 때 색인에 추가합니다.
+     */
+    public synchronized void record(String fileName, String imageUrl, String newsTitle) {
+        byTitle.put(clean(newsTitle), fileName);
+        byUrl.put(clean(imageUrl), fileName);
+        String line = fileName + "\t" + clean(imageUrl) + "\t" + clean(newsTitle) + "\n";
+        try {
+            Files.writeString(indexPath, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warning("Failed to update " + indexPath + ": " + e.getMessage());
+        }
+    }
+
+    private static String countHit(String fileName, AtomicLong hits) {
+        if (fileName != null) {
+            hits.incrementAndGet();
+        }
+        return fileName;
+    }
+
+    /**
+     * sniffExtension 메서드는 파일 앞부분의 매직 바이트로 이미지 형식을 판별합니다.
+     *
+     * @return 확장자, 지원하지 않는 형식이면 null
+     */
+    static String sniffExtension(byte[] h, int length) {
+        if (length >= 3 && (h[0] & 0xff) == 0xFF && (h[1] & 0xff) == 0xD8 && (h[2] & 0xff) == 0xFF) {
+            return "jpg";
+        }
+        if (length >= 8 && (h[0] & 0xff) == 0x89 && h[1] == 'P' && h[2] == 'N' && h[3] == 'G'
+                && h[4] == 0x0D && h[5] == 0x0A && h[6] == 0x1A && h[7] == 0x0A) {
+            return "png";
+        }
+        if (length >= 6 && h[0] == 'G' && h[1] == 'I' && h[2] == 'F' && h[3] == '8'
+                && (h[4] == '7' || h[4] == '9') && h[5] == 'a') {
+            return "gif";
+        }
+        if (length >= 12 && h[0] == 'R' && h[1] == 'I' && h[2] == 'F' && h[3] == 'F'
+                && h[8] == 'W' && h[9] == 'E' && h[10] == 'B' && h[11] == 'P') {
+            return "webp";
+        }
+        if (length >= 2 && h[0] == 'B' && h[1] == 'M') {
+            return "bmp";
+        }
+        return null;
+    }
+
+    private void loadIndex() {
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        try (BufferedReader br = Files.newBufferedReader(indexPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] fields = line.split("\t", 3);
+                if (fields.length < 3) {
+                    continue;
+                }
+                byUrl.put(fields[1], fields[0]);
+                byTitle.put(fields[2], fields[0]);
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to read " + indexPath + ": " + e.getMessage());
+        }
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
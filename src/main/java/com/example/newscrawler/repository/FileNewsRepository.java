@@ -3,9 +3,14 @@
  * - getSentArticles(): 파일(sent_articles.txt)에서 이미 전송된 뉴스 기사 링크 목록을 읽어 반환합니다.
  * - markArticleAsSent(String articleLink): 파일(sent_articles.txt)에 전송된 뉴스 기사 링크를 추가 기록합니다.
  * - saveNews(List<NewsItem> newsItems, Map<String, String> newsImages): 수집된 뉴스 기사와 해당 이미지 정보를
- *   CSV 파일(baseball_news.csv)과 Markdown 파일(baseball_news.md)로 저장합니다.
- * - CSV 파일은 "timestamp,title,image" 형식으로 기록되며, 파일이 없을 경우 헤더를 작성합니다.
- * - Markdown 파일은 표 형식으로 작성되며, 첫 실행 시 헤더 행을 추가합니다.
+ *   SegmentedNewsArchive(archive/)의 게시 월별 세그먼트에 저장합니다. CSV(archive/yyyy-MM.csv)와
+ *   Markdown(archive/yyyy-MM.md)은 세그먼트에서 월별로 만들어지는 보기입니다.
+ * - CSV 파일은 "timestamp,title,image" 형식으로 기록되며, 제목은 큰따옴표로 감싸고 제목 안의 큰따옴표는 두 번 써서(RFC 4180)
+ *   이스케이프합니다. Markdown 파일은 표 형식이며, 제목의 | 는 이스케이프합니다.
+ * - 보관소가 비어 있으면 예전 형식의 baseball_news.csv 기록을 처음 한 번 가져옵니다. 예전 파일은 더 이상 바뀌지 않습니다.
+ * - 시작할 때 지난달까지의 세그먼트 중 정렬되지 않은 것을 압축(정렬, 중복 제거)합니다.
+ * - NewsSearchIndex가 주어지면 저장된 기사를 검색 색인에도 추가합니다.
+ * - 파일은 dataDir(기본값: 현재 작업 디렉터리) 아래에 저장됩니다.
  * 날짜 포맷은 "yyyy-MM-dd HH:mm:ss"로 지정되어 있으며, 예외 발생 시 Logger를 통해 경고 또는 에러 메시지를 출력합니다.
  */
 
@@ -13,35 +18,64 @@ package com.example.newscrawler.repository;
 
 import com.example.newscrawler.model.NewsItem;
 import java.io.*;
-import java.text.SimpleDateFormat;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.logging.Logger;
 
 public class FileNewsRepository implements NewsRepository {
+    private static final DateTimeFormatter LEGACY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final Logger logger;
-    private final SimpleDateFormat outputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private final NewsSearchIndex searchIndex;
+    private final File sentFile;
+    private final Instant canonicalLinksSince;
+    private final SegmentedNewsArchive archive;
 
     public FileNewsRepository(Logger logger) {
+        this(logger, null);
+    }
+
+    public FileNewsRepository(Logger logger, NewsSearchIndex searchIndex) {
+        this(logger, searchIndex, Path.of(""));
+    }
+
+    public FileNewsRepository(Logger logger, NewsSearchIndex searchIndex, Path dataDir) {
         this.logger = logger;
+        this.searchIndex = searchIndex;
+        this.sentFile = dataDir.resolve("sent_articles.txt").toFile();
+        this.canonicalLinksSince = SentLinkFormat.canonicalSince(sentFile.toPath(), logger);
+        this.archive = new SegmentedNewsArchive(dataDir.resolve("archive"), logger);
         // sent_articles.txt 파일이 없으면 생성합니다.
-        File file = new File("sent_articles.txt");
-        if (!file.exists()) {
+        if (!sentFile.exists()) {
             try {
-                file.createNewFile();
+                sentFile.createNewFile();
             } catch (IOException e) {
                 logger.warning("Failed to create sent_articles.txt: " + e.getMessage());
             }
         }
+        openArchive(dataDir.resolve("baseball_news.csv"));
+    }
+
+    @Override
+    public Instant getCanonicalLinksSince() {
+        return canonicalLinksSince;
     }
 
     @Override
     public Set<String> getSentArticles() {
         Set<String> sent = new HashSet<>();
-        File file = new File("sent_articles.txt");
-        if (!file.exists()) {
+        if (!sentFile.exists()) {
             return sent;
         }
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+        try (BufferedReader br = new BufferedReader(new FileReader(sentFile))) {
             String line;
             while ((line = br.readLine()) != null) {
                 sent.add(line.trim());
@@ -54,7 +88,7 @@ public class FileNewsRepository implements NewsRepository {
 
     @Override
     public void markArticleAsSent(String articleLink) {
-        try (FileWriter fw = new FileWriter("sent_articles.txt", true)) {
+        try (FileWriter fw = new FileWriter(sentFile, true)) {
             fw.write(articleLink + "\n");
         } catch (Exception e) {
             logger.warning("Failed to write to sent_articles.txt: " + e.getMessage());
@@ -64,39 +98,70 @@ public class FileNewsRepository implements NewsRepository {
     @Override
     public void saveNews(List<NewsItem> newsItems, Map<String, String> newsImages) {
         try {
-            String csvFileName = "baseball_news.csv";
-            File csvFile = new File(csvFileName);
-            boolean csvExists = csvFile.exists();
+            archive.append(newsItems, newsImages);
+            logger.info("News saved to the archive.");
+            if (searchIndex != null) {
+                searchIndex.add(newsItems, newsImages);
+            }
+        } catch (Exception e) {
+            logger.severe("Error saving files: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-            String mdFileName = "baseball_news.md";
-            File mdFile = new File(mdFileName);
-            boolean mdExists = mdFile.exists();
+    public SegmentedNewsArchive getArchive() {
+        return archive;
+    }
 
-            try (FileWriter csvWriter = new FileWriter(csvFile, true);
-                 FileWriter mdWriter = new FileWriter(mdFile, true)) {
+    /**
+     * openArchive 메서드는 보관소가 비어 있으면 예전 CSV 기록을 가져오고, 지난달까지의 세그먼트를 압축합니다.
+     */
+    private void openArchive(Path legacyCsv) {
+        try {
+            if (archive.isEmpty() && Files.exists(legacyCsv)) {
+                importLegacyCsv(legacyCsv);
+            }
+            int compacted = archive.compactClosedMonths(YearMonth.now());
+            if (compacted > 0) {
+                logger.info("Compacted " + compacted + " archive segment(s)");
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to prepare the news archive: " + e.getMessage());
+        }
+    }
 
-                if (!csvExists) {
-                    csvWriter.write("timestamp,title,image\n");
-                }
-                if (!mdExists) {
-                    mdWriter.write("| Timestamp           | Title                             | Image                                     |\n");
-                    mdWriter.write("|---------------------|-----------------------------------|-------------------------------------------|\n");
+    private void importLegacyCsv(Path csvPath) throws IOException {
+        // 예전 파일은 JVM 기본 시간대로 기록되었으며, 보관소도 같은 시간대로 시각을 씁니다.
+        ZoneId zone = ZoneId.systemDefault();
+        List<NewsItem> newsItems = new ArrayList<>();
+        Map<String, String> newsImages = new HashMap<>();
+        try (BufferedReader br = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            br.readLine(); // 헤더
+            String line;
+            while ((line = br.readLine()) != null) {
+                int firstComma = line.indexOf(',');
+                int lastComma = line.lastIndexOf(',');
+                if (firstComma < 0 || lastComma <= firstComma) {
+                    continue;
                 }
-
-                for (NewsItem newsItem : newsItems) {
-                    String timestamp = outputFormat.format(newsItem.getPubDate());
-                    String imageFileName = newsImages.getOrDefault(newsItem.getTitle(), "");
-
-                    csvWriter.write(String.format("%s,\"%s\",%s\n", timestamp, newsItem.getTitle(), imageFileName));
-
-                    String imageMarkdown = imageFileName.isEmpty() ? "" : String.format("![Image](images/%s)", imageFileName);
-                    mdWriter.write(String.format("| %s | %s | %s |\n", timestamp, newsItem.getTitle(), imageMarkdown));
+                try {
+                    String timestamp = line.substring(0, firstComma);
+                    String title = line.substring(firstComma + 1, lastComma);
+                    if (title.length() >= 2 && title.startsWith("\"") && title.endsWith("\"")) {
+                        title = title.substring(1, title.length() - 1).replace("\"\"", "\"");
+                    }
+                    Date pubDate = Date.from(LocalDateTime.parse(timestamp, LEGACY_TIMESTAMP).atZone(zone).toInstant());
+                    newsItems.add(new NewsItem(title, "", "", pubDate, timestamp));
+                    String image = line.substring(lastComma + 1).trim();
+                    if (!image.isEmpty()) {
+                        newsImages.put(title, image);
+                    }
+                } catch (DateTimeParseException e) {
+                    // 형식이 깨진 행은 건너뜁니다.
                 }
             }
-            logger.info("News saved to CSV and Markdown files.");
-        } catch (Exception e) {
-            logger.severe("Error saving files: " + e.getMessage());
-            e.printStackTrace();
         }
+        archive.append(newsItems, newsImages);
+        logger.info("Imported " + newsItems.size() + " article(s) from " + csvPath + " into the archive");
     }
 }
@@ -0,0 +1,181 @@
+/**
+ * ImageCompressor 클래스는 다운로드한 원본 이미지를 저장 전에 줄이고 다시 압축합니다. JDK의 ImageIO만 사용합니다.
+ * - 긴 변이 maxDimension을 넘는 이미지는 비율을 유지한 채 줄이고, quality로 JPEG 재압축합니다.
+ *   결과가 원본보다 크면(이미 작게 압축된 이미지) 원본을 그대로 사용합니다.
+ * - Slack 미리보기용으로 긴 변이 thumbnailDimension인 작은 JPEG 썸네일을 함께 만듭니다.
+ * - 큰 이미지는 디코딩 단계에서 서브샘플링하여, 목표 크기의 두 배 정도만 메모리에 올립니다.
+ * - 투명 배경(PNG, GIF)은 흰 배경으로 합성합니다. ImageIO가 읽지 못하는 형식(webp 등)은 처리하지 않습니다.
+ * - 디코딩/인코딩은 CPU 작업이므로 고정 크기 작업자 풀에서 실행되며, 대기열이 가득 차면 호출한 스레드가 직접 처리합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+public class ImageCompressor implements AutoCloseable {
+    private final int maxDimension;
+    private final float quality;
+    private final int thumbnailDimension;
+    private final Logger logger;
+    private final ThreadPoolExecutor workers;
+
+    public ImageCompressor(int maxDimension, float quality, int thumbnailDimension, int workerCount, Logger logger) {
+        this.maxDimension = maxDimension;
+        this.quality = quality;
+        this.thumbnailDimension = thumbnailDimension;
+        this.logger = logger;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * 4),
+                Thread.ofPlatform().daemon().name("image-compressor-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        // 디스크 캐시 없이 메모리에서 스트림을 처리합니다.
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * compress 메서드는 원본 이미지를 줄여 target에 JPEG로 기록하고, thumbnail에 썸네일을 기록합니다.
+     *
+     * @param source    원본 이미지 파일
+     * @param target    줄인 이미지를 기록할 파일
+     * @param thumbnail 썸네일을 기록할 파일
+     * @return target을 기록했으면 true, 원본을 그대로 써야 하면 false (읽을 수 없는 형식이거나 줄여도 작아지지 않는 경우)
+     * @throws InterruptedException 작업을 기다리는 중 인터럽트된 경우
+     */
+    public boolean compress(Path source, Path target, Path thumbnail) throws InterruptedException {
+        Future<Boolean> result = workers.submit(() -> compressNow(source, target, thumbnail));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            logger.warning("Image compression failed, keeping original: " + e.getCause().getMessage());
+            return false;
+        }
+    }
+
+    private boolean compressNow(Path source, Path target, Path thumbnail) throws IOException {
+        BufferedImage image = read(source, Math.max(maxDimension, thumbnailDimension));
+        if (image == null) {
+            return false;
+        }
+        BufferedImage resized = scale(image, maxDimension);
+        long originalSize = Files.size(source);
+        Path tmp = Files.createTempFile(target.toAbsolutePath().getParent(), ".compress-", ".tmp");
+        try {
+            writeJpeg(scale(resized, thumbnailDimension), tmp, quality);
+            Files.move(tmp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            writeJpeg(resized, tmp, quality);
+            long compressedSize = Files.size(tmp);
+            if (compressedSize >= originalSize) {
+                return false;
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Compressed image " + target.getFileName() + ": " + originalSize + " -> " + compressedSize
+                    + " bytes (" + resized.getWidth() + "x" + resized.getHeight() + ")");
+            return true;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * read 메서드는 이미지를 디코딩합니다. 긴 변이 minDimension의 두 배보다 크면 정수배로 서브샘플링하여 읽습니다.
+     *
+     * @return 디코딩한 이미지, ImageIO가 읽지 못하는 형식이면 null
+     */
+    private static BufferedImage read(Path source, int minDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (minDimension * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * scale 메서드는 긴 변이 maxDimension 이하가 되도록 이미지를 줄여 불투명 RGB 이미지로 반환합니다.
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 여러 번 줄인 뒤 마지막에 목표 크기로 맞춥니다.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, maxDimension / (double) Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source.getType() == BufferedImage.TYPE_INT_RGB ? source : draw(source, width, height);
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = draw(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path file, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Files.deleteIfExists(file);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
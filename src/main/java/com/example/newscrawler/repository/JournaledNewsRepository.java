@@ -0,0 +1,369 @@
+/**
+ * JournaledNewsRepository 클래스는 기사별 처리 상태 전이를 선행 기록 저널(write-ahead journal)에 남기는 NewsRepository 데코레이터입니다.
+ * - 상태는 SELECTED(알림 전) → NOTIFIED(전송 확인) 또는 FAILED(전송 실패) → SAVED(보관소 저장 완료)
+ *   → PERSISTED(전송 기록 완료) 순서로 바뀝니다. SELECTED 레코드에는 재생 시 저장할 수 있도록 기사와 이미지 파일 이름을 남깁니다.
+ * - 레코드는 메모리 버퍼에 모았다가 묶음 단위로 한 번에 쓰고 한 번만 fsync합니다(group commit).
+ *   여러 스레드가 동시에 동기화를 요청하면, 먼저 들어온 스레드의 fsync가 뒤에 쌓인 레코드까지 함께 반영합니다.
+ * - 레코드는 [길이][CRC32][내용] 형식이며, 비정상 종료로 잘린 마지막 레코드는 CRC로 걸러 무시합니다.
+ * - 시작할 때 저널을 재생하여 끝나지 않은 작업을 마무리합니다.
+ *   SAVED 기사는 저장이 끝났으므로 전송 기록에만 추가하고, NOTIFIED 기사는 저장한 뒤 전송 기록에 추가합니다.
+ *   SELECTED에서 멈춘 기사는 알림이 나갔는지 알 수 없으므로, 중복 게시를 막기 위해 다시 보내지 않고 저장한 뒤 전송 기록에 추가합니다.
+ *   FAILED 기사는 전송되지 않았으므로 다음 실행에서 다시 선택됩니다.
+ * - 열린 기사가 없고 저널이 compactBytes보다 커지면 저널을 비웁니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+public class JournaledNewsRepository implements NewsRepository, Closeable {
+    private static final byte SELECTED = 1;
+    private static final byte NOTIFIED = 2;
+    private static final byte FAILED = 3;
+    private static final byte PERSISTED = 4;
+    private static final byte SAVED = 5;
+    private static final long DEFAULT_COMPACT_BYTES = 1024 * 1024;
+
+    private final NewsRepository delegate;
+    private final Path journalPath;
+    private final long compactBytes;
+    private final Logger logger;
+    private final FileChannel channel;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+
+    // 아래 필드는 this로 보호합니다.
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final Map<String, Byte> open = new HashMap<>();
+    private final Set<String> marked = new LinkedHashSet<>();
+    private long appendedSeq;
+    private volatile long durableSeq;
+
+    public JournaledNewsRepository(NewsRepository delegate, Path journalPath, Logger logger) {
+        this(delegate, journalPath, DEFAULT_COMPACT_BYTES, logger);
+    }
+
+    public JournaledNewsRepository(NewsRepository delegate, Path journalPath, long compactBytes, Logger logger) {
+        this.delegate = delegate;
+        this.journalPath = journalPath;
+        this.compactBytes = compactBytes;
+        this.logger = logger;
+        try {
+            Path parent = journalPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            recover();
+            this.channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open news journal: " + journalPath, e);
+        }
+    }
+
+    @Override
+    public Set<String> getSentArticles() {
+        return delegate.getSentArticles();
+    }
+
+    @Override
+    public void markArticleAsSent(String articleLink) {
+        delegate.markArticleAsSent(articleLink);
+        synchronized (this) {
+            if (open.containsKey(articleLink)) {
+                marked.add(articleLink);
+            }
+        }
+    }
+
+    /**
+     * saveNews 메서드는 저장소에 저장한 뒤, 전송 확인된 기사를 SAVED로 기록하고 전송 기록에 추가하기 전에 동기화합니다.
+     * 재생은 SAVED 기사를 다시 저장하지 않으므로, 저장과 전송 기록 사이에 종료되어도 보관소에 같은 기사가 두 번 들어가지 않습니다.
+     */
+    @Override
+    public void saveNews(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        delegate.saveNews(newsItems, newsImages);
+        long seq;
+        synchronized (this) {
+            for (NewsItem newsItem : newsItems) {
+                Byte state = open.get(newsItem.getLink());
+                if (state != null && state == NOTIFIED) {
+                    append(SAVED, newsItem.getLink(), null, "");
+                    open.put(newsItem.getLink(), SAVED);
+                }
+            }
+            seq = appendedSeq;
+        }
+        sync(seq);
+    }
+
+    /**
+     * beginDelivery 메서드는 선택된 기사와 이미지 파일 이름을 SELECTED로 기록하고, 알림을 보내기 전에 디스크에 동기화합니다.
+     */
+    @Override
+    public void beginDelivery(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        long seq;
+        synchronized (this) {
+            for (NewsItem newsItem : newsItems) {
+                append(SELECTED, newsItem.getLink(), newsItem, newsImages.getOrDefault(newsItem.getTitle(), ""));
+                open.put(newsItem.getLink(), SELECTED);
+            }
+            seq = appendedSeq;
+        }
+        sync(seq);
+    }
+
+    /**
+     * recordDelivery 메서드는 전송이 확인된 기사를 NOTIFIED로, 실패한 기사를 FAILED로 기록하고 한 번에 동기화합니다.
+     */
+    @Override
+    public void recordDelivery(List<NewsItem> delivered, List<NewsItem> failed) {
+        long seq;
+        synchronized (this) {
+            for (NewsItem newsItem : delivered) {
+                append(NOTIFIED, newsItem.getLink(), null, "");
+                open.put(newsItem.getLink(), NOTIFIED);
+            }
+            for (NewsItem newsItem : failed) {
+                append(FAILED, newsItem.getLink(), null, "");
+                open.remove(newsItem.getLink());
+            }
+            seq = appendedSeq;
+        }
+        sync(seq);
+    }
+
+    /**
+     * flush 메서드는 저장소를 먼저 반영한 뒤, 그 사이 전송 기록에 추가된 기사를 PERSISTED로 기록하고 동기화합니다.
+     * 열린 기사가 남지 않았고 저널이 충분히 커졌으면 저널을 비웁니다.
+     */
+    @Override
+    public void flush() {
+        delegate.flush();
+        long seq;
+        synchronized (this) {
+            if (marked.isEmpty()) {
+                return;
+            }
+            for (String link : marked) {
+                append(PERSISTED, link, null, "");
+                open.remove(link);
+            }
+            marked.clear();
+            seq = appendedSeq;
+        }
+        sync(seq);
+        compactIfIdle();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warning("Failed to close news journal: " + e.getMessage());
+        }
+    }
+
+    public long getRecords() {
+        return records.get();
+    }
+
+    public long getSyncs() {
+        return syncs.get();
+    }
+
+    /**
+     * append 메서드는 레코드 하나를 [길이][CRC32][내용] 형식으로 버퍼에 추가합니다. newsItem이 null이면 링크만 기록합니다.
+     */
+    private void append(byte state, String link, NewsItem newsItem, String image) {
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+            DataOutputStream record = new DataOutputStream(payload);
+            record.writeByte(state);
+            record.writeUTF(link);
+            record.writeLong(newsItem == null || newsItem.getPubDate() == null ? 0 : newsItem.getPubDate().getTime());
+            record.writeUTF(newsItem == null ? "" : clip(newsItem.getTitle()));
+            record.writeUTF(newsItem == null ? "" : clip(newsItem.getDescription()));
+            record.writeUTF(newsItem == null ? "" : clip(newsItem.getPubDateStr()));
+            record.writeUTF(clip(image));
+            CRC32 crc = new CRC32();
+            crc.update(payload.toByteArray());
+            out.writeInt(payload.size());
+            out.writeInt((int) crc.getValue());
+            payload.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            // 메모리 버퍼에는 I/O 오류가 없음
+            throw new UncheckedIOException(e);
+        }
+        appendedSeq++;
+        records.incrementAndGet();
+    }
+
+    /**
+     * sync 메서드는 seq번째 레코드까지 디스크에 반영합니다. 다른 스레드의 fsync가 이미 반영했으면 바로 돌아옵니다.
+     */
+    private void sync(long seq) {
+        syncLock.lock();
+        try {
+            if (durableSeq >= seq) {
+                return;
+            }
+            ByteBuffer data;
+            long upTo;
+            synchronized (this) {
+                data = ByteBuffer.wrap(buffer.toByteArray());
+                buffer.reset();
+                upTo = appendedSeq;
+            }
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(false);
+            syncs.incrementAndGet();
+            durableSeq = upTo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to sync news journal: " + journalPath, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void compactIfIdle() {
+        syncLock.lock();
+        try {
+            synchronized (this) {
+                if (!open.isEmpty() || buffer.size() > 0 || channel.size() < compactBytes) {
+                    return;
+                }
+                channel.truncate(0);
+                channel.force(false);
+            }
+            logger.info("Compacted news journal " + journalPath);
+        } catch (IOException e) {
+            logger.warning("Failed to compact news journal: " + e.getMessage());
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * recover 메서드는 저널을 처음부터 읽어 기사별 마지막 상태를 구하고, 끝나지 않은 작업을 마무리한 뒤 저널을 비웁니다.
+     */
+    private void recover() throws IOException {
+        if (!Files.exists(journalPath) || Files.size(journalPath) == 0) {
+            return;
+        }
+        Map<String, NewsItem> items = new LinkedHashMap<>();
+        Map<String, Byte> states = new LinkedHashMap<>();
+        Map<String, String> images = new HashMap<>();
+        int read = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journalPath)))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > 1024 * 1024) {
+                        break;
+                    }
+                    payload = in.readNBytes(length);
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (payload.length < length || (int) crc.getValue() != checksum) {
+                    logger.warning("Ignoring torn record at the end of " + journalPath);
+                    break;
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte state = record.readByte();
+                String link = record.readUTF();
+                long pubDate = record.readLong();
+                String title = record.readUTF();
+                String description = record.readUTF();
+                String pubDateStr = record.readUTF();
+                String image = record.readUTF();
+                if (state == SELECTED) {
+                    items.put(link, new NewsItem(title, link, description, new Date(pubDate), pubDateStr));
+                }
+                if (!image.isEmpty()) {
+                    images.put(link, image);
+                }
+                states.put(link, state);
+                read++;
+            }
+        }
+
+        // 저장이 끝난 기사만 전송 기록에 있도록, SAVED가 아닌 기사는 저장을 먼저 하고 전송 기록에 추가합니다.
+        List<NewsItem> toSave = new ArrayList<>();
+        Map<String, String> newsImages = new HashMap<>();
+        List<String> toMark = new ArrayList<>();
+        int inDoubt = 0;
+        for (Map.Entry<String, Byte> entry : states.entrySet()) {
+            String link = entry.getKey();
+            byte state = entry.getValue();
+            if (state == SAVED) {
+                toMark.add(link);
+            } else if (state == NOTIFIED || state == SELECTED) {
+                if (state == SELECTED) {
+                    logger.warning("Delivery of " + link + " was interrupted; archiving it as sent without re-notifying");
+                    inDoubt++;
+                }
+                NewsItem newsItem = items.get(link);
+                if (newsItem != null) {
+                    toSave.add(newsItem);
+                    if (images.containsKey(link)) {
+                        newsImages.put(newsItem.getTitle(), images.get(link));
+                    }
+                }
+                toMark.add(link);
+            }
+        }
+        if (!toSave.isEmpty()) {
+            Collections.sort(toSave);
+            delegate.saveNews(toSave, newsImages);
+        }
+        for (String link : toMark) {
+            delegate.markArticleAsSent(link);
+        }
+        delegate.flush();
+        try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            journal.truncate(0);
+            journal.force(false);
+        }
+        logger.info("Replayed " + read + " journal record(s): finished " + (toMark.size() - inDoubt)
+                + " notified article(s) and " + inDoubt + " interrupted delivery(ies) without re-notifying, "
+                + toSave.size() + " saved to the archive");
+    }
+
+    private static String clip(String value) {
+        if (value == null) {
+            return "";
+        }
+        // writeUTF는 65535바이트까지만 쓸 수 있음 (한 글자는 최대 3바이트)
+        return value.length() > 20000 ? value.substring(0, 20000) : value;
+    }
+
+    @Override
+    public Instant getCanonicalLinksSince() {
+        return delegate.getCanonicalLinksSince();
+    }
+}
@@ -0,0 +1,321 @@
+/**
+ * MappedNewsRepository 클래스는 전송된 기사 링크를 메모리 매핑된 지문(fingerprint) 테이블로 관리하는 NewsRepository 구현체입니다.
+ * - 전송 기록의 원본은 기존과 같은 형식의 추가 전용 링크 로그(sent_articles.txt)입니다.
+ * - 색인 파일(sent_articles.idx)은 링크의 64비트 지문을 개방 주소법(선형 탐사)으로 저장하는 테이블이며,
+ *   FileChannel.map으로 매핑되어 문자열을 힙에 만들지 않고 O(1)로 포함 여부를 확인합니다.
+ * - markArticleAsSent는 지문을 즉시 테이블에 넣고 링크는 메모리에 모아 두었다가, flush() 호출 시 한 번에 로그에 추가합니다.
+ * - 색인 파일이 없거나, 마지막 flush 이후 비정상 종료되었거나, 로그 길이와 맞지 않으면 로그 전체를 읽어 색인을 다시 만듭니다.
+ *   기존 sent_articles.txt만 있는 환경에서는 첫 실행 시 이 과정이 마이그레이션 역할을 합니다.
+ *   색인 파일은 로그에서 다시 만들 수 있는 바이너리이므로 저장소에 커밋하지 않고, 호출자가 정한 위치(워크플로에서는
+ *   캐시로 보존되는 .cache/sent_articles.idx)에 둡니다. 캐시가 로그보다 오래되었으면 길이 검사에서 걸러져 다시 만들어집니다.
+ * - saveNews는 CSV/Markdown 저장과 검색 색인 갱신을 담당하는 FileNewsRepository에 위임합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import com.example.newscrawler.model.NewsItem;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.logging.Logger;
+
+public class MappedNewsRepository implements NewsRepository {
+    private static final int MAGIC = 0x53454E54; // "SENT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int OFFSET_CAPACITY = 8;
+    private static final int OFFSET_COUNT = 12;
+    private static final int OFFSET_LOG_LENGTH = 16;
+    private static final int OFFSET_DIRTY = 24;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Logger logger;
+    private final Path logPath;
+    private final Path indexPath;
+    private final NewsRepository archive;
+    private final Instant canonicalLinksSince;
+    private final List<String> pending = new ArrayList<>();
+    private MappedByteBuffer table;
+    private int capacity;
+    private int count;
+
+    public MappedNewsRepository(Logger logger, Path logPath, Path indexPath, NewsRepository archive) {
+        this.logger = logger;
+        this.logPath = logPath;
+        this.indexPath = indexPath;
+        this.archive = archive;
+        this.canonicalLinksSince = SentLinkFormat.canonicalSince(logPath, logger);
+        try {
+            if (!Files.exists(logPath)) {
+                Files.createFile(logPath);
+            }
+            Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            if (!openIndex()) {
+                rebuildIndex();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open sent article index: " + indexPath, e);
+        }
+    }
+
+    @Override
+    public Instant getCanonicalLinksSince() {
+        return canonicalLinksSince;
+    }
+
+    /**
+     * getSentArticles 메서드는 색인 테이블을 직접 조회하는 Set 뷰를 반환합니다.
+     * contains는 링크 문자열을 저장하지 않고 지문으로만 판단하며, 순회 시에는 링크 로그를 읽습니다.
+     * add는 markArticleAsSent와 같이 동작합니다.
+     */
+    @Override
+    public Set<String> getSentArticles() {
+        return new AbstractSet<>() {
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String && MappedNewsRepository.this.contains((String) o);
+            }
+
+            @Override
+            public boolean add(String link) {
+                if (MappedNewsRepository.this.contains(link)) {
+                    return false;
+                }
+                markArticleAsSent(link);
+                return true;
+            }
+
+            @Override
+            public int size() {
+                synchronized (MappedNewsRepository.this) {
+                    return count;
+                }
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                return readAllLinks().iterator();
+            }
+        };
+    }
+
+    @Override
+    public synchronized void markArticleAsSent(String articleLink) {
+        String link = articleLink.trim();
+        if (insert(fingerprint(link))) {
+            pending.add(link);
+        }
+    }
+
+    @Override
+    public void saveNews(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        archive.saveNews(newsItems, newsImages);
+    }
+
+    /**
+     * flush 메서드는 이번 실행에서 모인 링크를 한 번의 쓰기로 로그에 추가하고,
+     * 로그 길이를 색인 헤더에 기록한 뒤 색인을 디스크에 동기화합니다.
+     */
+    @Override
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String link : pending) {
+            sb.append(link).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+            table.putLong(OFFSET_LOG_LENGTH, channel.size());
+            table.putInt(OFFSET_DIRTY, 0);
+            table.force();
+            logger.info("Flushed " + pending.size() + " sent article(s) to " + logPath);
+            pending.clear();
+        } catch (IOException e) {
+            logger.warning("Failed to flush " + logPath + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized boolean contains(String link) {
+        long fp = fingerprint(link.trim());
+        int mask = capacity - 1;
+        for (int slot = (int) fp & mask; ; slot = (slot + 1) & mask) {
+            long stored = table.getLong(HEADER_SIZE + slot * 8);
+            if (stored == 0) {
+                return false;
+            }
+            if (stored == fp) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * insert 메서드는 지문을 테이블에 추가하고, 적재율이 1/2을 넘으면 테이블 크기를 두 배로 늘립니다.
+     * 테이블이 변경되면 헤더의 dirty 표시를 켜서, flush 전에 종료되었을 경우 다음 실행에서 색인을 다시 만들도록 합니다.
+     *
+     * @return 새로 추가되었으면 true, 이미 있었으면 false
+     */
+    private boolean insert(long fp) {
+        if (!insertSlot(table, capacity, fp)) {
+            return false;
+        }
+        count++;
+        table.putInt(OFFSET_COUNT, count);
+        table.putInt(OFFSET_DIRTY, 1);
+        if (count * 2L > capacity) {
+            try {
+                resize(capacity * 2);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to grow sent article index", e);
+            }
+        }
+        return true;
+    }
+
+    private static boolean insertSlot(MappedByteBuffer buffer, int capacity, long fp) {
+        int mask = capacity - 1;
+        for (int slot = (int) fp & mask; ; slot = (slot + 1) & mask) {
+            long stored = buffer.getLong(HEADER_SIZE + slot * 8);
+            if (stored == fp) {
+                return false;
+            }
+            if (stored == 0) {
+                buffer.putLong(HEADER_SIZE + slot * 8, fp);
+                return true;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) throws IOException {
+        Path tmp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        MappedByteBuffer resized = mapNew(tmp, newCapacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            long stored = table.getLong(HEADER_SIZE + slot * 8);
+            if (stored != 0) {
+                insertSlot(resized, newCapacity, stored);
+            }
+        }
+        resized.putInt(OFFSET_COUNT, count);
+        resized.putLong(OFFSET_LOG_LENGTH, table.getLong(OFFSET_LOG_LENGTH));
+        resized.putInt(OFFSET_DIRTY, table.getInt(OFFSET_DIRTY));
+        resized.force();
+        Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        table = resized;
+        capacity = newCapacity;
+    }
+
+    /**
+     * openIndex 메서드는 기존 색인 파일을 매핑하고 링크 로그와 일치하는지 확인합니다.
+     *
+     * @return 색인을 그대로 사용할 수 있으면 true
+     */
+    private boolean openIndex() throws IOException {
+        if (!Files.exists(indexPath) || Files.size(indexPath) < HEADER_SIZE) {
+            return false;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        int storedCapacity = buffer.getInt(OFFSET_CAPACITY);
+        boolean valid = buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) == VERSION
+                && Integer.bitCount(storedCapacity) == 1
+                && buffer.capacity() == HEADER_SIZE + storedCapacity * 8L
+                && buffer.getInt(OFFSET_DIRTY) == 0
+                && buffer.getLong(OFFSET_LOG_LENGTH) == Files.size(logPath);
+        if (!valid) {
+            logger.info("Sent article index is stale, rebuilding from " + logPath);
+            return false;
+        }
+        table = buffer;
+        capacity = storedCapacity;
+        count = buffer.getInt(OFFSET_COUNT);
+        return true;
+    }
+
+    /**
+     * rebuildIndex 메서드는 링크 로그를 한 줄씩 읽어 지문 테이블을 새로 만듭니다.
+     * 링크 문자열은 지문 계산에만 사용되고 보관되지 않습니다.
+     */
+    private void rebuildIndex() throws IOException {
+        long logLength = Files.size(logPath);
+        int newCapacity = INITIAL_CAPACITY;
+        // 로그 한 줄은 대략 60바이트이므로 적재율이 1/2 이하가 되도록 미리 크기를 잡습니다.
+        while (newCapacity < logLength / 30) {
+            newCapacity <<= 1;
+        }
+        table = mapNew(indexPath, newCapacity);
+        capacity = newCapacity;
+        count = 0;
+        try (BufferedReader br = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String link = line.trim();
+                if (!link.isEmpty()) {
+                    insert(fingerprint(link));
+                }
+            }
+        }
+        table.putLong(OFFSET_LOG_LENGTH, logLength);
+        table.putInt(OFFSET_DIRTY, 0);
+        table.force();
+        logger.info("Built sent article index with " + count + " link(s)");
+    }
+
+    private static MappedByteBuffer mapNew(Path path, int capacity) throws IOException {
+        Files.deleteIfExists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity * 8L);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(OFFSET_CAPACITY, capacity);
+            return buffer;
+        }
+    }
+
+    private synchronized List<String> readAllLinks() {
+        List<String> links = new ArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.isBlank()) {
+                    links.add(line.trim());
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to read " + logPath + ": " + e.getMessage());
+        }
+        links.addAll(pending);
+        return links;
+    }
+
+    /**
+     * fingerprint 메서드는 링크의 UTF-8 바이트에 대해 FNV-1a 64비트 해시를 계산하고 비트를 섞어 반환합니다.
+     * 0은 빈 슬롯을 의미하므로 지문으로 사용하지 않습니다.
+     */
+    static long fingerprint(String link) {
+        long h = 0xcbf29ce484222325L;
+        byte[] bytes = link.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+}
@@ -3,11 +3,16 @@
  * - getSentArticles(): 이미 전송된 뉴스 기사의 링크 목록을 반환합니다.
  * - markArticleAsSent(String articleLink): 특정 뉴스 기사의 링크를 전송 완료 목록에 기록합니다.
  * - saveNews(List<NewsItem> newsItems, Map<String, String> newsImages): 수집된 뉴스 기사와 관련 이미지 정보를 파일(CSV, Markdown 등)에 저장합니다.
+ * - flush(): 구현체가 모아 둔 쓰기 작업을 저장소에 반영합니다. 실행당 한 번, 처리가 끝난 뒤 호출됩니다.
+ * - beginDelivery/recordDelivery: 알림 직전과 전송 결과 확인 직후에 호출되어, 저널을 쓰는 구현체가 상태 전이를 기록하게 합니다.
+ * - getCanonicalLinksSince(): 전송 기록이 정규화된 링크만 담기 시작한 시각을 반환합니다. 이전에 게시된 기사는 쿼리를 버린
+ *   예전 형식으로 기록되었을 수 있습니다. 예전 형식의 기록이 없는 구현체는 Instant.EPOCH를 반환합니다.
  */
 
 package com.example.newscrawler.repository;
 
 import com.example.newscrawler.model.NewsItem;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,4 +21,17 @@ public interface NewsRepository {
     Set<String> getSentArticles();
     void markArticleAsSent(String articleLink);
     void saveNews(List<NewsItem> newsItems, Map<String, String> newsImages);
+
+    default void flush() {
+    }
+
+    default void beginDelivery(List<NewsItem> newsItems, Map<String, String> newsImages) {
+    }
+
+    default void recordDelivery(List<NewsItem> delivered, List<NewsItem> failed) {
+    }
+
+    default Instant getCanonicalLinksSince() {
+        return Instant.EPOCH;
+    }
 }
@@ -0,0 +1,546 @@
+/**
+ * NewsSearchIndex 클래스는 저장된 뉴스 기사에 대한 전문(full-text) 검색 색인입니다.
+ * - 제목과 설명을 단어(글자/숫자 연속 구간) 단위와 한글 음절 2-gram 단위로 나누어 색인합니다.
+ *   한글은 조사가 붙어도 검색되도록 2-gram을 함께 사용하며, 제목의 토큰은 설명보다 두 배의 가중치를 가집니다.
+ * - 용어별 게시 목록(posting list)은 (문서 번호 차이, 빈도)를 가변 길이 정수(varint)로 압축한 byte[]로 보관합니다.
+ *   문서 번호는 추가 순서대로 증가하므로 새 기사는 목록 끝에 붙이기만 하면 됩니다.
+ * - 문서 번호를 게시 시각 순으로 정렬한 보조 색인으로 날짜 범위 조건을 이진 탐색으로 처리합니다.
+ * - 문서 원문은 search_index/docs.tsv에 추가 전용으로 기록하고, 색인은 색인 파일(기본 search_index/index.bin)에 통째로 저장합니다.
+ *   색인 파일에는 반영된 docs.tsv의 길이와 그 끝부분의 CRC32가 기록되어, 그 뒤에 추가된 줄만 다시 색인합니다.
+ *   색인 파일은 docs.tsv에서 언제든 다시 만들 수 있으므로 커밋하지 않고, 크롤러는 캐시로 보존되는 .cache/search_index.bin에 둡니다.
+ *   파일이 없거나 docs.tsv와 맞지 않으면(길이가 짧거나 끝부분이 다르면) 처음 열 때 다시 만듭니다.
+ * - docs.tsv는 UTF-8 줄 단위로 읽으며, 문서마다 줄이 시작하는 바이트 위치를 기억하여 검색 결과의 원문을 바로 읽습니다.
+ * - 색인이 없으면 색인 디렉터리 옆의 baseball_news.csv에 남은 기존 기록(시각, 제목, 이미지)으로 처음 한 번 채웁니다.
+ * - 색인 파일은 생성 시가 아니라 처음 add/search/size를 호출할 때 읽습니다. 일회 실행에서는 마지막 저장 단계에서야
+ *   색인을 쓰므로, 색인 읽기가 시작 시간(첫 API 요청까지의 시간)에 포함되지 않습니다.
+ * - search()는 BM25 점수와 최신순으로 정렬한 결과를 반환합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import com.example.newscrawler.model.NewsItem;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+public class NewsSearchIndex {
+    private static final int MAGIC = 0x4E534932; // "NSI2"
+    private static final int TAIL_CHECK_BYTES = 4096;
+    private static final double K1 = 1.2;
+
+    private final Path indexDir;
+    private final Path docsPath;
+    private final Path indexPath;
+    private final Path legacyCsv;
+    private final Logger logger;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private long[] docDates = new long[1024];
+    private long[] docOffsets = new long[1024];
+    private int docCount;
+    private long indexedLength;
+    // 게시 시각 순으로 정렬된 문서 번호 (검색 시 필요할 때만 다시 만듭니다)
+    private int[] byDate;
+    private boolean opened;
+
+    public NewsSearchIndex(Path indexDir, Logger logger) {
+        this(indexDir, indexDir.resolve("index.bin"), logger);
+    }
+
+    /**
+     * @param indexDir  docs.tsv가 있는 디렉터리
+     * @param indexPath 색인 파일의 위치
+     * @param logger    로거
+     */
+    public NewsSearchIndex(Path indexDir, Path indexPath, Logger logger) {
+        this.indexDir = indexDir;
+        this.docsPath = indexDir.resolve("docs.tsv");
+        this.indexPath = indexPath;
+        this.legacyCsv = indexDir.resolveSibling("baseball_news.csv");
+        this.logger = logger;
+    }
+
+    /**
+     * SearchHit 클래스는 검색 결과 한 건을 나타냅니다.
+     */
+    public static final class SearchHit {
+        private final double score;
+        private final Date pubDate;
+        private final String title;
+        private final String link;
+        private final String image;
+
+        SearchHit(double score, Date pubDate, String title, String link, String image) {
+            this.score = score;
+            this.pubDate = pubDate;
+            this.title = title;
+            this.link = link;
+            this.image = image;
+        }
+
+        public double getScore() {
+            return score;
+        }
+        public Date getPubDate() {
+            return pubDate;
+        }
+        public String getTitle() {
+            return title;
+        }
+        public String getLink() {
+            return link;
+        }
+        public String getImage() {
+            return image;
+        }
+    }
+
+    /**
+     * add 메서드는 새로 저장된 기사를 문서 파일에 추가하고 색인에 반영한 뒤 색인 파일을 저장합니다.
+     *
+     * @param newsItems  저장된 뉴스 기사
+     * @param newsImages 뉴스 제목 → 이미지 파일명
+     */
+    public synchronized void add(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        StringBuilder lines = new StringBuilder();
+        for (NewsItem newsItem : newsItems) {
+            lines.append(newsItem.getPubDate().getTime()).append('\t')
+                    .append(clean(newsItem.getTitle())).append('\t')
+                    .append(clean(newsItem.getLink())).append('\t')
+                    .append(clean(newsImages.getOrDefault(newsItem.getTitle(), ""))).append('\t')
+                    .append(clean(newsItem.getDescription())).append('\n');
+        }
+        try {
+            open();
+            Files.writeString(docsPath, lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            catchUp();
+            save();
+        } catch (IOException e) {
+            logger.warning("Failed to update search index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * search 메서드는 질의어와 날짜 범위에 맞는 기사를 점수가 높은 순으로 반환합니다.
+     *
+     * @param query 검색어
+     * @param from  시작 시각 (포함), 제한이 없으면 null
+     * @param to    종료 시각 (미포함), 제한이 없으면 null
+     * @param limit 최대 결과 수
+     * @return 점수 내림차순, 같은 점수는 최신순으로 정렬된 결과
+     */
+    public synchronized List<SearchHit> search(String query, Date from, Date to, int limit) throws IOException {
+        open();
+        Map<String, Integer> queryTerms = new HashMap<>();
+        tokenize(query, 1, queryTerms);
+        BitSet allowed = dateFilter(from, to);
+
+        Map<Integer, Double> scores = new HashMap<>();
+        int[] docAndFreq = new int[2];
+        for (String term : queryTerms.keySet()) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (docCount - list.docFreq + 0.5) / (list.docFreq + 0.5));
+            for (int pos = 0, doc = 0; pos < list.length; ) {
+                pos = list.read(pos, docAndFreq);
+                doc += docAndFreq[0];
+                if (allowed != null && !allowed.get(doc)) {
+                    continue;
+                }
+                int tf = docAndFreq[1];
+                scores.merge(doc, idf * tf * (K1 + 1) / (tf + K1), Double::sum);
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Long.compare(docDates[b.getKey()], docDates[a.getKey()]);
+        });
+
+        List<SearchHit> hits = new ArrayList<>();
+        try (LineReader docs = new LineReader(docsPath, 8192)) {
+            for (Map.Entry<Integer, Double> entry : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                docs.seek(docOffsets[entry.getKey()]);
+                String[] fields = docs.readLine().split("\t", -1);
+                hits.add(new SearchHit(entry.getValue(), new Date(docDates[entry.getKey()]), fields[1], fields[2], fields[3]));
+            }
+        }
+        return hits;
+    }
+
+    public synchronized int size() {
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open search index: " + indexDir, e);
+        }
+        return docCount;
+    }
+
+    /**
+     * open 메서드는 처음 호출될 때 한 번 색인 파일을 읽고, docs.tsv에서 아직 색인되지 않은 부분을 따라잡습니다.
+     */
+    private void open() throws IOException {
+        if (opened) {
+            return;
+        }
+        Files.createDirectories(indexDir);
+        if (!Files.exists(docsPath)) {
+            Files.createFile(docsPath);
+        }
+        load();
+        if (catchUp()) {
+            save();
+        }
+        opened = true;
+    }
+
+    private BitSet dateFilter(Date from, Date to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        if (byDate == null) {
+            Integer[] ids = new Integer[docCount];
+            for (int i = 0; i < docCount; i++) {
+                ids[i] = i;
+            }
+            Arrays.sort(ids, Comparator.comparingLong(id -> docDates[id]));
+            byDate = new int[docCount];
+            for (int i = 0; i < docCount; i++) {
+                byDate[i] = ids[i];
+            }
+        }
+        int lo = from == null ? 0 : lowerBound(from.getTime());
+        int hi = to == null ? docCount : lowerBound(to.getTime());
+        BitSet allowed = new BitSet(docCount);
+        for (int i = lo; i < hi; i++) {
+            allowed.set(byDate[i]);
+        }
+        return allowed;
+    }
+
+    private int lowerBound(long time) {
+        int lo = 0;
+        int hi = byDate.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (docDates[byDate[mid]] < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * catchUp 메서드는 docs.tsv에서 아직 색인되지 않은 부분을 읽어 색인에 추가합니다.
+     * 색인이 비어 있고 docs.tsv도 비어 있으면 baseball_news.csv에서 기존 기록을 가져옵니다.
+     *
+     * @return 새로 색인한 문서가 있으면 true
+     */
+    private boolean catchUp() throws IOException {
+        if (docCount == 0 && Files.size(docsPath) == 0) {
+            importLegacyCsv(legacyCsv);
+        }
+        long length = Files.size(docsPath);
+        if (length <= indexedLength) {
+            return false;
+        }
+        try (LineReader docs = new LineReader(docsPath, 64 * 1024)) {
+            docs.seek(indexedLength);
+            long offset = indexedLength;
+            String line;
+            while ((line = docs.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length >= 5) {
+                    index(offset, Long.parseLong(fields[0]), fields[1], fields[4]);
+                }
+                offset = docs.offset();
+            }
+            indexedLength = offset;
+        }
+        byDate = null;
+        return true;
+    }
+
+    private void index(long offset, long date, String title, String description) {
+        if (docCount == docDates.length) {
+            docDates = Arrays.copyOf(docDates, docCount * 2);
+            docOffsets = Arrays.copyOf(docOffsets, docCount * 2);
+        }
+        int doc = docCount++;
+        docDates[doc] = date;
+        docOffsets[doc] = offset;
+
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(title, 2, terms);
+        tokenize(description, 1, terms);
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new PostingList()).append(doc, term.getValue());
+        }
+    }
+
+    /**
+     * tokenize 메서드는 글자/숫자가 이어진 구간을 소문자 단어로, 구간 안의 연속된 한글 음절을 2-gram으로 추출합니다.
+     */
+    static void tokenize(String text, int weight, Map<String, Integer> terms) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i - start == 0) {
+                continue;
+            }
+            String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+            terms.merge(word, weight, Integer::sum);
+            for (int j = 0; j + 1 < word.length(); j++) {
+                if (isHangul(word.charAt(j)) && isHangul(word.charAt(j + 1)) && word.length() > 2) {
+                    terms.merge(word.substring(j, j + 2), weight, Integer::sum);
+                }
+            }
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= '가' && c <= '힣';
+    }
+
+    private void importLegacyCsv(Path csvPath) throws IOException {
+        if (!Files.exists(csvPath)) {
+            return;
+        }
+        // 예전 파일은 JVM 기본 시간대로 기록되었습니다.
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        ZoneId zone = ZoneId.systemDefault();
+        StringBuilder lines = new StringBuilder();
+        int imported = 0;
+        try (BufferedReader br = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            br.readLine(); // 헤더
+            String line;
+            while ((line = br.readLine()) != null) {
+                int firstComma = line.indexOf(',');
+                int lastComma = line.lastIndexOf(',');
+                if (firstComma < 0 || lastComma <= firstComma) {
+                    continue;
+                }
+                try {
+                    long date = LocalDateTime.parse(line.substring(0, firstComma), format)
+                            .atZone(zone).toInstant().toEpochMilli();
+                    String title = line.substring(firstComma + 1, lastComma);
+                    if (title.length() >= 2 && title.startsWith("\"") && title.endsWith("\"")) {
+                        title = title.substring(1, title.length() - 1).replace("\"\"", "\"");
+                    }
+                    lines.append(date).append('\t').append(clean(title)).append("\t\t")
+                            .append(clean(line.substring(lastComma + 1))).append("\t\n");
+                    imported++;
+                } catch (DateTimeParseException e) {
+                    // 형식이 깨진 행은 건너뜁니다.
+                }
+            }
+        }
+        Files.writeString(docsPath, lines, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        logger.info("Imported " + imported + " archived article(s) into the search index");
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC) {
+                logger.warning("Search index has an unknown format, rebuilding");
+                return;
+            }
+            long storedLength = in.readLong();
+            int storedTail = in.readInt();
+            if (storedLength > Files.size(docsPath) || tailChecksum(storedLength) != storedTail) {
+                logger.info("Search index does not match docs.tsv, rebuilding");
+                return;
+            }
+            int storedDocs = in.readInt();
+            long[] dates = new long[Math.max(storedDocs, 1024)];
+            long[] offsets = new long[dates.length];
+            for (int i = 0; i < storedDocs; i++) {
+                dates[i] = in.readLong();
+                offsets[i] = in.readLong();
+            }
+            int termCount = in.readInt();
+            Map<String, PostingList> loaded = new HashMap<>(termCount * 2);
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                PostingList list = new PostingList();
+                list.docFreq = in.readInt();
+                list.lastDoc = in.readInt();
+                list.length = in.readInt();
+                list.bytes = new byte[Math.max(list.length, 16)];
+                in.readFully(list.bytes, 0, list.length);
+                loaded.put(term, list);
+            }
+            postings.putAll(loaded);
+            docDates = dates;
+            docOffsets = offsets;
+            docCount = storedDocs;
+            indexedLength = storedLength;
+        }
+    }
+
+    private void save() throws IOException {
+        Files.createDirectories(indexPath.toAbsolutePath().getParent());
+        Path tmp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(indexedLength);
+            out.writeInt(tailChecksum(indexedLength));
+            out.writeInt(docCount);
+            for (int i = 0; i < docCount; i++) {
+                out.writeLong(docDates[i]);
+                out.writeLong(docOffsets[i]);
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                PostingList list = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(list.docFreq);
+                out.writeInt(list.lastDoc);
+                out.writeInt(list.length);
+                out.write(list.bytes, 0, list.length);
+            }
+        }
+        Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * tailChecksum 메서드는 docs.tsv의 length 바이트 중 마지막 TAIL_CHECK_BYTES 바이트의 CRC32를 구합니다.
+     * 캐시에서 복원한 색인이 다른 docs.tsv로 만들어진 것이면 길이가 같거나 짧아도 여기서 걸러집니다.
+     */
+    private int tailChecksum(long length) throws IOException {
+        int tail = (int) Math.min(length, TAIL_CHECK_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(tail);
+        try (FileChannel channel = FileChannel.open(docsPath, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, length - tail + buffer.position()) < 0) {
+                    throw new EOFException("docs.tsv is shorter than the indexed length");
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.flip());
+        return (int) crc.getValue();
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * LineReader 클래스는 파일을 버퍼로 읽어 '\n'으로 끝나는 줄을 UTF-8 문자열로 돌려주고, 다음 줄이 시작하는 바이트 위치를 추적합니다.
+     */
+    private static final class LineReader implements Closeable {
+        private final FileChannel channel;
+        private final int bufferSize;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        private InputStream in;
+        private long offset;
+
+        LineReader(Path path, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.bufferSize = bufferSize;
+        }
+
+        void seek(long position) throws IOException {
+            channel.position(position);
+            in = new BufferedInputStream(Channels.newInputStream(channel), bufferSize);
+            offset = position;
+        }
+
+        /**
+         * readLine 메서드는 다음 줄을 줄 끝 없이 반환합니다. 파일 끝에 줄 끝 없이 남은 내용도 한 줄로 반환합니다.
+         *
+         * @return 다음 줄, 파일 끝이면 null
+         */
+        String readLine() throws IOException {
+            line.reset();
+            int b;
+            while ((b = in.read()) >= 0) {
+                offset++;
+                if (b == '\n') {
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+            return line.size() > 0 ? line.toString(StandardCharsets.UTF_8) : null;
+        }
+
+        long offset() {
+            return offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * PostingList 클래스는 한 용어의 (문서 번호 차이, 빈도) 쌍을 varint로 압축하여 보관합니다.
+     */
+    private static final class PostingList {
+        byte[] bytes = new byte[16];
+        int length;
+        int docFreq;
+        int lastDoc;
+
+        void append(int doc, int freq) {
+            writeVarint(docFreq == 0 ? doc : doc - lastDoc);
+            writeVarint(freq);
+            lastDoc = doc;
+            docFreq++;
+        }
+
+        int read(int pos, int[] docAndFreq) {
+            for (int field = 0; field < 2; field++) {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    value |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                docAndFreq[field] = value;
+            }
+            return pos;
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,578 @@
+/**
+ * SegmentedNewsArchive 클래스는 저장된 기사를 게시 월별 세그먼트 파일로 나누어 보관하는 기사 보관소입니다.
+ * - 세그먼트(archive/yyyy-MM.seg)는 [헤더 16바이트][행...] 형식의 이진 파일이며, 행은 [길이][게시 시각][제목][링크][이미지]입니다.
+ * - 세그먼트마다 희소 날짜 색인(yyyy-MM.idx)을 둡니다. 행 BLOCK_ROWS개마다 [최소 시각][최대 시각][시작 위치][끝 위치]를 기록하여,
+ *   기간 조회는 해당 월의 세그먼트에서 기간과 겹치는 블록만 읽습니다. 색인되지 않은 마지막 블록은 끝까지 읽습니다.
+ * - append는 기사를 월별로 나누어, 세그먼트마다 한 번의 채널 쓰기로 행을 추가합니다. 추가 비용은 보관소 크기와 무관합니다.
+ * - CSV(yyyy-MM.csv)와 Markdown(yyyy-MM.md)은 세그먼트에서 만든 보기(view)입니다. 추가된 행만 렌더링하여 해당 월의 파일 끝에 붙이므로,
+ *   커밋할 때 바뀌는 파일은 이번 달 파일뿐입니다. CSV 제목은 RFC 4180으로, Markdown 제목의 | 는 \| 로 이스케이프합니다.
+ * - compactClosedMonths는 이번 달보다 이전의 정렬되지 않은 세그먼트를 게시 시각순으로 정렬하고 같은 링크를 하나로 합쳐 다시 쓰고,
+ *   색인과 보기도 다시 만듭니다. 정렬된 세그먼트에 늦게 도착한 기사가 추가되면 다음 압축 때 다시 정렬합니다.
+ * - 비정상 종료로 잘린 마지막 행은 세그먼트를 열 때 잘라 냅니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.logging.Logger;
+
+public class SegmentedNewsArchive {
+    static final int BLOCK_ROWS = 128;
+    private static final int MAGIC = 0x4E415243; // "NARC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int OFFSET_FLAGS = 8;
+    private static final int FLAG_SORTED = 1;
+    private static final int INDEX_ENTRY_SIZE = 32;
+    private static final String CSV_HEADER = "timestamp,title,image\n";
+    private static final String MD_HEADER =
+            "| Timestamp           | Title                             | Image                                     |\n"
+            + "|---------------------|-----------------------------------|-------------------------------------------|\n";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Path dir;
+    private final ZoneId zone;
+    private final Logger logger;
+    private final Map<YearMonth, Segment> segments = new HashMap<>();
+
+    public SegmentedNewsArchive(Path dir, Logger logger) {
+        this(dir, ZoneId.systemDefault(), logger);
+    }
+
+    public SegmentedNewsArchive(Path dir, ZoneId zone, Logger logger) {
+        this.dir = dir;
+        this.zone = zone;
+        this.logger = logger;
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create archive directory: " + dir, e);
+        }
+    }
+
+    /**
+     * append 메서드는 기사를 게시 월별 세그먼트에 추가하고, 추가된 행을 CSV와 Markdown 보기에도 붙입니다.
+     *
+     * @param newsItems  저장할 기사 목록
+     * @param newsImages 기사 제목별 이미지 파일 이름
+     * @throws IOException 파일 쓰기에 실패한 경우
+     */
+    public synchronized void append(List<NewsItem> newsItems, Map<String, String> newsImages) throws IOException {
+        Map<YearMonth, List<NewsItem>> byMonth = new TreeMap<>();
+        for (NewsItem newsItem : newsItems) {
+            byMonth.computeIfAbsent(monthOf(newsItem.getPubDate().getTime()), m -> new ArrayList<>()).add(newsItem);
+        }
+        for (Map.Entry<YearMonth, List<NewsItem>> entry : byMonth.entrySet()) {
+            segment(entry.getKey()).append(entry.getValue(), newsImages);
+        }
+    }
+
+    /**
+     * read 메서드는 게시 시각이 [from, to) 범위인 기사를 읽습니다. 범위에 걸친 월의 세그먼트만 열고,
+     * 희소 색인에서 범위와 겹치는 블록만 읽습니다.
+     *
+     * @param from       시작 시각 (포함, epoch milliseconds)
+     * @param to         끝 시각 (제외, epoch milliseconds)
+     * @param newsImages 읽은 기사의 제목별 이미지 파일 이름을 담을 맵
+     * @return 세그먼트에 저장된 순서의 기사 목록
+     * @throws IOException 파일 읽기에 실패한 경우
+     */
+    public synchronized List<NewsItem> read(long from, long to, Map<String, String> newsImages) throws IOException {
+        List<NewsItem> newsItems = new ArrayList<>();
+        if (from >= to) {
+            return newsItems;
+        }
+        YearMonth last = monthOf(to - 1);
+        for (YearMonth month = monthOf(from); !month.isAfter(last); month = month.plusMonths(1)) {
+            if (Files.exists(segmentPath(month))) {
+                segment(month).read(from, to, newsItems, newsImages);
+            }
+        }
+        return newsItems;
+    }
+
+    /**
+     * compactClosedMonths 메서드는 before보다 이전 월의 정렬되지 않은 세그먼트를 압축합니다.
+     *
+     * @param before 이 월과 이후 월은 아직 기사가 추가될 수 있으므로 압축하지 않습니다.
+     * @return 압축한 세그먼트 수
+     * @throws IOException 파일 쓰기에 실패한 경우
+     */
+    public synchronized int compactClosedMonths(YearMonth before) throws IOException {
+        int compacted = 0;
+        for (YearMonth month : months()) {
+            if (month.isBefore(before) && !segment(month).isSorted()) {
+                segment(month).compact();
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * months 메서드는 보관소에 세그먼트가 있는 월을 오름차순으로 반환합니다.
+     */
+    public synchronized List<YearMonth> months() throws IOException {
+        List<YearMonth> months = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.seg")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    months.add(YearMonth.parse(name.substring(0, name.length() - 4), MONTH_FORMAT));
+                } catch (RuntimeException e) {
+                    logger.warning("Ignoring unexpected archive file: " + path);
+                }
+            }
+        }
+        Collections.sort(months);
+        return months;
+    }
+
+    public boolean isEmpty() throws IOException {
+        return months().isEmpty();
+    }
+
+    private YearMonth monthOf(long time) {
+        return YearMonth.from(Instant.ofEpochMilli(time).atZone(zone));
+    }
+
+    private Path segmentPath(YearMonth month) {
+        return dir.resolve(MONTH_FORMAT.format(month) + ".seg");
+    }
+
+    private Segment segment(YearMonth month) throws IOException {
+        Segment segment = segments.get(month);
+        if (segment == null) {
+            segment = new Segment(month);
+            segments.put(month, segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Segment 클래스는 한 달 치 세그먼트 파일과 그 색인, 보기 파일을 관리합니다.
+     * 마지막 블록(아직 색인되지 않은 행)의 상태는 메모리에 두고, 열 때 색인의 끝 위치부터 다시 읽어 복원합니다.
+     */
+    private final class Segment {
+        private final Path segmentPath;
+        private final Path indexPath;
+        private final Path csvPath;
+        private final Path mdPath;
+        private final DateTimeFormatter timestampFormat;
+        private int flags;
+        private long size;
+        private long blockStart;
+        private int blockRows;
+        private long blockMin;
+        private long blockMax;
+
+        Segment(YearMonth month) throws IOException {
+            String name = MONTH_FORMAT.format(month);
+            this.segmentPath = dir.resolve(name + ".seg");
+            this.indexPath = dir.resolve(name + ".idx");
+            this.csvPath = dir.resolve(name + ".csv");
+            this.mdPath = dir.resolve(name + ".md");
+            this.timestampFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(zone);
+            open();
+        }
+
+        boolean isSorted() {
+            return (flags & FLAG_SORTED) != 0;
+        }
+
+        private void open() throws IOException {
+            if (!Files.exists(segmentPath) || Files.size(segmentPath) < HEADER_SIZE) {
+                writeHeader(segmentPath, 0);
+                Files.deleteIfExists(indexPath);
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(channel, header, 0);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("Not an archive segment: " + segmentPath);
+                }
+                flags = header.getInt(OFFSET_FLAGS);
+
+                // 색인의 마지막 블록 끝부터 행을 다시 읽어 마지막 블록의 상태를 복원하고, 잘린 행은 잘라 냄
+                long[] lastEntry = lastIndexEntry(channel.size());
+                blockStart = lastEntry == null ? HEADER_SIZE : lastEntry[3];
+                blockRows = 0;
+                long position = blockStart;
+                try (DataInputStream in = rowStream(segmentPath, position)) {
+                    while (true) {
+                        Row row = Row.readFrom(in);
+                        if (row == null) {
+                            break;
+                        }
+                        track(row.pubDate, position);
+                        position += row.size;
+                        if (blockRows == BLOCK_ROWS) {
+                            closeBlock(position);
+                        }
+                    }
+                }
+                if (position < channel.size()) {
+                    logger.warning("Truncating torn row at the end of " + segmentPath);
+                    channel.truncate(position);
+                    channel.force(false);
+                }
+                size = position;
+            }
+        }
+
+        /**
+         * lastIndexEntry 메서드는 세그먼트 크기와 맞는 마지막 색인 항목을 찾고, 맞지 않는 뒤쪽 항목은 잘라 냅니다.
+         */
+        private long[] lastIndexEntry(long segmentSize) throws IOException {
+            if (!Files.exists(indexPath)) {
+                return null;
+            }
+            try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long entries = index.size() / INDEX_ENTRY_SIZE;
+                ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+                for (long e = entries - 1; e >= 0; e--) {
+                    entry.clear();
+                    readFully(index, entry, e * INDEX_ENTRY_SIZE);
+                    if (entry.getLong(24) <= segmentSize) {
+                        index.truncate((e + 1) * INDEX_ENTRY_SIZE);
+                        return new long[]{entry.getLong(0), entry.getLong(8), entry.getLong(16), entry.getLong(24)};
+                    }
+                }
+                index.truncate(0);
+                return null;
+            }
+        }
+
+        private void track(long pubDate, long position) {
+            if (blockRows == 0) {
+                blockStart = position;
+                blockMin = pubDate;
+                blockMax = pubDate;
+            } else {
+                blockMin = Math.min(blockMin, pubDate);
+                blockMax = Math.max(blockMax, pubDate);
+            }
+            blockRows++;
+        }
+
+        private void closeBlock(long end) throws IOException {
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            entry.putLong(blockMin).putLong(blockMax).putLong(blockStart).putLong(end).flip();
+            try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (entry.hasRemaining()) {
+                    index.write(entry);
+                }
+            }
+            blockRows = 0;
+            blockStart = end;
+        }
+
+        void append(List<NewsItem> newsItems, Map<String, String> newsImages) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(newsItems.size() * 256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            StringBuilder csv = new StringBuilder(newsItems.size() * 128);
+            StringBuilder md = new StringBuilder(newsItems.size() * 192);
+            List<long[]> positions = new ArrayList<>(newsItems.size());
+            long position = size;
+            for (NewsItem newsItem : newsItems) {
+                String image = newsImages.getOrDefault(newsItem.getTitle(), "");
+                Row row = new Row(newsItem.getPubDate().getTime(), newsItem.getTitle(), newsItem.getLink(), image);
+                int rowSize = row.writeTo(out);
+                positions.add(new long[]{row.pubDate, position});
+                position += rowSize;
+                render(row, csv, md);
+            }
+
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+                ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+                long offset = size;
+                while (data.hasRemaining()) {
+                    offset += channel.write(data, offset);
+                }
+                if (isSorted()) {
+                    // 정렬된 세그먼트에 행이 추가되면 다음 압축 대상이 됨
+                    flags &= ~FLAG_SORTED;
+                    ByteBuffer flagBuffer = ByteBuffer.allocate(4).putInt(0, flags);
+                    channel.write(flagBuffer, OFFSET_FLAGS);
+                }
+            }
+            for (int i = 0; i < positions.size(); i++) {
+                track(positions.get(i)[0], positions.get(i)[1]);
+                if (blockRows == BLOCK_ROWS) {
+                    closeBlock(i + 1 < positions.size() ? positions.get(i + 1)[1] : position);
+                }
+            }
+            size = position;
+            appendView(csvPath, CSV_HEADER, csv);
+            appendView(mdPath, MD_HEADER, md);
+        }
+
+        void read(long from, long to, List<NewsItem> newsItems, Map<String, String> newsImages) throws IOException {
+            List<long[]> ranges = new ArrayList<>();
+            long indexedEnd = HEADER_SIZE;
+            if (Files.exists(indexPath)) {
+                ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+                while (index.remaining() >= INDEX_ENTRY_SIZE) {
+                    long min = index.getLong();
+                    long max = index.getLong();
+                    long start = index.getLong();
+                    long end = index.getLong();
+                    if (max >= from && min < to) {
+                        ranges.add(new long[]{start, end});
+                    }
+                    indexedEnd = end;
+                }
+            }
+            if (indexedEnd < size) {
+                ranges.add(new long[]{indexedEnd, size});
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                for (long[] range : ranges) {
+                    ByteBuffer block = ByteBuffer.allocate((int) (range[1] - range[0]));
+                    readFully(channel, block, range[0]);
+                    DataInputStream in = new DataInputStream(new ByteArrayInputStream(block.array()));
+                    Row row;
+                    while ((row = Row.readFrom(in)) != null) {
+                        if (row.pubDate >= from && row.pubDate < to) {
+                            newsItems.add(row.toNewsItem(timestampFormat));
+                            if (!row.image.isEmpty()) {
+                                newsImages.put(row.title, row.image);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * compact 메서드는 세그먼트를 게시 시각순으로 정렬하고 같은 링크를 하나로 합쳐 다시 쓴 뒤, 색인과 보기를 다시 만듭니다.
+         */
+        void compact() throws IOException {
+            List<Row> rows = new ArrayList<>();
+            try (DataInputStream in = rowStream(segmentPath, HEADER_SIZE)) {
+                Row row;
+                while ((row = Row.readFrom(in)) != null) {
+                    rows.add(row);
+                }
+            }
+            int before = rows.size();
+            Set<String> links = new HashSet<>();
+            rows.removeIf(row -> !row.link.isEmpty() && !links.add(row.link));
+            rows.sort(Comparator.comparingLong(row -> row.pubDate)); // 안정 정렬: 같은 시각은 저장 순서 유지
+
+            Path tmpSegment = segmentPath.resolveSibling(segmentPath.getFileName() + ".tmp");
+            Path tmpIndex = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(FLAG_SORTED);
+            out.writeInt(0);
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            DataOutputStream indexOut = new DataOutputStream(indexBytes);
+            StringBuilder csv = new StringBuilder(CSV_HEADER);
+            StringBuilder md = new StringBuilder(MD_HEADER);
+            long position = HEADER_SIZE;
+            long start = position;
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                position += row.writeTo(out);
+                render(row, csv, md);
+                if ((i + 1) % BLOCK_ROWS == 0) {
+                    // 정렬되어 있으므로 블록의 첫 행과 마지막 행이 최소, 최대 시각
+                    indexOut.writeLong(rows.get(i + 1 - BLOCK_ROWS).pubDate);
+                    indexOut.writeLong(row.pubDate);
+                    indexOut.writeLong(start);
+                    indexOut.writeLong(position);
+                    start = position;
+                }
+            }
+            writeDurably(tmpSegment, bytes.toByteArray());
+            writeDurably(tmpIndex, indexBytes.toByteArray());
+            Files.move(tmpIndex, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tmpSegment, segmentPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.writeString(csvPath, csv, StandardCharsets.UTF_8);
+            Files.writeString(mdPath, md, StandardCharsets.UTF_8);
+            open();
+            logger.info("Compacted " + segmentPath.getFileName() + ": " + before + " row(s) -> " + rows.size());
+        }
+
+        private void render(Row row, StringBuilder csv, StringBuilder md) {
+            String timestamp = timestampFormat.format(Instant.ofEpochMilli(row.pubDate));
+            csv.append(timestamp).append(",\"").append(row.title.replace("\"", "\"\"")).append("\",")
+                    .append(row.image).append('\n');
+            md.append("| ").append(timestamp).append(" | ").append(escapeMarkdown(row.title)).append(" | ");
+            if (!row.image.isEmpty()) {
+                md.append("![Image](../images/").append(row.image).append(')');
+            }
+            md.append(" |\n");
+        }
+
+        private void appendView(Path path, String header, StringBuilder rows) throws IOException {
+            if (!Files.exists(path)) {
+                rows.insert(0, header);
+            }
+            Files.write(path, rows.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * escapeMarkdown 메서드는 표 칸을 깨뜨리는 | 를 \| 로 바꾸고 줄바꿈을 공백으로 바꿉니다.
+     */
+    static String escapeMarkdown(String text) {
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '|' || c == '\\' || c == '\n' || c == '\r') {
+                if (sb == null) {
+                    sb = new StringBuilder(text.length() + 8).append(text, 0, i);
+                }
+                if (c == '|' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else {
+                    sb.append(' ');
+                }
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    private static void writeHeader(Path path, int flags) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(0).flip();
+        writeDurably(path, header.array());
+    }
+
+    private static void writeDurably(Path path, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer data = ByteBuffer.wrap(bytes);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    private static DataInputStream rowStream(Path path, long position) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        in.skipNBytes(position);
+        return new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+    }
+
+    /**
+     * Row 클래스는 세그먼트의 행 하나입니다. 행은 [내용 길이 int][게시 시각 long][제목][링크][이미지] 형식이며,
+     * 문자열은 [바이트 수 unsigned short][UTF-8 바이트]로 기록합니다.
+     */
+    private static final class Row {
+        final long pubDate;
+        final String title;
+        final String link;
+        final String image;
+        int size;
+
+        Row(long pubDate, String title, String link, String image) {
+            this.pubDate = pubDate;
+            this.title = title == null ? "" : title;
+            this.link = link == null ? "" : link;
+            this.image = image == null ? "" : image;
+        }
+
+        int writeTo(DataOutputStream out) throws IOException {
+            int start = out.size();
+            byte[] title = utf(this.title);
+            byte[] link = utf(this.link);
+            byte[] image = utf(this.image);
+            out.writeInt(8 + 6 + title.length + link.length + image.length);
+            out.writeLong(pubDate);
+            writeString(out, title);
+            writeString(out, link);
+            writeString(out, image);
+            size = out.size() - start;
+            return size;
+        }
+
+        /**
+         * readFrom 메서드는 행 하나를 읽습니다. 스트림이 끝났거나 행이 잘려 있으면 null을 반환합니다.
+         */
+        static Row readFrom(DataInputStream in) throws IOException {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return null;
+            }
+            if (length < 14) {
+                return null;
+            }
+            byte[] payload = in.readNBytes(length);
+            if (payload.length < length) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            long pubDate = buffer.getLong();
+            String title = readString(buffer);
+            String link = readString(buffer);
+            String image = readString(buffer);
+            if (title == null || link == null || image == null) {
+                return null;
+            }
+            Row row = new Row(pubDate, title, link, image);
+            row.size = 4 + length;
+            return row;
+        }
+
+        NewsItem toNewsItem(DateTimeFormatter timestampFormat) {
+            return new NewsItem(title, link, "", new Date(pubDate), timestampFormat.format(Instant.ofEpochMilli(pubDate)));
+        }
+
+        private static byte[] utf(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            return bytes.length > 0xFFFF ? Arrays.copyOf(bytes, 0xFFFF) : bytes;
+        }
+
+        private static void writeString(DataOutputStream out, byte[] bytes) throws IOException {
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            if (buffer.remaining() < 2) {
+                return null;
+            }
+            int length = buffer.getShort() & 0xFFFF;
+            if (buffer.remaining() < length) {
+                return null;
+            }
+            String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+    }
+}
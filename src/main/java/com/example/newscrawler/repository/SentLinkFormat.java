@@ -0,0 +1,51 @@
+/**
+ * SentLinkFormat 클래스는 전송 기록에 링크를 정규화된 형식(NewsTextNormalizer.articleLink)으로 남기기 시작한 시각을 관리합니다.
+ * - 링크 정규화 이전에는 모든 링크의 쿼리를 버려 기록했으므로, 이 시각 이전에 게시된 기사만 예전 형식으로 기록되었을 수 있습니다.
+ * - 시각은 정규화된 형식으로 전송 기록을 처음 여는 실행에서 한 번 정하여 전송 기록 옆의 파일(sent_articles.format)에 남기고,
+ *   이후에는 읽기만 합니다. 그때 전송 기록이 비어 있었다면 예전 형식의 기록이 없으므로 Instant.EPOCH를 남깁니다.
+ * - 파일은 전송 기록과 함께 커밋되어야 합니다. 기록하지 못하면 이번 실행 시각을 쓰고 다음 실행에서 다시 기록합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Logger;
+
+final class SentLinkFormat {
+    private SentLinkFormat() {
+    }
+
+    /**
+     * canonicalSince 메서드는 전송 기록이 정규화된 링크를 담기 시작한 시각을 읽고, 기록된 적이 없으면 지금 정하여 기록합니다.
+     *
+     * @param sentLog 전송 기록 파일 (sent_articles.txt)
+     * @param logger  로거
+     * @return 이 시각 이후에 게시된 기사는 정규화된 링크로만 기록되어 있습니다.
+     */
+    static Instant canonicalSince(Path sentLog, Logger logger) {
+        Path marker = sentLog.resolveSibling("sent_articles.format");
+        try {
+            if (Files.exists(marker)) {
+                return Instant.parse(Files.readString(marker, StandardCharsets.UTF_8).trim());
+            }
+        } catch (IOException | DateTimeParseException e) {
+            logger.warning("Ignoring unreadable " + marker + ": " + e.getMessage());
+        }
+        Instant since = Instant.now();
+        try {
+            if (!Files.exists(sentLog) || Files.size(sentLog) == 0) {
+                since = Instant.EPOCH;
+            }
+            Files.writeString(marker, since + "\n", StandardCharsets.UTF_8);
+            logger.info("Sent links are recorded in canonical form since " + since);
+        } catch (IOException e) {
+            logger.warning("Failed to record the sent link format in " + marker + ": " + e.getMessage());
+        }
+        return since;
+    }
+}
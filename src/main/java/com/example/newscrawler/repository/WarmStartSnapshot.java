@@ -0,0 +1,128 @@
+/**
+ * WarmStartSnapshot 클래스는 다음 실행이 빨리 시작하도록, 실행이 끝날 때 구성 요소들의 상태를 한 파일에 모아 두는 바이너리 스냅숏입니다.
+ * - 구성 요소마다 이름이 붙은 구역(section) 하나를 가지며, 구역의 내용은 그 구성 요소가 정합니다.
+ *   예: "api-cache" 구역은 CachingApiClient가 캐시 디렉터리를 나열하지 않고 항목(파일명, 크기, 사용 순서)을 복원하는 데 씁니다.
+ * - 시작 시 파일 전체를 FileChannel.map으로 한 번 매핑하고, 구역은 매핑된 버퍼의 읽기 전용 조각으로 넘겨 복사하지 않습니다.
+ * - 스냅숏은 원본 파일에서 언제든 다시 만들 수 있는 캐시입니다. 형식이나 CRC32가 맞지 않으면 전체를 무시하고,
+ *   구역이 원본과 맞는지(디렉터리 수정 시각 등)는 그 구역을 쓰는 구성 요소가 확인합니다.
+ * - write()는 이번 실행에서 put()한 구역과 갱신되지 않은 이전 구역을 임시 파일에 쓴 뒤 원자적으로 교체합니다.
+ * - 전송 기록 지문은 MappedNewsRepository가 매핑된 테이블(.cache/sent_articles.idx)로 저장하고, 이 파일과 함께
+ *   워크플로 캐시로 보존되므로 여기에 복사하지 않습니다.
+ *
+ * 파일 형식: [MAGIC][VERSION][구역 수][본문 CRC32] 다음에 구역마다 [이름 길이(short)][이름(UTF-8)][내용 길이(int)][내용]
+ */
+
+package com.example.newscrawler.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+public class WarmStartSnapshot {
+    private static final int MAGIC = 0x5741524D; // "WARM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final Path file;
+    private final Logger logger;
+    private final Map<String, ByteBuffer> sections = new LinkedHashMap<>();
+
+    public WarmStartSnapshot(Path file, Logger logger) {
+        this.file = file;
+        this.logger = logger;
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Ignoring warm start snapshot " + file + ": " + e.getMessage());
+            sections.clear();
+        }
+    }
+
+    /**
+     * section 메서드는 이전 실행이 남긴 구역의 내용을 읽기 전용 버퍼로 반환합니다.
+     *
+     * @return 구역의 내용, 구역이 없으면 null
+     */
+    public synchronized ByteBuffer section(String name) {
+        ByteBuffer payload = sections.get(name);
+        return payload == null ? null : payload.asReadOnlyBuffer();
+    }
+
+    /**
+     * put 메서드는 다음 write()에 기록할 구역의 내용을 지정합니다. 같은 이름의 이전 구역은 대체됩니다.
+     */
+    public synchronized void put(String name, ByteBuffer payload) {
+        sections.put(name, payload.duplicate());
+    }
+
+    /**
+     * write 메서드는 모든 구역을 임시 파일에 기록하고 스냅숏 파일을 원자적으로 교체합니다.
+     * 실패해도 다음 실행이 원본에서 상태를 읽을 뿐이므로 경고만 남깁니다.
+     */
+    public synchronized void write() {
+        Map<String, byte[]> names = new LinkedHashMap<>();
+        int size = HEADER_SIZE;
+        for (Map.Entry<String, ByteBuffer> section : sections.entrySet()) {
+            byte[] name = section.getKey().getBytes(StandardCharsets.UTF_8);
+            names.put(section.getKey(), name);
+            size += 2 + name.length + 4 + section.getValue().remaining();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.position(HEADER_SIZE);
+        for (Map.Entry<String, ByteBuffer> section : sections.entrySet()) {
+            byte[] name = names.get(section.getKey());
+            buffer.putShort((short) name.length).put(name);
+            buffer.putInt(section.getValue().remaining()).put(section.getValue().duplicate());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, size - HEADER_SIZE);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, sections.size()).putInt(12, (int) crc.getValue());
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            Files.write(tmp, buffer.array());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote warm start snapshot with " + sections.size() + " section(s), " + size + " bytes");
+        } catch (IOException e) {
+            logger.warning("Failed to write warm start snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("truncated header");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("unknown format");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        if ((int) crc.getValue() != buffer.getInt(12)) {
+            throw new IOException("checksum mismatch");
+        }
+        int count = buffer.getInt(8);
+        buffer.position(HEADER_SIZE);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            int length = buffer.getInt();
+            sections.put(new String(name, StandardCharsets.UTF_8), buffer.slice(buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+    }
+}
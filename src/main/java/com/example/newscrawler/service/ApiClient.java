@@ -1,5 +1,38 @@
 package com.example.newscrawler.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface ApiClient {
     String getData(String path, String query, int display, int start, String sort) throws Exception;
+
+    /**
+     * getStream 메서드는 응답 본문을 String으로 만들지 않고 스트림으로 반환합니다.
+     * 호출자는 반환된 스트림을 반드시 닫아야 합니다. 기본 구현은 getData 결과를 감쌉니다.
+     */
+    default InputStream getStream(String path, String query, int display, int start, String sort) throws Exception {
+        return new ByteArrayInputStream(getData(path, query, display, start, sort).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * getConditional 메서드는 캐시된 응답의 검증자를 함께 보내 변경 여부를 확인합니다.
+     * 검증자를 지원하지 않는 구현은 항상 새 본문(200)을 반환합니다.
+     *
+     * @param etag         캐시된 응답의 ETag, 없으면 null
+     * @param lastModified 캐시된 응답의 Last-Modified, 없으면 null
+     */
+    default ApiResponse getConditional(String path, String query, int display, int start, String sort,
+                                       String etag, String lastModified) throws Exception {
+        return new ApiResponse(200, getData(path, query, display, start, sort), null, null);
+    }
+
+    /**
+     * getConditionalStream 메서드는 getConditional과 같되, 200 응답의 본문을 ApiResponse.getBodyStream()으로 반환합니다.
+     * 호출자는 본문 스트림을 반드시 닫아야 합니다. 기본 구현은 검증자 없이 getStream 결과를 감쌉니다.
+     */
+    default ApiResponse getConditionalStream(String path, String query, int display, int start, String sort,
+                                             String etag, String lastModified) throws Exception {
+        return ApiResponse.streamed(200, getStream(path, query, display, start, sort), null, null);
+    }
 }
@@ -1,37 +1,119 @@
 package com.example.newscrawler.service;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 public class ApiClientImpl implements ApiClient {
+    public static final String DEFAULT_BASE_URL = "https://openapi.naver.com/v1/search/";
+
     private final HttpClient client;
+    private final String baseUrl;
+    private final String clientId;
+    private final String clientSecret;
     private final Logger logger;
 
     public ApiClientImpl(HttpClient client, Logger logger) {
+        this(client, DEFAULT_BASE_URL, System.getenv("NAVER_CLIENT_ID"), System.getenv("NAVER_CLIENT_SECRET"), logger);
+    }
+
+    /**
+     * 검색 API 주소와 인증 정보를 지정하여 ApiClientImpl을 생성합니다. 로컬 대역 서버에 연결할 때 사용합니다.
+     *
+     * @param baseUrl      검색 API 주소 ("/"로 끝나며, 뒤에 news.json 등의 경로가 붙습니다)
+     * @param clientId     X-Naver-Client-Id 값, 없으면 null
+     * @param clientSecret X-Naver-Client-Secret 값, 없으면 null
+     */
+    public ApiClientImpl(HttpClient client, String baseUrl, String clientId, String clientSecret, Logger logger) {
         this.client = client;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
         this.logger = logger;
     }
 
     @Override
     public String getData(String path, String query, int display, int start, String sort) throws Exception {
-        String url = "https://openapi.naver.com/v1/search/%s".formatted(path);
-        String params = String.format("query=%s&display=%d&start=%d&sort=%s",
-                URLEncoder.encode(query, "UTF-8"), display, start, sort);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url + "?" + params))
-                .GET()
-                .header("X-Naver-Client-Id", System.getenv("NAVER_CLIENT_ID"))
-                .header("X-Naver-Client-Secret", System.getenv("NAVER_CLIENT_SECRET"))
-                .build();
+        HttpRequest request = requestBuilder(path, query, display, start, sort).build();
         HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
         logger.info("API Response Code: " + response.statusCode());
         if (response.statusCode() != 200) {
-            throw new Exception("API call failed: " + response.body());
+            throw new ApiException(response.statusCode(), "API call failed: " + response.body());
         }
         return response.body();
     }
+
+    @Override
+    public InputStream getStream(String path, String query, int display, int start, String sort) throws Exception {
+        return getConditionalStream(path, query, display, start, sort, null, null).getBodyStream();
+    }
+
+    @Override
+    public ApiResponse getConditionalStream(String path, String query, int display, int start, String sort,
+                                            String etag, String lastModified) throws Exception {
+        HttpRequest.Builder builder = requestBuilder(path, query, display, start, sort);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        HttpResponse<InputStream> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        logger.info("API Response Code: " + response.statusCode());
+        if (response.statusCode() != 200) {
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 304) {
+                    throw new ApiException(response.statusCode(),
+                            "API call failed: " + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return ApiResponse.streamed(response.statusCode(),
+                response.statusCode() == 200 ? response.body() : null,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
+
+    @Override
+    public ApiResponse getConditional(String path, String query, int display, int start, String sort,
+                                      String etag, String lastModified) throws Exception {
+        HttpRequest.Builder builder = requestBuilder(path, query, display, start, sort);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            builder.header("If-Modified-Since", lastModified);
+        }
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        logger.info("API Response Code: " + response.statusCode());
+        if (response.statusCode() != 200 && response.statusCode() != 304) {
+            throw new ApiException(response.statusCode(), "API call failed: " + response.body());
+        }
+        return new ApiResponse(response.statusCode(),
+                response.statusCode() == 200 ? response.body() : null,
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
+
+    private HttpRequest.Builder requestBuilder(String path, String query, int display, int start, String sort) throws Exception {
+        String url = baseUrl + path;
+        String params = String.format("query=%s&display=%d&start=%d&sort=%s",
+                URLEncoder.encode(query, "UTF-8"), display, start, sort);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url + "?" + params))
+                .GET();
+        // 인증 정보가 없으면 헤더를 빼고 보내 API가 401로 응답하게 합니다.
+        if (clientId != null) {
+            builder.header("X-Naver-Client-Id", clientId);
+        }
+        if (clientSecret != null) {
+            builder.header("X-Naver-Client-Secret", clientSecret);
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,25 @@
+/**
+ * ApiException 클래스는 네이버 API가 200이 아닌 상태 코드를 반환했을 때 발생하는 예외입니다.
+ * - 상태 코드를 함께 보관하여 호출자가 재시도 여부(429, 5xx)를 판단할 수 있도록 합니다.
+ */
+
+package com.example.newscrawler.service;
+
+public class ApiException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+
+    public ApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public boolean isRetryable() {
+        return statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * ApiResponse 클래스는 조건부 요청(If-None-Match, If-Modified-Since)의 결과를 담는 불변 객체입니다.
+ * - statusCode: 200(새 본문) 또는 304(캐시된 본문을 그대로 사용 가능)
+ * - body: 200인 경우의 응답 본문, 304인 경우 null
+ * - bodyStream: streamed()로 만든 200 응답의 본문 스트림, 그 밖에는 null. 호출자가 닫아야 합니다.
+ * - etag, lastModified: 서버가 돌려준 검증자(validator), 없으면 null
+ */
+
+package com.example.newscrawler.service;
+
+import java.io.InputStream;
+
+public class ApiResponse {
+    private final int statusCode;
+    private final String body;
+    private final String etag;
+    private final String lastModified;
+    private final InputStream bodyStream;
+
+    public ApiResponse(int statusCode, String body, String etag, String lastModified) {
+        this(statusCode, body, etag, lastModified, null);
+    }
+
+    private ApiResponse(int statusCode, String body, String etag, String lastModified, InputStream bodyStream) {
+        this.statusCode = statusCode;
+        this.body = body;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.bodyStream = bodyStream;
+    }
+
+    /**
+     * streamed 메서드는 본문을 String 대신 스트림으로 담은 응답을 만듭니다.
+     *
+     * @param bodyStream 200인 경우의 응답 본문 스트림, 304인 경우 null
+     */
+    public static ApiResponse streamed(int statusCode, InputStream bodyStream, String etag, String lastModified) {
+        return new ApiResponse(statusCode, null, etag, lastModified, bodyStream);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+    public String getBody() {
+        return body;
+    }
+    public String getEtag() {
+        return etag;
+    }
+    public String getLastModified() {
+        return lastModified;
+    }
+    public InputStream getBodyStream() {
+        return bodyStream;
+    }
+    public boolean isNotModified() {
+        return statusCode == 304;
+    }
+}
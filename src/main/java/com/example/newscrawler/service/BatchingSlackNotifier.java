@@ -0,0 +1,254 @@
+/**
+ * BatchingSlackNotifier 클래스는 Slack 웹훅 알림을 비동기로 모아 보내는 Notifier 구현체입니다.
+ * - notifyAsync는 알림을 크기가 제한된 큐에 넣고 바로 반환하며, 큐가 가득 차면 자리가 날 때까지 기다립니다.
+ * - 전송 스레드는 짧은 시간(window) 안에 도착한 알림을 최대 maxBatch개까지 하나의 페이로드(여러 attachment)로 합칩니다.
+ * - 웹훅당 초당 1건의 Slack 전송 한도를 지키도록 전송 간격을 유지합니다.
+ * - 429(Retry-After의 초 또는 HTTP 날짜 형식 존중), 5xx, 네트워크 오류는 지수 백오프로 재시도하고,
+ *   끝내 실패하면 Future를 예외로 완료합니다.
+ *   호출자는 Future가 정상 완료된 기사만 전송 완료로 기록하여, 실패한 알림이 전송된 것으로 처리되지 않도록 합니다.
+ * - 그 밖의 4xx는 페이로드 문제이므로 재시도하지 않고, 여러 알림을 합친 묶음이면 반으로 나누어 다시 보냅니다.
+ *   잘못된 알림 하나 때문에 같은 묶음의 다른 알림까지 실패하지 않습니다.
+ * - close()는 큐에 남은 알림을 모두 보낸 뒤 전송 스레드를 종료합니다. close() 이후의 notifyAsync는 바로 예외로 완료됩니다.
+ */
+
+package com.example.newscrawler.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+public class BatchingSlackNotifier implements Notifier, AutoCloseable {
+    private static final long MIN_SEND_INTERVAL_MILLIS = 1000;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 1000;
+
+    private final HttpClient client;
+    private final String webhookUrl;
+    private final Duration window;
+    private final int maxBatch;
+    private final Logger logger;
+    private final BlockingQueue<PendingMessage> queue;
+    private final Thread worker;
+    // 큐에 넣는 쪽은 읽기 잠금, close()는 쓰기 잠금을 잡아, closed가 켜진 뒤에는 큐에 새 알림이 들어가지 않게 합니다.
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    private long lastSentMillis;
+
+    public BatchingSlackNotifier(HttpClient client, String webhookUrl, int queueCapacity,
+                                 Duration window, int maxBatch, Logger logger) {
+        this.client = client;
+        this.webhookUrl = webhookUrl;
+        this.window = window;
+        this.maxBatch = maxBatch;
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.worker = Thread.ofVirtual().name("slack-notifier").start(this::runWorker);
+    }
+
+    @Override
+    public void notify(String title, String articleLink, String imageUrl) {
+        notifyAsync(title, articleLink, imageUrl);
+    }
+
+    @Override
+    public CompletableFuture<Void> notifyAsync(String title, String articleLink, String imageUrl) {
+        PendingMessage message = new PendingMessage(title, articleLink, imageUrl);
+        if (webhookUrl == null || webhookUrl.isEmpty()) {
+            message.result.completeExceptionally(new IllegalStateException("SLACK_WEBHOOK_URL not set."));
+            return message.result;
+        }
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                message.result.completeExceptionally(new IllegalStateException("Notifier is closed"));
+                return message.result;
+            }
+            queue.put(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message.result.completeExceptionally(e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return message.result;
+    }
+
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 직전에 들어온 알림은 실패로 완료하여 호출자가 기다리지 않도록 합니다.
+        PendingMessage leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result.completeExceptionally(new IllegalStateException("Notifier is closed"));
+        }
+    }
+
+    private void runWorker() {
+        List<PendingMessage> batch = new ArrayList<>();
+        try {
+            while (true) {
+                PendingMessage first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // closed가 켜진 뒤에는 큐에 더 들어오지 않으므로, 비어 있으면 남은 알림 없이 끝낼 수 있습니다.
+                    if (closed && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                // 창(window) 안에 도착한 알림을 최대 maxBatch개까지 합칩니다.
+                long deadline = System.nanoTime() + window.toNanos();
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingMessage more = closed || remaining <= 0
+                            ? queue.poll() : queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (more == null) {
+                        break;
+                    }
+                    batch.add(more);
+                }
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            for (PendingMessage message : batch) {
+                message.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void deliver(List<PendingMessage> batch) throws InterruptedException {
+        String payload = buildPayload(batch);
+        Exception lastError = null;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            long retryAfterMillis = BASE_BACKOFF_MILLIS << (attempt - 1);
+            try {
+                pace();
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(webhookUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(payload))
+                        .build();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                lastSentMillis = System.currentTimeMillis();
+                if (response.statusCode() == 200) {
+                    logger.info("Slack response: " + response.body() + " (" + batch.size() + " article(s))");
+                    for (PendingMessage message : batch) {
+                        message.result.complete(null);
+                    }
+                    return;
+                }
+                lastError = new Exception("Slack returned " + response.statusCode() + ": " + response.body());
+                if (response.statusCode() != 429 && response.statusCode() < 500) {
+                    if (batch.size() > 1) {
+                        // 묶음 안의 어느 알림이 거부되었는지 알 수 없으므로 반씩 나누어 다시 보냅니다.
+                        logger.warning(lastError.getMessage() + "; splitting a batch of " + batch.size());
+                        int half = batch.size() / 2;
+                        deliver(batch.subList(0, half));
+                        deliver(batch.subList(half, batch.size()));
+                        return;
+                    }
+                    break;
+                }
+                if (response.statusCode() == 429) {
+                    long backoff = retryAfterMillis;
+                    retryAfterMillis = response.headers().firstValue("Retry-After")
+                            .map(value -> parseRetryAfter(value, backoff))
+                            .orElse(retryAfterMillis);
+                }
+            } catch (Exception e) {
+                lastError = e;
+            }
+            logger.warning("Failed to send Slack message (attempt " + attempt + "): " + lastError.getMessage());
+            if (attempt < MAX_ATTEMPTS) {
+                Thread.sleep(retryAfterMillis);
+            }
+        }
+        for (PendingMessage message : batch) {
+            message.result.completeExceptionally(lastError);
+        }
+    }
+
+    /**
+     * parseRetryAfter 메서드는 Retry-After 헤더를 기다릴 밀리초로 바꿉니다.
+     * 헤더는 초 단위 숫자이거나 HTTP 날짜(RFC 1123)이며, 해석할 수 없으면 fallbackMillis를 반환합니다.
+     */
+    static long parseRetryAfter(String value, long fallbackMillis) {
+        String trimmed = value.trim();
+        try {
+            if (!trimmed.isEmpty() && trimmed.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                return Long.parseLong(trimmed) * 1000;
+            }
+            ZonedDateTime retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, retryAt.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return fallbackMillis;
+        }
+    }
+
+    private void pace() throws InterruptedException {
+        long wait = lastSentMillis + MIN_SEND_INTERVAL_MILLIS - System.currentTimeMillis();
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    private static String buildPayload(List<PendingMessage> batch) {
+        JSONObject payload = new JSONObject();
+        payload.put("text", batch.size() == 1
+                ? "✉️ 새 KBO 뉴스가 도착했습니다!"
+                : "✉️ 새 KBO 뉴스 " + batch.size() + "건이 도착했습니다!");
+
+        JSONArray attachments = new JSONArray();
+        for (PendingMessage message : batch) {
+            JSONObject attachment = new JSONObject();
+            attachment.put("title", message.title);
+            attachment.put("title_link", message.articleLink);
+            if (!message.imageUrl.isEmpty()) {
+                attachment.put("image_url", message.imageUrl);
+            }
+            attachments.put(attachment);
+        }
+        payload.put("attachments", attachments);
+        return payload.toString();
+    }
+
+    private static final class PendingMessage {
+        final String title;
+        final String articleLink;
+        final String imageUrl;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        PendingMessage(String title, String articleLink, String imageUrl) {
+            this.title = title;
+            this.articleLink = articleLink;
+            this.imageUrl = imageUrl;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * BoundedStageExecutor 클래스는 파이프라인의 각 단계(검색, 이미지 보강 등)를 가상 스레드에서 실행하는 실행기입니다.
+ * - 작업마다 새로운 가상 스레드를 사용하므로 네트워크 대기 중에도 플랫폼 스레드를 점유하지 않습니다.
+ * - Semaphore로 동시에 실행되는 작업 수를 parallelism 이하로 제한합니다.
+ * - 허용치를 넘는 submit 호출은 자리가 날 때까지 호출자 스레드를 대기시켜 백프레셔를 제공합니다.
+ * - AutoCloseable을 구현하여 try-with-resources 블록이 끝나면 제출된 모든 작업이 끝날 때까지 기다립니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+public class BoundedStageExecutor implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    public BoundedStageExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.permits = new Semaphore(parallelism);
+    }
+
+    /**
+     * submit 메서드는 실행 허가를 얻은 뒤 작업을 가상 스레드에서 실행합니다.
+     * 실행 중인 작업 수가 한도에 도달한 경우, 자리가 날 때까지 호출자를 대기시킵니다.
+     *
+     * @param task 실행할 작업
+     * @return 작업 결과를 담은 Future
+     * @throws InterruptedException 허가를 기다리는 중 인터럽트된 경우
+     */
+    public <T> Future<T> submit(Callable<T> task) throws InterruptedException {
+        permits.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
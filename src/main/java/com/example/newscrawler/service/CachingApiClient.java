@@ -0,0 +1,580 @@
+/**
+ * CachingApiClient 클래스는 ApiClient를 감싸 응답을 로컬 디스크에 캐시하는 데코레이터입니다.
+ * - 요청(path, query, display, start, sort)마다 SHA-256 키로 캐시 파일 하나를 저장합니다.
+ * - path별 TTL 안의 응답은 API를 호출하지 않고 그대로 반환합니다.
+ * - TTL이 지났지만 서버가 ETag/Last-Modified를 준 응답은 조건부 요청으로 재검증하여, 304이면 캐시된 본문을 다시 사용합니다.
+ * - getStream()은 본문을 String으로 만들지 않습니다. 캐시된 본문은 캐시 파일에서 바로 읽는 스트림으로 반환하고,
+ *   캐시에 없으면 API 응답 스트림을 읽는 대로 임시 파일에 함께 기록했다가 끝까지 읽히면 캐시 항목으로 바꿉니다.
+ *   호출자가 끝까지 읽지 않고 닫으면(NewsItemParser가 기준 시각에서 멈춘 경우 등) 나머지 본문을 받지 않고 임시 파일을 버리므로,
+ *   그 응답은 캐시되지 않고 나머지 본문의 전송과 파싱을 모두 아낍니다.
+ *   스트림 응답도 getConditionalStream()으로 받아 검증자를 함께 저장하므로, getData()와 같이 TTL이 지나면 재검증합니다.
+ * - 캐시 전체 크기가 예산을 넘으면 가장 오래 사용되지 않은 항목부터 삭제합니다(LRU).
+ *   사용 순서는 파일의 수정 시각으로 남겨 다음 실행에서도 유지됩니다.
+ * - WarmStartSnapshot이 주어지면 시작할 때 디렉터리를 나열하지 않고 스냅숏의 "api-cache" 구역에서 항목과 사용 순서를 복원합니다.
+ *   구역에 기록된 디렉터리 수정 시각이 현재와 다르면(파일이 추가, 교체, 삭제되었으면) 디렉터리를 나열합니다.
+ *   saveSnapshot()은 현재 항목을 사용 순서대로 스냅숏에 기록합니다.
+ * - 적중(hit), 재검증(revalidated), 실패(miss) 횟수를 집계하여 logStats()로 출력합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.repository.WarmStartSnapshot;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+public class CachingApiClient implements ApiClient {
+    private static final String SNAPSHOT_SECTION = "api-cache";
+
+    private final ApiClient delegate;
+    private final Path cacheDir;
+    private final Map<String, Duration> ttlByPath;
+    private final Duration defaultTtl;
+    private final long maxBytes;
+    private final Logger logger;
+
+    // 접근 순서로 정렬된 캐시 파일명 → 크기
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachingApiClient(ApiClient delegate, Path cacheDir, Map<String, Duration> ttlByPath,
+                            Duration defaultTtl, long maxBytes, Logger logger) {
+        this(delegate, cacheDir, ttlByPath, defaultTtl, maxBytes, logger, null);
+    }
+
+    /**
+     * 시작할 때 캐시 항목을 복원할 WarmStartSnapshot을 지정하여 CachingApiClient를 생성합니다.
+     *
+     * @param snapshot 이전 실행의 스냅숏 (null이면 항상 캐시 디렉터리를 나열합니다)
+     */
+    public CachingApiClient(ApiClient delegate, Path cacheDir, Map<String, Duration> ttlByPath,
+                            Duration defaultTtl, long maxBytes, Logger logger, WarmStartSnapshot snapshot) {
+        this.delegate = delegate;
+        this.cacheDir = cacheDir;
+        this.ttlByPath = ttlByPath;
+        this.defaultTtl = defaultTtl;
+        this.maxBytes = maxBytes;
+        this.logger = logger;
+        if (snapshot == null || !restoreEntries(snapshot.section(SNAPSHOT_SECTION))) {
+            loadEntries();
+        }
+    }
+
+    @Override
+    public String getData(String path, String query, int display, int start, String sort) throws Exception {
+        String key = cacheKey(path, query, display, start, sort);
+        CacheEntry cached = read(key);
+        Duration ttl = ttlByPath.getOrDefault(path, defaultTtl);
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now - cached.storedAt < ttl.toMillis()) {
+            hits.incrementAndGet();
+            return cached.body;
+        }
+
+        if (cached != null && (cached.etag != null || cached.lastModified != null)) {
+            ApiResponse response = delegate.getConditional(path, query, display, start, sort,
+                    cached.etag, cached.lastModified);
+            if (response.isNotModified()) {
+                revalidated.incrementAndGet();
+                write(key, new CacheEntry(now, cached.etag, cached.lastModified, cached.body));
+                return cached.body;
+            }
+            misses.incrementAndGet();
+            write(key, new CacheEntry(now, response.getEtag(), response.getLastModified(), response.getBody()));
+            return response.getBody();
+        }
+
+        misses.incrementAndGet();
+        ApiResponse response = delegate.getConditional(path, query, display, start, sort, null, null);
+        write(key, new CacheEntry(now, response.getEtag(), response.getLastModified(), response.getBody()));
+        return response.getBody();
+    }
+
+    @Override
+    public InputStream getStream(String path, String query, int display, int start, String sort) throws Exception {
+        String key = cacheKey(path, query, display, start, sort);
+        CachedBody cached = open(key);
+        Duration ttl = ttlByPath.getOrDefault(path, defaultTtl);
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now - cached.storedAt < ttl.toMillis()) {
+            hits.incrementAndGet();
+            return cached.body;
+        }
+
+        if (cached != null && (cached.etag != null || cached.lastModified != null)) {
+            ApiResponse response;
+            try {
+                response = delegate.getConditionalStream(path, query, display, start, sort,
+                        cached.etag, cached.lastModified);
+            } catch (Exception e) {
+                cached.body.close();
+                throw e;
+            }
+            if (response.isNotModified()) {
+                revalidated.incrementAndGet();
+                touch(key, now);
+                return cached.body;
+            }
+            cached.body.close();
+            misses.incrementAndGet();
+            return new CacheFillingStream(response, key, now);
+        }
+
+        if (cached != null) {
+            cached.body.close();
+        }
+        misses.incrementAndGet();
+        return new CacheFillingStream(delegate.getConditionalStream(path, query, display, start, sort, null, null),
+                key, now);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+    public long getRevalidated() {
+        return revalidated.get();
+    }
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void logStats() {
+        logger.info(String.format("API cache: %d hit(s), %d revalidated, %d miss(es), %d entries, %d bytes",
+                hits.get(), revalidated.get(), misses.get(), entryCount(), totalBytes()));
+    }
+
+    /**
+     * saveSnapshot 메서드는 캐시 디렉터리의 수정 시각과 현재 항목(파일명, 크기)을 오래 사용되지 않은 순서대로 스냅숏에 기록합니다.
+     * 스냅숏 파일은 호출한 쪽에서 WarmStartSnapshot.write()로 저장합니다.
+     */
+    public synchronized void saveSnapshot(WarmStartSnapshot snapshot) {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        try {
+            long modified = directoryModified();
+            int size = 12;
+            for (String name : entries.keySet()) {
+                size += 2 + name.length() + 8;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(size);
+            payload.putLong(modified).putInt(entries.size());
+            for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+                payload.putShort((short) name.length).put(name).putLong(entry.getValue());
+            }
+            snapshot.put(SNAPSHOT_SECTION, payload.flip());
+        } catch (IOException e) {
+            logger.warning("Failed to snapshot API cache entries: " + e.getMessage());
+        }
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private CacheEntry read(String key) {
+        CachedBody cached = open(key);
+        if (cached == null) {
+            return null;
+        }
+        try (InputStream body = cached.body) {
+            return new CacheEntry(cached.storedAt, cached.etag, cached.lastModified,
+                    new String(body.readNBytes(cached.length), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warning("Failed to read API cache entry " + key + ": " + e.getMessage());
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * open 메서드는 캐시 파일의 머리(저장 시각, 검증자, 본문 길이)를 읽고, 본문 시작 위치에 놓인 스트림을 함께 반환합니다.
+     * 사용 순서를 다음 실행에도 유지하기 위해 파일의 수정 시각을 갱신합니다.
+     *
+     * @return 캐시된 항목, 없거나 읽을 수 없으면 null
+     */
+    private CachedBody open(String key) {
+        Path file = cacheDir.resolve(key);
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return null;
+            }
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            long storedAt = in.readLong();
+            String etag = readNullable(in);
+            String lastModified = readNullable(in);
+            int length = in.readInt();
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new CachedBody(storedAt, etag, lastModified, length, in);
+        } catch (IOException e) {
+            logger.warning("Failed to read API cache entry " + key + ": " + e.getMessage());
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ignored) {
+                }
+            }
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * touch 메서드는 재검증된 항목의 저장 시각만 캐시 파일에서 바꿉니다. 본문은 다시 쓰지 않습니다.
+     */
+    private void touch(String key, long storedAt) {
+        try (FileChannel channel = FileChannel.open(cacheDir.resolve(key), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, storedAt), 0);
+        } catch (IOException e) {
+            logger.warning("Failed to update API cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    private void write(String key, CacheEntry entry) {
+        try {
+            Files.createDirectories(cacheDir);
+            Path tmp = Files.createTempFile(cacheDir, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                byte[] body = entry.body.getBytes(StandardCharsets.UTF_8);
+                out.writeLong(entry.storedAt);
+                writeNullable(out, entry.etag);
+                writeNullable(out, entry.lastModified);
+                out.writeInt(body.length);
+                out.write(body);
+            }
+            commit(key, tmp);
+        } catch (IOException e) {
+            logger.warning("Failed to write API cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * commit 메서드는 완성된 임시 파일을 캐시 파일로 바꾸고 항목 크기를 반영합니다.
+     */
+    private void commit(String key, Path tmp) throws IOException {
+        long size = Files.size(tmp);
+        Files.move(tmp, cacheDir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous == null ? 0 : previous);
+            evict();
+        }
+    }
+
+    /**
+     * evict 메서드는 캐시 전체 크기가 예산 이하가 될 때까지 가장 오래 사용되지 않은 항목을 삭제합니다.
+     */
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(cacheDir.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                logger.warning("Failed to evict API cache entry " + eldest.getKey() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    /**
+     * restoreEntries 메서드는 스냅숏 구역에서 캐시 항목을 복원합니다.
+     *
+     * @return 구역이 있고 캐시 디렉터리가 기록 이후 바뀌지 않아 복원했으면 true
+     */
+    private boolean restoreEntries(ByteBuffer section) {
+        if (section == null || !Files.isDirectory(cacheDir)) {
+            return false;
+        }
+        try {
+            if (section.getLong() != directoryModified()) {
+                logger.info("API cache directory changed since the last snapshot, listing " + cacheDir);
+                return false;
+            }
+            int count = section.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[section.getShort()];
+                section.get(name);
+                long size = section.getLong();
+                entries.put(new String(name, StandardCharsets.US_ASCII), size);
+                totalBytes += size;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Ignoring API cache snapshot: " + e.getMessage());
+            entries.clear();
+            totalBytes = 0;
+            return false;
+        }
+        evict();
+        return true;
+    }
+
+    private long directoryModified() throws IOException {
+        return Files.getLastModifiedTime(cacheDir).to(TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * loadEntries 메서드는 캐시 디렉터리를 나열하여 항목을 수정 시각 순서로 불러옵니다.
+     * 파일마다 속성을 한 번만 읽고 정렬합니다.
+     */
+    private void loadEntries() {
+        if (!Files.isDirectory(cacheDir)) {
+            return;
+        }
+        List<Map.Entry<BasicFileAttributes, String>> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    continue;
+                }
+                try {
+                    files.add(Map.entry(Files.readAttributes(file, BasicFileAttributes.class), name));
+                } catch (NoSuchFileException e) {
+                    // 나열한 뒤 다른 프로세스가 지운 파일은 건너뜁니다.
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to list API cache directory: " + e.getMessage());
+        }
+        files.sort(Comparator.comparing(file -> file.getKey().lastModifiedTime()));
+        for (Map.Entry<BasicFileAttributes, String> file : files) {
+            entries.put(file.getValue(), file.getKey().size());
+            totalBytes += file.getKey().size();
+        }
+        evict();
+    }
+
+    private static String cacheKey(String path, String query, int display, int start, String sort) throws Exception {
+        String raw = path + "\n" + query + "\n" + display + "\n" + start + "\n" + sort;
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static final class CachedBody {
+        final long storedAt;
+        final String etag;
+        final String lastModified;
+        final int length;
+        final InputStream body;
+
+        CachedBody(long storedAt, String etag, String lastModified, int length, InputStream body) {
+            this.storedAt = storedAt;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.body = body;
+        }
+    }
+
+    /**
+     * CacheFillingStream 클래스는 API 응답 스트림을 읽는 대로 임시 캐시 파일에도 기록하는 스트림입니다.
+     * 머리에는 응답의 검증자(ETag, Last-Modified)를 기록하고, 본문 길이는 자리만 잡아 둡니다.
+     * 끝까지 읽으면 본문 길이를 채워 캐시 항목으로 바꾸고, 끝나기 전에 닫히면 나머지를 읽지 않고 임시 파일을 버립니다.
+     * 임시 파일에 쓰지 못하거나 응답을 끝까지 읽지 못하면 임시 파일을 지우고 응답만 전달합니다.
+     */
+    private final class CacheFillingStream extends FilterInputStream {
+        private final String key;
+        private Path tmp;
+        private OutputStream out;
+        private int lengthOffset;
+        private long length;
+        private boolean closed;
+
+        CacheFillingStream(ApiResponse response, String key, long storedAt) {
+            super(response.getBodyStream());
+            this.key = key;
+            try {
+                Files.createDirectories(cacheDir);
+                tmp = Files.createTempFile(cacheDir, key, ".tmp");
+                DataOutputStream header = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)));
+                header.writeLong(storedAt);
+                writeNullable(header, response.getEtag());
+                writeNullable(header, response.getLastModified());
+                lengthOffset = header.size();
+                header.writeInt(0);
+                out = header;
+            } catch (IOException e) {
+                logger.warning("Failed to write API cache entry " + key + ": " + e.getMessage());
+                discard();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = upstream(() -> super.read());
+            if (b < 0) {
+                complete();
+            } else if (out != null) {
+                tee(new byte[]{(byte) b}, 0, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = upstream(() -> super.read(b, off, len));
+            if (n < 0) {
+                complete();
+            } else if (out != null) {
+                tee(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 건너뛴 부분도 캐시 파일에 기록되도록 읽어서 버립니다.
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                // 끝까지 읽혔으면 complete()에서 이미 캐시 항목이 되었고, 아니면 불완전한 임시 파일만 남아 있습니다.
+                discard();
+            } finally {
+                super.close();
+            }
+        }
+
+        /**
+         * upstream 메서드는 API 응답을 읽고, 읽기에 실패하면 본문이 불완전하므로 임시 파일을 버린 뒤 예외를 다시 던집니다.
+         */
+        private int upstream(UpstreamRead read) throws IOException {
+            try {
+                return read.read();
+            } catch (IOException | RuntimeException e) {
+                discard();
+                throw e;
+            }
+        }
+
+        private void tee(byte[] b, int off, int len) {
+            try {
+                out.write(b, off, len);
+                length += len;
+            } catch (IOException e) {
+                logger.warning("Failed to write API cache entry " + key + ": " + e.getMessage());
+                discard();
+            }
+        }
+
+        private void complete() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+                out = null;
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("response too large to cache");
+                }
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    channel.write(ByteBuffer.allocate(4).putInt(0, (int) length), lengthOffset);
+                }
+                commit(key, tmp);
+                tmp = null;
+            } catch (IOException e) {
+                logger.warning("Failed to write API cache entry " + key + ": " + e.getMessage());
+                discard();
+            }
+        }
+
+        private void discard() {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+                if (tmp != null) {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException e) {
+                logger.warning("Failed to remove temporary API cache file " + tmp + ": " + e.getMessage());
+            }
+            out = null;
+            tmp = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface UpstreamRead {
+        int read() throws IOException;
+    }
+
+    private static final class CacheEntry {
+        final long storedAt;
+        final String etag;
+        final String lastModified;
+        final String body;
+
+        CacheEntry(long storedAt, String etag, String lastModified, String body) {
+            this.storedAt = storedAt;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * CrawlEvents 클래스는 크롤링 파이프라인의 사용자 정의 JFR(Java Flight Recorder) 이벤트를 모아 둡니다.
+ * - ApiCall: 네이버 API 호출 하나 (경로, 검색어, 결과, 응답 크기)
+ * - ImageDownload: 기사 하나의 이미지 조회/다운로드
+ * - Notification: 알림 하나의 요청부터 전송 확인까지
+ * - RepositoryOperation: 전송 기록 조회, 기록, 저장, flush
+ * 기록 중이 아닐 때는 shouldCommit()이 false이므로 필드를 채우지 않고 버려집니다.
+ * 예: java -XX:StartFlightRecording=filename=crawl.jfr,settings=profile ... 후 jfr print --events com.example.newscrawler.* crawl.jfr
+ */
+
+package com.example.newscrawler.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+public final class CrawlEvents {
+    private CrawlEvents() {
+    }
+
+    @Name("com.example.newscrawler.ApiCall")
+    @Label("API Call")
+    @Category({"News Crawler", "API"})
+    @StackTrace(false)
+    static final class ApiCall extends Event {
+        @Label("Path")
+        String path;
+        @Label("Query")
+        String query;
+        @Label("Start")
+        int start;
+        @Label("Sort")
+        String sort;
+        @Label("Outcome")
+        String outcome;
+        @Label("Response Size")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("com.example.newscrawler.ImageDownload")
+    @Label("Image Download")
+    @Category({"News Crawler", "Pipeline"})
+    @StackTrace(false)
+    static final class ImageDownload extends Event {
+        @Label("News Title")
+        String title;
+        @Label("File Name")
+        String fileName;
+    }
+
+    @Name("com.example.newscrawler.Notification")
+    @Label("Notification")
+    @Category({"News Crawler", "Pipeline"})
+    @StackTrace(false)
+    static final class Notification extends Event {
+        @Label("News Title")
+        String title;
+        @Label("Article Link")
+        String link;
+        @Label("Outcome")
+        String outcome;
+    }
+
+    @Name("com.example.newscrawler.RepositoryOperation")
+    @Label("Repository Operation")
+    @Category({"News Crawler", "Repository"})
+    @StackTrace(false)
+    static final class RepositoryOperation extends Event {
+        @Label("Operation")
+        String operation;
+        @Label("Items")
+        int items;
+    }
+}
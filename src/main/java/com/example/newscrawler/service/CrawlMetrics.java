@@ -0,0 +1,283 @@
+/**
+ * CrawlMetrics 클래스는 크롤링 파이프라인의 카운터와 지연 시간 히스토그램을 모아 Prometheus 텍스트 형식으로 내보냅니다.
+ * - 카운터는 LongAdder, 히스토그램은 고정 구간(bucket)별 LongAdder로 구현되어 기록 시 잠금이나 정렬이 없습니다.
+ *   운영 환경에서 항상 켜 두어도 호출당 비용은 해시 조회 두 번과 덧셈 정도입니다.
+ * - 다른 구성 요소가 이미 세고 있는 값(캐시 적중 수, 할당량 사용량 등)은 register()로 등록하면 내보낼 때 읽습니다.
+ * - writeFile()은 현재 값을 텍스트 파일로 원자적으로 기록하고(node_exporter textfile 수집기 등에서 사용),
+ *   serve()는 /metrics HTTP 엔드포인트를 엽니다. exportPeriodically()는 상주 모드에서 파일을 주기적으로 갱신합니다.
+ * 측정 이름과 설명은 이 클래스에 모아 두며, 계측 데코레이터(Instrumented*)와 NewsService가 이 이름으로 값을 기록합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+public class CrawlMetrics implements AutoCloseable {
+    public static final String API_REQUEST_DURATION = "newscrawler_api_request_duration_seconds";
+    public static final String API_REQUESTS = "newscrawler_api_requests_total";
+    public static final String API_RESPONSE_BYTES = "newscrawler_api_response_bytes_total";
+    public static final String API_CACHE_REQUESTS = "newscrawler_api_cache_requests_total";
+    public static final String API_QUOTA_USED = "newscrawler_api_quota_used";
+    public static final String API_CONCURRENCY_LIMIT = "newscrawler_api_concurrency_limit";
+    public static final String ITEMS = "newscrawler_items_total";
+    public static final String ROUTED = "newscrawler_routed_total";
+    public static final String IMAGE_DURATION = "newscrawler_image_duration_seconds";
+    public static final String IMAGES = "newscrawler_images_total";
+    public static final String IMAGE_SOURCE = "newscrawler_image_source_total";
+    public static final String IMAGE_STORE = "newscrawler_image_store_total";
+    public static final String IMAGE_DOWNLOAD_BYTES = "newscrawler_image_download_bytes_total";
+    public static final String IMAGE_STORED_BYTES = "newscrawler_image_stored_bytes_total";
+    public static final String NOTIFICATION_DURATION = "newscrawler_notification_duration_seconds";
+    public static final String NOTIFICATIONS = "newscrawler_notifications_total";
+    public static final String REPOSITORY_DURATION = "newscrawler_repository_duration_seconds";
+    public static final String REPOSITORY_ITEMS = "newscrawler_repository_items_total";
+    public static final String JOURNAL_RECORDS = "newscrawler_journal_records_total";
+    public static final String JOURNAL_SYNCS = "newscrawler_journal_syncs_total";
+
+    // 히스토그램 구간 상한(초): 캐시된 로컬 호출부터 느린 외부 호출까지
+    private static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private final Logger logger;
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ScheduledExecutorService exporter;
+
+    public CrawlMetrics(Logger logger) {
+        this.logger = logger;
+        describe(API_REQUEST_DURATION, "histogram", "Naver API call latency by path (streams: until the body is closed)");
+        describe(API_REQUESTS, "counter", "Naver API calls by path and outcome");
+        describe(API_RESPONSE_BYTES, "counter", "Naver API response body bytes by path");
+        describe(API_CACHE_REQUESTS, "counter", "API response cache lookups by result");
+        describe(API_QUOTA_USED, "gauge", "Naver API requests used today");
+        describe(API_CONCURRENCY_LIMIT, "gauge", "Current adaptive API concurrency limit");
+        describe(ITEMS, "counter", "News items by pipeline stage");
+        describe(ROUTED, "counter", "Notifications requested by subscription");
+        describe(IMAGE_DURATION, "histogram", "Image lookup and download latency per article");
+        describe(IMAGES, "counter", "Image lookups by outcome");
+        describe(IMAGE_SOURCE, "counter", "Downloaded images by where the image URL came from");
+        describe(IMAGE_STORE, "counter", "Image store lookups and writes by result");
+        describe(IMAGE_DOWNLOAD_BYTES, "counter", "Image bytes downloaded");
+        describe(IMAGE_STORED_BYTES, "counter", "Image bytes written to the image store after compression");
+        describe(NOTIFICATION_DURATION, "histogram", "Time from notification request to delivery");
+        describe(NOTIFICATIONS, "counter", "Notifications by outcome");
+        describe(REPOSITORY_DURATION, "histogram", "Repository operation latency by operation");
+        describe(REPOSITORY_ITEMS, "counter", "Articles written by repository operation");
+        describe(JOURNAL_RECORDS, "counter", "State transition records appended to the news journal");
+        describe(JOURNAL_SYNCS, "counter", "News journal fsyncs (one per committed group of records)");
+    }
+
+    /**
+     * add 메서드는 카운터에 값을 더합니다.
+     *
+     * @param name   측정 이름
+     * @param labels Prometheus 레이블 목록 (예: path="news.json"), 없으면 빈 문자열
+     * @param delta  더할 값
+     */
+    public void add(String name, String labels, long delta) {
+        ((LongAdder) family(name).series.computeIfAbsent(labels, key -> new LongAdder())).add(delta);
+    }
+
+    public void increment(String name, String labels) {
+        add(name, labels, 1);
+    }
+
+    /**
+     * observe 메서드는 히스토그램에 소요 시간 하나를 기록합니다.
+     *
+     * @param name   측정 이름
+     * @param labels Prometheus 레이블 목록
+     * @param nanos  소요 시간(나노초)
+     */
+    public void observe(String name, String labels, long nanos) {
+        ((Histogram) family(name).series.computeIfAbsent(labels, key -> new Histogram())).observe(nanos);
+    }
+
+    /**
+     * register 메서드는 다른 구성 요소가 관리하는 값을 내보낼 때 읽도록 등록합니다.
+     */
+    public void register(String name, String labels, LongSupplier supplier) {
+        family(name).series.put(labels, supplier);
+    }
+
+    /**
+     * label 메서드는 Prometheus 레이블 하나를 값 이스케이프와 함께 만듭니다.
+     */
+    public static String label(String key, String value) {
+        StringBuilder sb = new StringBuilder(key.length() + value.length() + 3).append(key).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * scrape 메서드는 모든 측정값을 Prometheus 텍스트 형식(0.0.4)으로 반환합니다.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Map.Entry<String, Family> entry : new TreeMap<>(families).entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            if (family.series.isEmpty()) {
+                continue;
+            }
+            out.append("# HELP ").append(name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(family.type).append('\n');
+            for (Map.Entry<String, Object> series : new TreeMap<>(family.series).entrySet()) {
+                String labels = series.getKey();
+                Object value = series.getValue();
+                if (value instanceof Histogram) {
+                    ((Histogram) value).appendTo(out, name, labels);
+                } else {
+                    long current = value instanceof LongAdder ? ((LongAdder) value).sum() : ((LongSupplier) value).getAsLong();
+                    appendSample(out, name, labels, Long.toString(current));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * writeFile 메서드는 현재 측정값을 파일에 기록합니다. 임시 파일에 쓴 뒤 교체하므로 읽는 쪽이 반쯤 쓰인 파일을 보지 않습니다.
+     */
+    public void writeFile(Path file) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, scrape(), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("Failed to write metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * serve 메서드는 주어진 포트에서 /metrics 엔드포인트를 엽니다. 요청은 가상 스레드에서 처리됩니다.
+     */
+    public synchronized void serve(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        logger.info("Serving metrics on http://localhost:" + port + "/metrics");
+    }
+
+    /**
+     * exportPeriodically 메서드는 period마다 측정값을 파일에 기록합니다. 상주 모드에서 사용합니다.
+     */
+    public synchronized void exportPeriodically(Path file, Duration period) {
+        exporter = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("metrics-export").factory());
+        exporter.scheduleAtFixedRate(() -> writeFile(file), period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (exporter != null) {
+            exporter.shutdownNow();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private void describe(String name, String type, String help) {
+        families.put(name, new Family(type, help));
+    }
+
+    private Family family(String name) {
+        Family family = families.get(name);
+        if (family == null) {
+            throw new IllegalArgumentException("Unknown metric: " + name);
+        }
+        return family;
+    }
+
+    private static void appendSample(StringBuilder out, String name, String labels, String value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static final class Family {
+        final String type;
+        final String help;
+        final ConcurrentMap<String, Object> series = new ConcurrentHashMap<>();
+
+        Family(String type, String help) {
+            this.type = type;
+            this.help = help;
+        }
+    }
+
+    private static final class Histogram {
+        private final long[] boundsNanos = new long[BUCKETS.length];
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+        private final LongAdder sumNanos = new LongAdder();
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS.length; i++) {
+                boundsNanos[i] = (long) (BUCKETS[i] * 1_000_000_000L);
+            }
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void observe(long nanos) {
+            int bucket = 0;
+            while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+            sumNanos.add(nanos);
+        }
+
+        void appendTo(StringBuilder out, String name, String labels) {
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i].sum();
+                String le = i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf";
+                appendSample(out, name + "_bucket", prefix + "le=\"" + le + "\"", Long.toString(cumulative));
+            }
+            appendSample(out, name + "_sum", labels, Double.toString(sumNanos.sum() / 1e9));
+            appendSample(out, name + "_count", labels, Long.toString(cumulative));
+        }
+    }
+}
@@ -2,4 +2,20 @@ package com.example.newscrawler.service;
 
 public interface ImageDownloader {
     String downloadImage(String newsTitle);
+
+    /**
+     * downloadImage 메서드는 기사 주소를 함께 받아, 구현체가 기사 페이지에서 대표 이미지를 찾을 수 있도록 합니다.
+     * 기본 구현은 제목만으로 이미지를 찾습니다.
+     */
+    default String downloadImage(String newsTitle, String articleLink) {
+        return downloadImage(newsTitle);
+    }
+
+    /**
+     * thumbnailFor 메서드는 downloadImage가 반환한 이미지의 미리보기용 썸네일 파일명을 반환합니다.
+     * 썸네일을 만들지 않는 구현은 원래 파일명을 그대로 반환합니다.
+     */
+    default String thumbnailFor(String fileName) {
+        return fileName;
+    }
 }
@@ -1,63 +1,177 @@
+/**
+ * ImageServiceImpl 클래스는 기사 대표 이미지를 찾아 ContentAddressedImageStore에 저장하는 ImageDownloader 구현체입니다.
+ * - 기사 주소가 있으면 OpenGraphImageExtractor로 기사 페이지의 <head>만 읽어 og:image를 찾습니다.
+ *   기사에 실린 사진을 그대로 쓰므로 검색 결과의 엉뚱한 사진이 붙지 않고, 기사당 검색 API 호출이 필요 없습니다.
+ * - og:image를 찾지 못하거나 기사 페이지 요청이 실패하면 뉴스 제목으로 이미지 검색 API를 호출하여 첫 번째 결과를 사용합니다.
+ * - 어느 경로로 이미지를 찾았는지는 getOpenGraphImages(), getSearchImages()로 집계합니다.
+ */
+
 package com.example.newscrawler.service;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-import java.io.File;
+import com.example.newscrawler.repository.ContentAddressedImageStore;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.Path;
-import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
 public class ImageServiceImpl implements ImageDownloader {
     private final ApiClient apiClient;
     private final Logger logger;
-    private final HttpClient client = HttpClient.newHttpClient();
+    private final ContentAddressedImageStore imageStore;
+    private final HttpClient client;
+    private final OpenGraphImageExtractor openGraphImageExtractor;
+    private final LongAdder openGraphImages = new LongAdder();
+    private final LongAdder searchImages = new LongAdder();
 
     public ImageServiceImpl(ApiClient apiClient, Logger logger) {
+        this(apiClient, logger, new ContentAddressedImageStore(Path.of("images"), logger));
+    }
+
+    public ImageServiceImpl(ApiClient apiClient, Logger logger, ContentAddressedImageStore imageStore) {
+        this(apiClient, logger, imageStore,
+                HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build());
+    }
+
+    /**
+     * @param client 기사 페이지와 이미지를 받을 HttpClient. 연결을 재사용하도록 다른 구성 요소와 공유합니다.
+     */
+    public ImageServiceImpl(ApiClient apiClient, Logger logger, ContentAddressedImageStore imageStore, HttpClient client) {
         this.apiClient = apiClient;
         this.logger = logger;
+        this.imageStore = imageStore;
+        this.client = client;
+        this.openGraphImageExtractor = new OpenGraphImageExtractor(client, logger);
     }
 
+    /**
+     * downloadImage 메서드는 뉴스 제목으로 이미지를 검색하여 첫 번째 결과를 이미지 저장소에 저장합니다.
+     * 같은 제목이나 같은 이미지 URL로 이미 저장된 이미지가 있으면 다시 다운로드하지 않습니다.
+     *
+     * @param newsTitle 뉴스 제목
+     * @return 저장된 이미지 파일명 ("해시.확장자"), 실패 시 빈 문자열
+     */
     @Override
     public String downloadImage(String newsTitle) {
-        try {
-            // 뉴스 제목을 쿼리로 하여 이미지 API 호출 (결과 1개)
-            String imageResponse = apiClient.getData("image", newsTitle, 1, 1, "sim");
-            JSONObject imageJson = new JSONObject(imageResponse);
-            JSONArray items = imageJson.getJSONArray("items");
-            if (items.length() > 0) {
-                JSONObject firstImage = items.getJSONObject(0);
-                String imageLink = firstImage.getString("link").split("\\?")[0];
-
-                // 뉴스 제목을 기반으로 안전한 파일명 생성
-                String sanitizedTitle = newsTitle.replaceAll("[^a-zA-Z0-9가-힣]", "_");
-                if (sanitizedTitle.length() > 20) {
-                    sanitizedTitle = sanitizedTitle.substring(0, 20);
-                }
-                String[] parts = imageLink.split("\\.");
-                String ext = parts[parts.length - 1];
-                String imageFileName = String.format("%d_%s_image.%s", new Date().getTime(), sanitizedTitle, ext);
-
-                // images 폴더 생성 (없으면)
-                File imagesDir = new File("images");
-                if (!imagesDir.exists()) {
-                    imagesDir.mkdir();
+        return downloadImage(newsTitle, null);
+    }
+
+    /**
+     * downloadImage 메서드는 기사 페이지의 og:image를 이미지 저장소에 저장하고,
+     * 찾지 못하면 뉴스 제목으로 이미지를 검색하여 첫 번째 결과를 저장합니다.
+     * 같은 제목이나 같은 이미지 URL로 이미 저장된 이미지가 있으면 다시 다운로드하지 않습니다.
+     *
+     * @param newsTitle   뉴스 제목
+     * @param articleLink 기사 주소, 없으면 null
+     * @return 저장된 이미지 파일명 ("해시.확장자"), 실패 시 빈 문자열
+     */
+    @Override
+    public String downloadImage(String newsTitle, String articleLink) {
+        String known = imageStore.findByTitle(newsTitle);
+        if (known != null) {
+            return known;
+        }
+
+        if (articleLink != null && !articleLink.isEmpty()) {
+            try {
+                String imageLink = openGraphImageExtractor.find(articleLink);
+                if (imageLink != null) {
+                    // og:image의 쿼리는 크기 지정(type=w800 등)이나 서명일 수 있으므로 그대로 사용
+                    String fileName = fetchAndStore(imageLink, newsTitle);
+                    openGraphImages.increment();
+                    return fileName;
                 }
+                logger.fine("No og:image, falling back to image search: " + articleLink);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "";
+            } catch (Exception e) {
+                logger.warning("og:image lookup failed, falling back to image search: " + e.getMessage());
+            }
+        }
 
-                String imagePathString = "images/" + imageFileName;
-                HttpRequest imageRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(imageLink))
-                        .build();
-                client.send(imageRequest, HttpResponse.BodyHandlers.ofFile(Path.of(imagePathString)));
-                logger.info("Saved image: " + imagePathString);
-                return imageFileName;
+        try {
+            // 뉴스 제목을 쿼리로 하여 이미지 API 호출 (결과 1개)
+            String firstLink = readFirstImageLink(apiClient.getStream("image", newsTitle, 1, 1, "sim"));
+            if (firstLink != null) {
+                String fileName = fetchAndStore(NewsTextNormalizer.stripQuery(firstLink), newsTitle);
+                searchImages.increment();
+                return fileName;
             }
         } catch (Exception e) {
             logger.warning("Image download failed: " + e.getMessage());
         }
         return "";
     }
+
+    public long getOpenGraphImages() {
+        return openGraphImages.sum();
+    }
+
+    public long getSearchImages() {
+        return searchImages.sum();
+    }
+
+    /**
+     * fetchAndStore 메서드는 이미지를 내려받아 저장소에 저장합니다. 같은 URL로 저장된 이미지가 있으면 재사용합니다.
+     *
+     * @return 저장된 이미지 파일명
+     */
+    private String fetchAndStore(String imageLink, String newsTitle) throws Exception {
+        String stored = imageStore.findByUrl(imageLink);
+        if (stored != null) {
+            imageStore.record(stored, imageLink, newsTitle);
+            logger.info("Reused image: " + stored);
+            return stored;
+        }
+
+        HttpRequest imageRequest = HttpRequest.newBuilder()
+                .uri(URI.create(imageLink))
+                .build();
+        HttpResponse<InputStream> response = client.send(imageRequest, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new Exception("Image request failed with status " + response.statusCode() + ": " + imageLink);
+        }
+        return imageStore.store(response.body(), imageLink, newsTitle);
+    }
+
+    @Override
+    public String thumbnailFor(String fileName) {
+        return imageStore.thumbnailFor(fileName);
+    }
+
+    /**
+     * readFirstImageLink 메서드는 이미지 검색 응답 스트림에서 첫 번째 결과의 link만 읽고 나머지는 읽지 않습니다.
+     *
+     * @param in 이미지 검색 API 응답 스트림 (이 메서드에서 닫힙니다)
+     * @return 첫 번째 이미지 링크, 결과가 없으면 null
+     */
+    private static String readFirstImageLink(InputStream in) throws Exception {
+        try (JsonPullParser parser = new JsonPullParser(in)) {
+            parser.beginObject();
+            while (parser.hasNext()) {
+                if (!"items".equals(parser.nextName())) {
+                    parser.skipValue();
+                    continue;
+                }
+                parser.beginArray();
+                if (!parser.hasNext()) {
+                    return null;
+                }
+                parser.beginObject();
+                while (parser.hasNext()) {
+                    if ("link".equals(parser.nextName())) {
+                        return parser.nextString();
+                    }
+                    parser.skipValue();
+                }
+                return null;
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/**
+ * InstrumentedApiClient 클래스는 ApiClient를 감싸 호출마다 지연 시간, 결과, 응답 크기를 CrawlMetrics와 JFR에 기록하는 데코레이터입니다.
+ * - 결과(outcome)는 ok, not_modified(304), throttled(429), error로 구분합니다.
+ * - 스트림 응답은 호출자가 본문을 끝까지 읽고 닫을 때 기록하므로, 지연 시간에는 본문 전송 시간이 포함되고 응답 크기는 실제로 읽은 바이트 수입니다.
+ * 실제 네트워크 호출(ApiClientImpl) 바로 바깥에 두면 재시도를 포함한 실제 API 할당량 사용을 경로별로 볼 수 있습니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class InstrumentedApiClient implements ApiClient {
+    private final ApiClient delegate;
+    private final CrawlMetrics metrics;
+
+    public InstrumentedApiClient(ApiClient delegate, CrawlMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getData(String path, String query, int display, int start, String sort) throws Exception {
+        CrawlEvents.ApiCall event = new CrawlEvents.ApiCall();
+        event.begin();
+        long startNanos = System.nanoTime();
+        try {
+            String body = delegate.getData(path, query, display, start, sort);
+            record(event, startNanos, path, query, start, sort, "ok", utf8Length(body));
+            return body;
+        } catch (Exception e) {
+            record(event, startNanos, path, query, start, sort, outcome(e), 0);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getStream(String path, String query, int display, int start, String sort) throws Exception {
+        CrawlEvents.ApiCall event = new CrawlEvents.ApiCall();
+        event.begin();
+        long startNanos = System.nanoTime();
+        InputStream body;
+        try {
+            body = delegate.getStream(path, query, display, start, sort);
+        } catch (Exception e) {
+            record(event, startNanos, path, query, start, sort, outcome(e), 0);
+            throw e;
+        }
+        return recordOnClose(body, event, startNanos, path, query, start, sort);
+    }
+
+    @Override
+    public ApiResponse getConditional(String path, String query, int display, int start, String sort,
+                                      String etag, String lastModified) throws Exception {
+        CrawlEvents.ApiCall event = new CrawlEvents.ApiCall();
+        event.begin();
+        long startNanos = System.nanoTime();
+        try {
+            ApiResponse response = delegate.getConditional(path, query, display, start, sort, etag, lastModified);
+            record(event, startNanos, path, query, start, sort,
+                    response.isNotModified() ? "not_modified" : "ok", utf8Length(response.getBody()));
+            return response;
+        } catch (Exception e) {
+            record(event, startNanos, path, query, start, sort, outcome(e), 0);
+            throw e;
+        }
+    }
+
+    @Override
+    public ApiResponse getConditionalStream(String path, String query, int display, int start, String sort,
+                                            String etag, String lastModified) throws Exception {
+        CrawlEvents.ApiCall event = new CrawlEvents.ApiCall();
+        event.begin();
+        long startNanos = System.nanoTime();
+        ApiResponse response;
+        try {
+            response = delegate.getConditionalStream(path, query, display, start, sort, etag, lastModified);
+        } catch (Exception e) {
+            record(event, startNanos, path, query, start, sort, outcome(e), 0);
+            throw e;
+        }
+        if (response.isNotModified()) {
+            record(event, startNanos, path, query, start, sort, "not_modified", 0);
+            return response;
+        }
+        return ApiResponse.streamed(response.getStatusCode(),
+                recordOnClose(response.getBodyStream(), event, startNanos, path, query, start, sort),
+                response.getEtag(), response.getLastModified());
+    }
+
+    /**
+     * recordOnClose 메서드는 본문 스트림을 감싸 읽은 바이트 수를 세고, 처음 닫힐 때 호출 결과를 기록합니다.
+     */
+    private InputStream recordOnClose(InputStream body, CrawlEvents.ApiCall event, long startNanos,
+                                      String path, String query, int start, String sort) {
+        return new FilterInputStream(body) {
+            private long bytes;
+            private boolean closed;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytes++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    bytes += n;
+                }
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    record(event, startNanos, path, query, start, sort, "ok", bytes);
+                }
+                super.close();
+            }
+        };
+    }
+
+    private void record(CrawlEvents.ApiCall event, long startNanos, String path, String query, int start,
+                        String sort, String outcome, long bytes) {
+        String pathLabel = CrawlMetrics.label("path", path);
+        metrics.observe(CrawlMetrics.API_REQUEST_DURATION, pathLabel, System.nanoTime() - startNanos);
+        metrics.increment(CrawlMetrics.API_REQUESTS, pathLabel + "," + CrawlMetrics.label("outcome", outcome));
+        if (bytes > 0) {
+            metrics.add(CrawlMetrics.API_RESPONSE_BYTES, pathLabel, bytes);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.query = query;
+            event.start = start;
+            event.sort = sort;
+            event.outcome = outcome;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    private static String outcome(Exception e) {
+        if (e instanceof ApiException && ((ApiException) e).getStatusCode() == 429) {
+            return "throttled";
+        }
+        return "error";
+    }
+
+    /**
+     * utf8Length 메서드는 문자열을 인코딩하지 않고 UTF-8 바이트 수를 계산합니다.
+     */
+    static long utf8Length(String s) {
+        if (s == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
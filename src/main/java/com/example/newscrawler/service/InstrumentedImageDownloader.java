@@ -0,0 +1,45 @@
+/**
+ * InstrumentedImageDownloader 클래스는 ImageDownloader를 감싸 기사별 이미지 조회/다운로드 시간과 결과를 기록하는 데코레이터입니다.
+ * - 결과(outcome)는 이미지 파일명을 얻은 경우 found, 빈 문자열(검색 결과 없음 또는 실패)이면 missing입니다.
+ * - 다운로드한 바이트 수와 저장소 재사용 여부는 ContentAddressedImageStore의 집계를 CrawlMetrics에 등록하여 내보냅니다.
+ */
+
+package com.example.newscrawler.service;
+
+public class InstrumentedImageDownloader implements ImageDownloader {
+    private final ImageDownloader delegate;
+    private final CrawlMetrics metrics;
+
+    public InstrumentedImageDownloader(ImageDownloader delegate, CrawlMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String downloadImage(String newsTitle) {
+        return downloadImage(newsTitle, null);
+    }
+
+    @Override
+    public String downloadImage(String newsTitle, String articleLink) {
+        CrawlEvents.ImageDownload event = new CrawlEvents.ImageDownload();
+        event.begin();
+        long startNanos = System.nanoTime();
+        String fileName = articleLink == null ? delegate.downloadImage(newsTitle)
+                : delegate.downloadImage(newsTitle, articleLink);
+        metrics.observe(CrawlMetrics.IMAGE_DURATION, "", System.nanoTime() - startNanos);
+        metrics.increment(CrawlMetrics.IMAGES, fileName.isEmpty() ? "outcome=\"missing\"" : "outcome=\"found\"");
+        event.end();
+        if (event.shouldCommit()) {
+            event.title = newsTitle;
+            event.fileName = fileName;
+            event.commit();
+        }
+        return fileName;
+    }
+
+    @Override
+    public String thumbnailFor(String fileName) {
+        return delegate.thumbnailFor(fileName);
+    }
+}
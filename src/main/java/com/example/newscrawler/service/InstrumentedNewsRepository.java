@@ -0,0 +1,100 @@
+/**
+ * InstrumentedNewsRepository 클래스는 NewsRepository를 감싸 저장소 작업별 소요 시간과 기록한 기사 수를 측정하는 데코레이터입니다.
+ * - 작업(operation)은 load(getSentArticles), mark(markArticleAsSent), save(saveNews), flush,
+ *   journal(beginDelivery, recordDelivery)로 구분합니다.
+ * - 반환된 전송 기록 집합은 그대로 전달하므로, 집합 조회 비용은 구현체의 특성(HashSet, 매핑된 색인)을 그대로 따릅니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.repository.NewsRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class InstrumentedNewsRepository implements NewsRepository {
+    private final NewsRepository delegate;
+    private final CrawlMetrics metrics;
+
+    public InstrumentedNewsRepository(NewsRepository delegate, CrawlMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Set<String> getSentArticles() {
+        CrawlEvents.RepositoryOperation event = begin();
+        long startNanos = System.nanoTime();
+        Set<String> sentArticles = delegate.getSentArticles();
+        record(event, startNanos, "load", 0);
+        return sentArticles;
+    }
+
+    @Override
+    public void markArticleAsSent(String articleLink) {
+        CrawlEvents.RepositoryOperation event = begin();
+        long startNanos = System.nanoTime();
+        delegate.markArticleAsSent(articleLink);
+        record(event, startNanos, "mark", 1);
+    }
+
+    @Override
+    public void saveNews(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        CrawlEvents.RepositoryOperation event = begin();
+        long startNanos = System.nanoTime();
+        delegate.saveNews(newsItems, newsImages);
+        record(event, startNanos, "save", newsItems.size());
+    }
+
+    @Override
+    public void flush() {
+        CrawlEvents.RepositoryOperation event = begin();
+        long startNanos = System.nanoTime();
+        delegate.flush();
+        record(event, startNanos, "flush", 0);
+    }
+
+    @Override
+    public void beginDelivery(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        CrawlEvents.RepositoryOperation event = begin();
+        long startNanos = System.nanoTime();
+        delegate.beginDelivery(newsItems, newsImages);
+        record(event, startNanos, "journal", 0);
+    }
+
+    @Override
+    public void recordDelivery(List<NewsItem> delivered, List<NewsItem> failed) {
+        CrawlEvents.RepositoryOperation event = begin();
+        long startNanos = System.nanoTime();
+        delegate.recordDelivery(delivered, failed);
+        record(event, startNanos, "journal", 0);
+    }
+
+    private static CrawlEvents.RepositoryOperation begin() {
+        CrawlEvents.RepositoryOperation event = new CrawlEvents.RepositoryOperation();
+        event.begin();
+        return event;
+    }
+
+    private void record(CrawlEvents.RepositoryOperation event, long startNanos, String operation, int items) {
+        String labels = "operation=\"" + operation + "\"";
+        metrics.observe(CrawlMetrics.REPOSITORY_DURATION, labels, System.nanoTime() - startNanos);
+        if (items > 0) {
+            metrics.add(CrawlMetrics.REPOSITORY_ITEMS, labels, items);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.items = items;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Instant getCanonicalLinksSince() {
+        return delegate.getCanonicalLinksSince();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * InstrumentedNotifier 클래스는 Notifier를 감싸 알림 요청부터 전송 확인까지의 시간과 결과를 기록하는 데코레이터입니다.
+ * - notifyAsync의 Future가 완료될 때 delivered 또는 failed로 집계하므로, 모아 보내기나 재시도로 늦어진 시간도 포함됩니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public class InstrumentedNotifier implements Notifier {
+    private final Notifier delegate;
+    private final CrawlMetrics metrics;
+
+    public InstrumentedNotifier(Notifier delegate, CrawlMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void notify(String title, String articleLink, String imageUrl) {
+        long startNanos = System.nanoTime();
+        delegate.notify(title, articleLink, imageUrl);
+        metrics.observe(CrawlMetrics.NOTIFICATION_DURATION, "", System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public CompletableFuture<Void> notifyAsync(String title, String articleLink, String imageUrl) {
+        CrawlEvents.Notification event = new CrawlEvents.Notification();
+        event.begin();
+        long startNanos = System.nanoTime();
+        return delegate.notifyAsync(title, articleLink, imageUrl).whenComplete((ignored, error) -> {
+            String outcome = error == null ? "delivered" : "failed";
+            metrics.observe(CrawlMetrics.NOTIFICATION_DURATION, "", System.nanoTime() - startNanos);
+            metrics.increment(CrawlMetrics.NOTIFICATIONS, CrawlMetrics.label("outcome", outcome));
+            event.end();
+            if (event.shouldCommit()) {
+                event.title = title;
+                event.link = articleLink;
+                event.outcome = outcome;
+                event.commit();
+            }
+        });
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * JsonPullParser 클래스는 JSON 문서를 앞에서부터 한 토큰씩 읽어 나가는 풀(pull) 방식 파서입니다.
+ * - 응답 본문 전체를 String이나 JSONObject 트리로 만들지 않고, 호출자가 필요한 필드만 꺼내도록 합니다.
+ * - 필요 없는 값은 skipValue()로 문자열을 만들지 않고 건너뜁니다.
+ * - 문자열 읽기에는 하나의 StringBuilder를 재사용하고, 입력은 고정 크기 char 버퍼로 읽습니다.
+ * - 호출자는 원하는 값을 찾은 뒤 close()로 나머지 입력을 읽지 않고 종료할 수 있습니다.
+ * 네이버 검색 API 응답처럼 구조가 알려진 문서를 읽는 용도로, 문법 오류는 IOException으로 보고합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+public class JsonPullParser implements Closeable {
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder text = new StringBuilder();
+    private int pos;
+    private int limit;
+
+    public JsonPullParser(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    public JsonPullParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    public void beginObject() throws IOException {
+        expect('{');
+    }
+
+    public void endObject() throws IOException {
+        expect('}');
+    }
+
+    public void beginArray() throws IOException {
+        expect('[');
+    }
+
+    public void endArray() throws IOException {
+        expect(']');
+    }
+
+    /**
+     * hasNext 메서드는 현재 객체나 배열에 읽을 요소가 남아 있는지 확인합니다.
+     * 요소 사이의 쉼표는 이 메서드에서 소비됩니다.
+     */
+    public boolean hasNext() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == ',') {
+            pos++;
+            c = peekNonWhitespace();
+        }
+        return c != '}' && c != ']' && c != -1;
+    }
+
+    public String nextName() throws IOException {
+        String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * nextString 메서드는 다음 값을 문자열로 읽습니다.
+     * 숫자와 true/false는 원문 그대로 반환하고, null은 null로 반환합니다.
+     */
+    public String nextString() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == '"') {
+            pos++;
+            readString(true);
+            return text.toString();
+        }
+        readLiteral(true);
+        String literal = text.toString();
+        return "null".equals(literal) ? null : literal;
+    }
+
+    /**
+     * endDocument 메서드는 최상위 값 뒤에 공백 외의 입력이 없는지 확인합니다.
+     * 입력을 끝(EOF)까지 읽으므로, 끝까지 읽혀야 완료되는 스트림(CachingApiClient의 캐시 기록 등)이 완료됩니다.
+     */
+    public void endDocument() throws IOException {
+        int c = peekNonWhitespace();
+        if (c != -1) {
+            throw new IOException("Expected end of input but found " + describe(c));
+        }
+    }
+
+    public int nextInt() throws IOException {
+        return Integer.parseInt(nextString());
+    }
+
+    /**
+     * skipValue 메서드는 다음 값(객체와 배열 포함)을 문자열로 만들지 않고 건너뜁니다.
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int c = peekNonWhitespace();
+            if (c == -1) {
+                throw new IOException("Unexpected end of JSON input");
+            }
+            if (c == '{' || c == '[') {
+                pos++;
+                depth++;
+            } else if (c == '}' || c == ']') {
+                pos++;
+                depth--;
+            } else if (c == '"') {
+                pos++;
+                readString(false);
+            } else if (c == ',' || c == ':') {
+                pos++;
+                continue;
+            } else {
+                readLiteral(false);
+            }
+        } while (depth > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = peekNonWhitespace();
+        if (c != expected) {
+            throw new IOException("Expected '" + expected + "' but found " + describe(c));
+        }
+        pos++;
+    }
+
+    private void readString(boolean keep) throws IOException {
+        text.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) {
+                throw new IOException("Unterminated JSON string");
+            }
+            char c = buffer[pos++];
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                if (pos == limit && !fill()) {
+                    throw new IOException("Unterminated JSON escape");
+                }
+                char escaped = buffer[pos++];
+                if (escaped == 'u') {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        if (pos == limit && !fill()) {
+                            throw new IOException("Unterminated JSON unicode escape");
+                        }
+                        code = (code << 4) | Character.digit(buffer[pos++], 16);
+                    }
+                    c = (char) code;
+                } else {
+                    switch (escaped) {
+                        case 'n': c = '\n'; break;
+                        case 't': c = '\t'; break;
+                        case 'r': c = '\r'; break;
+                        case 'b': c = '\b'; break;
+                        case 'f': c = '\f'; break;
+                        default: c = escaped; break;
+                    }
+                }
+            }
+            if (keep) {
+                text.append(c);
+            }
+        }
+    }
+
+    private void readLiteral(boolean keep) throws IOException {
+        text.setLength(0);
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c)) {
+                break;
+            }
+            if (keep) {
+                text.append(c);
+            }
+            pos++;
+        }
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            pos++;
+        }
+        return -1;
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private static String describe(int c) {
+        return c == -1 ? "end of input" : "'" + (char) c + "'";
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * NearDuplicateDetector 클래스는 여러 언론사가 같은 내용을 보도한 기사를 하나의 기사 묶음(story cluster)으로 합칩니다.
+ * - 제목과 설명에서 글자와 숫자만 남긴 뒤 문자 2-gram을 만들고, 이를 64비트 SimHash 서명으로 요약합니다.
+ *   공백이나 조사 차이에 덜 민감하도록 단어 대신 문자 단위 n-gram을 사용하며, 제목은 설명보다 두 배의 가중치를 둡니다.
+ * - 글자나 숫자가 두 개 이상 이어지지 않아 2-gram이 하나도 없는 기사는 서명이 없으므로(NO_SIGNATURE) 비교하지 않고
+ *   그대로 남깁니다. 내용이 비어 있다는 이유로 서로 다른 기사가 하나로 합쳐지지 않도록 합니다.
+ * - 서명을 8비트씩 8개 밴드로 나눈 LSH 색인으로 후보를 찾고, 해밍 거리가 MAX_DISTANCE 이하이면 같은 기사로 봅니다.
+ *   해밍 거리가 7 이하인 두 서명은 적어도 하나의 밴드가 같으므로(비둘기집 원리) 후보 검색에서 빠지지 않습니다.
+ * - 색인은 서명(long[])과 밴드별 연결 리스트(int[])만으로 구성되어, 기사마다 객체를 만들지 않습니다.
+ * - collapse()를 호출할 때마다 색인을 비우고, 최근 전송한 기사의 서명을 먼저 넣은 뒤 입력 기사로 채웁니다.
+ *   따라서 이전 호출(이전 조회나 이전 실행)에서 이미 보낸 기사와 거의 같은 기사도 대표로 남지 않습니다.
+ * - 전송한 기사의 서명은 remember()로 최대 RING_CAPACITY개까지 고리 버퍼에 보관하고, window(기본 3일)가 지나면 쓰지 않습니다.
+ *   전송되지 않은 대표 기사는 보관하지 않으므로, 전송에 실패한 기사는 다음 호출에서 다시 대표가 될 수 있습니다.
+ * - WarmStartSnapshot이 주어지면 "near-duplicates" 구역에서 보관된 서명을 복원하고, saveSnapshot()으로 다시 기록합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.repository.WarmStartSnapshot;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class NearDuplicateDetector {
+    static final int MAX_DISTANCE = 7;
+    private static final int BANDS = 8;
+    private static final int BAND_BITS = 8;
+    private static final int BUCKETS = 1 << BAND_BITS;
+    static final int RING_CAPACITY = 4096;
+    static final long NO_SIGNATURE = 0;
+    private static final String SNAPSHOT_SECTION = "near-duplicates";
+
+    private final Logger logger;
+    private final long windowMillis;
+    private final int[] weights = new int[64];
+    private final int[][] heads = new int[BANDS][BUCKETS];
+    private long[] signatures = new long[256];
+    private int[][] next = new int[BANDS][256];
+    private int size;
+
+    // 최근 전송한 기사의 서명과 전송 시각 (고리 버퍼, ringStart부터 ringSize개)
+    private final long[] ringSignatures = new long[RING_CAPACITY];
+    private final long[] ringSentAt = new long[RING_CAPACITY];
+    private int ringStart;
+    private int ringSize;
+
+    public NearDuplicateDetector(Logger logger) {
+        this(logger, Duration.ofDays(3), null);
+    }
+
+    /**
+     * 전송한 기사를 기억할 기간과 이전 실행의 스냅숏을 지정하여 NearDuplicateDetector를 생성합니다.
+     *
+     * @param window   전송한 기사와 비교할 기간
+     * @param snapshot 이전 실행의 스냅숏 (null이면 빈 상태로 시작합니다)
+     */
+    public NearDuplicateDetector(Logger logger, Duration window, WarmStartSnapshot snapshot) {
+        this.logger = logger;
+        this.windowMillis = window.toMillis();
+        if (snapshot != null) {
+            restore(snapshot.section(SNAPSHOT_SECTION));
+        }
+    }
+
+    /**
+     * collapse 메서드는 입력 순서대로 기사를 살펴보며, 앞서 나온 기사와 거의 같은 기사는 제외합니다.
+     * 각 묶음에서는 처음 나온 기사(최신순으로 정렬된 입력이면 가장 최신 기사)가 대표로 남습니다.
+     *
+     * @param newsItems 정렬된 NewsItem 리스트
+     * @return 묶음별 대표 기사 리스트 (입력 순서 유지)
+     */
+    public synchronized List<NewsItem> collapse(List<NewsItem> newsItems) {
+        reset(newsItems.size() + ringSize);
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        for (int i = 0; i < ringSize; i++) {
+            int slot = (ringStart + i) % RING_CAPACITY;
+            if (ringSentAt[slot] >= cutoff) {
+                add(ringSignatures[slot]);
+            }
+        }
+        int sentStories = size;
+        List<NewsItem> representatives = new ArrayList<>();
+        int alreadySent = 0;
+        for (NewsItem newsItem : newsItems) {
+            long signature = signature(newsItem.getTitle(), newsItem.getDescription());
+            if (signature == NO_SIGNATURE) {
+                representatives.add(newsItem);
+                continue;
+            }
+            int near = findNear(signature);
+            if (near < 0) {
+                add(signature);
+                representatives.add(newsItem);
+            } else if (near < sentStories) {
+                alreadySent++;
+            }
+        }
+        int collapsed = newsItems.size() - representatives.size();
+        if (collapsed > 0) {
+            logger.info("Collapsed " + collapsed + " near-duplicate article(s) into " + representatives.size()
+                    + " stories (" + alreadySent + " of an already sent story)");
+        }
+        return representatives;
+    }
+
+    /**
+     * remember 메서드는 전송한 기사의 서명을 보관하여, 이후 collapse() 호출에서 같은 기사의 다른 보도를 합치게 합니다.
+     * 보관된 서명이 RING_CAPACITY개를 넘으면 가장 오래된 것부터 덮어씁니다.
+     */
+    public synchronized void remember(List<NewsItem> sentItems) {
+        long now = System.currentTimeMillis();
+        for (NewsItem newsItem : sentItems) {
+            long signature = signature(newsItem.getTitle(), newsItem.getDescription());
+            if (signature != NO_SIGNATURE) {
+                remember(signature, now);
+            }
+        }
+    }
+
+    /**
+     * saveSnapshot 메서드는 기간이 지나지 않은 서명을 오래된 순서대로 스냅숏에 기록합니다.
+     * 스냅숏 파일은 호출한 쪽에서 WarmStartSnapshot.write()로 저장합니다.
+     */
+    public synchronized void saveSnapshot(WarmStartSnapshot snapshot) {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        ByteBuffer payload = ByteBuffer.allocate(4 + ringSize * 16);
+        payload.putInt(0);
+        int count = 0;
+        for (int i = 0; i < ringSize; i++) {
+            int slot = (ringStart + i) % RING_CAPACITY;
+            if (ringSentAt[slot] >= cutoff) {
+                payload.putLong(ringSignatures[slot]).putLong(ringSentAt[slot]);
+                count++;
+            }
+        }
+        payload.putInt(0, count);
+        snapshot.put(SNAPSHOT_SECTION, payload.flip());
+    }
+
+    private void remember(long signature, long sentAt) {
+        int slot = (ringStart + ringSize) % RING_CAPACITY;
+        ringSignatures[slot] = signature;
+        ringSentAt[slot] = sentAt;
+        if (ringSize < RING_CAPACITY) {
+            ringSize++;
+        } else {
+            ringStart = (ringStart + 1) % RING_CAPACITY;
+        }
+    }
+
+    private void restore(ByteBuffer section) {
+        if (section == null) {
+            return;
+        }
+        try {
+            int count = section.getInt();
+            for (int i = 0; i < count; i++) {
+                long signature = section.getLong();
+                long sentAt = section.getLong();
+                if (signature != NO_SIGNATURE) {
+                    remember(signature, sentAt);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warning("Ignoring near-duplicate snapshot: " + e.getMessage());
+            ringStart = 0;
+            ringSize = 0;
+        }
+    }
+
+    /**
+     * signature 메서드는 제목과 설명의 문자 2-gram으로 64비트 SimHash 서명을 계산합니다.
+     * 2-gram이 하나도 없으면 NO_SIGNATURE를 반환하고, 계산한 서명이 우연히 NO_SIGNATURE와 같으면 최하위 비트를 켭니다.
+     */
+    long signature(String title, String description) {
+        Arrays.fill(weights, 0);
+        int shingles = addShingles(title, 2) + addShingles(description, 1);
+        if (shingles == 0) {
+            return NO_SIGNATURE;
+        }
+        long signature = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                signature |= 1L << bit;
+            }
+        }
+        return signature == NO_SIGNATURE ? 1 : signature;
+    }
+
+    private int addShingles(String text, int weight) {
+        int shingles = 0;
+        char previous = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            if (previous != 0) {
+                long hash = mix(((long) previous << 16) | c);
+                for (int bit = 0; bit < 64; bit++) {
+                    weights[bit] += ((hash >>> bit) & 1) == 1 ? weight : -weight;
+                }
+                shingles++;
+            }
+            previous = c;
+        }
+        return shingles;
+    }
+
+    private int findNear(long signature) {
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bandValue(signature, band);
+            for (int id = heads[band][bucket]; id >= 0; id = next[band][id]) {
+                if (Long.bitCount(signatures[id] ^ signature) <= MAX_DISTANCE) {
+                    return id;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void add(long signature) {
+        int id = size++;
+        signatures[id] = signature;
+        for (int band = 0; band < BANDS; band++) {
+            int bucket = bandValue(signature, band);
+            next[band][id] = heads[band][bucket];
+            heads[band][bucket] = id;
+        }
+    }
+
+    private void reset(int capacity) {
+        for (int[] head : heads) {
+            Arrays.fill(head, -1);
+        }
+        if (signatures.length < capacity) {
+            signatures = new long[capacity];
+            next = new int[BANDS][capacity];
+        }
+        size = 0;
+    }
+
+    private static int bandValue(long signature, int band) {
+        return (int) (signature >>> (band * BAND_BITS)) & (BUCKETS - 1);
+    }
+
+    private static long mix(long z) {
+        z += 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * NewsCrawlEngine 클래스는 여러 검색어에 대해 네이버 뉴스 검색 결과를 여러 페이지에 걸쳐 수집합니다.
+ * - 페이지당 display=100으로 요청하고, API 한도(start 최대 1000)까지 start 오프셋을 넘기며 조회합니다.
+ * - 다음 경우 해당 검색어의 페이지 조회를 즉시 중단합니다.
+ *   1) 페이지에 최근 3일 이내 기사가 하나도 없거나, 최신순("date") 정렬에서 기준 시각보다 오래된 기사가 나온 경우
+ *   2) 페이지의 최근 기사가 모두 이미 전송된 링크인 경우
+ *   3) 응답 기사 수가 display보다 적어 더 이상 결과가 없는 경우
+ * - 검색어별 페이지 조회는 BoundedStageExecutor의 가상 스레드에서 동시에 진행되어 검색어 간 요청이 교차 실행됩니다.
+ * - 페이지마다 받은 기사 수(fetched)와 기준 시각으로 걸러진 기사 수(filtered), 검색어 간 중복(deduped)을 CrawlMetrics에 기록합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+public class NewsCrawlEngine {
+    static final int MAX_DISPLAY = 100;
+    static final int MAX_START = 1000;
+
+    private final ApiClient apiClient;
+    private final Logger logger;
+    private final int parallelism;
+    private final CrawlMetrics metrics;
+
+    public NewsCrawlEngine(ApiClient apiClient, Logger logger, int parallelism) {
+        this(apiClient, logger, parallelism, new CrawlMetrics(logger));
+    }
+
+    public NewsCrawlEngine(ApiClient apiClient, Logger logger, int parallelism, CrawlMetrics metrics) {
+        this.apiClient = apiClient;
+        this.logger = logger;
+        this.parallelism = parallelism;
+        this.metrics = metrics;
+    }
+
+    /**
+     * crawl 메서드는 모든 검색어를 동시에 페이지 단위로 조회하고, 최근 3일 이내 기사를 중복 없이 모아 반환합니다.
+     * 결과는 검색어 순서, 페이지 순서를 따르며 같은 링크의 기사는 처음 발견된 것만 유지됩니다.
+     * 한 검색어의 조회가 실패해도 다른 검색어의 결과는 그대로 반환됩니다.
+     *
+     * @param keywords     검색어 목록
+     * @param sort         정렬 방식 ("date" 또는 "sim")
+     * @param sentArticles 이미 전송된 기사 링크의 집합 (조기 종료 판단에만 사용)
+     * @return 수집된 NewsItem 리스트
+     * @throws InterruptedException 수집 대기 중 인터럽트된 경우
+     */
+    public List<NewsItem> crawl(List<String> keywords, String sort, Set<String> sentArticles) throws InterruptedException {
+        Date cutoff = NewsItemParser.recentCutoff();
+        Set<NewsItem> collected = new LinkedHashSet<>();
+        int crawled = 0;
+
+        try (BoundedStageExecutor stage = new BoundedStageExecutor(parallelism)) {
+            List<Future<List<NewsItem>>> futures = new ArrayList<>();
+            for (String keyword : keywords) {
+                futures.add(stage.submit(() -> crawlKeyword(keyword, sort, sentArticles, cutoff)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    List<NewsItem> keywordItems = futures.get(i).get();
+                    crawled += keywordItems.size();
+                    collected.addAll(keywordItems);
+                } catch (ExecutionException e) {
+                    logger.warning("Crawl failed for keyword '" + keywords.get(i) + "': " + e.getCause().getMessage());
+                }
+            }
+        }
+        metrics.add(CrawlMetrics.ITEMS, "stage=\"deduped\"", crawled - collected.size());
+        return new ArrayList<>(collected);
+    }
+
+    /**
+     * crawlKeyword 메서드는 하나의 검색어에 대해 조기 종료 조건을 만날 때까지 페이지를 순서대로 조회합니다.
+     *
+     * @param keyword      검색어
+     * @param sort         정렬 방식
+     * @param sentArticles 이미 전송된 기사 링크의 집합
+     * @param cutoff       수집 대상 기사의 최소 게시 시각
+     * @return 해당 검색어에서 수집된 최근 기사 리스트
+     * @throws Exception API 호출 또는 JSON 파싱 중 발생한 예외
+     */
+    private List<NewsItem> crawlKeyword(String keyword, String sort, Set<String> sentArticles, Date cutoff) throws Exception {
+        List<NewsItem> newsItems = new ArrayList<>();
+        int pages = 0;
+
+        for (int start = 1; start <= MAX_START; start += MAX_DISPLAY) {
+            InputStream response = apiClient.getStream("news.json", keyword, MAX_DISPLAY, start, sort);
+            // 최신순 정렬에서는 기준 시각보다 오래된 기사를 만나면 나머지 응답을 읽지 않습니다.
+            NewsItemParser.Page page = NewsItemParser.parse(response, cutoff, "date".equals(sort));
+            pages++;
+            recordPage(metrics, page);
+
+            boolean hasUnsent = false;
+            for (NewsItem newsItem : page.getItems()) {
+                newsItems.add(newsItem);
+                if (!sentArticles.contains(newsItem.getLink())) {
+                    hasUnsent = true;
+                }
+            }
+
+            if (page.getDisplay() < MAX_DISPLAY || page.getItems().isEmpty() || !hasUnsent) {
+                break;
+            }
+            // 최신순 정렬에서는 기준 시각보다 오래된 기사가 나오면 다음 페이지는 모두 오래된 기사입니다.
+            if ("date".equals(sort) && page.isCutoffReached()) {
+                break;
+            }
+        }
+        logger.info("Crawled '" + keyword + "' (" + sort + "): " + pages + " page(s), " + newsItems.size() + " recent article(s)");
+        return newsItems;
+    }
+
+    /**
+     * recordPage 메서드는 응답 한 페이지에서 받은 기사 수와 기준 시각으로 걸러진 기사 수를 기록합니다.
+     * 최신순 응답에서 읽기를 일찍 멈춘 경우, 읽지 않은 나머지 기사도 걸러진 것으로 셉니다.
+     */
+    static void recordPage(CrawlMetrics metrics, NewsItemParser.Page page) {
+        int fetched = Math.max(page.getDisplay(), page.getItems().size());
+        metrics.add(CrawlMetrics.ITEMS, "stage=\"fetched\"", fetched);
+        metrics.add(CrawlMetrics.ITEMS, "stage=\"filtered\"", fetched - page.getItems().size());
+    }
+}
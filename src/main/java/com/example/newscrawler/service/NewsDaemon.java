@@ -0,0 +1,104 @@
+/**
+ * NewsDaemon 클래스는 하나의 JVM에서 검색어를 주기적으로 조회하는 상주(daemon) 실행 모드입니다.
+ * - HttpClient 연결 풀, 전송 기록 색인, 응답 캐시 등 NewsService가 가진 상태를 실행 사이에 다시 만들지 않고 유지합니다.
+ * - 검색어마다 가장 최신으로 본 기사의 게시 시각(고수위 표시)을 기억하여, 각 조회에서는 그보다 새로운 기사만 처리합니다.
+ * - 고수위 표시는 검색어 조회가 끝날 때마다 상태 파일(Properties 형식)에 기록되어, 재시작 후에도 이어서 조회합니다.
+ * - 조회 주기는 생성자의 interval로 지정하며, stop() 또는 인터럽트로 종료합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+public class NewsDaemon {
+    private final NewsService newsService;
+    private final List<String> keywords;
+    private final Duration interval;
+    private final Path stateFile;
+    private final Logger logger;
+    private final Properties highWaterMarks = new Properties();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public NewsDaemon(NewsService newsService, List<String> keywords, Duration interval, Path stateFile, Logger logger) {
+        this.newsService = newsService;
+        this.keywords = keywords;
+        this.interval = interval;
+        this.stateFile = stateFile;
+        this.logger = logger;
+        loadState();
+    }
+
+    /**
+     * run 메서드는 stop()이 호출되거나 스레드가 인터럽트될 때까지 모든 검색어를 interval마다 조회합니다.
+     */
+    public void run() throws InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            scheduler.scheduleWithFixedDelay(this::pollAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Daemon started: " + keywords.size() + " keyword(s), polling every " + interval);
+            stopped.await();
+        } finally {
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            logger.info("Daemon stopped");
+        }
+    }
+
+    public void stop() {
+        stopped.countDown();
+    }
+
+    private void pollAll() {
+        for (String keyword : keywords) {
+            if (stopped.getCount() == 0) {
+                return;
+            }
+            String stored = highWaterMarks.getProperty(keyword);
+            Date previous = stored == null ? null : new Date(Long.parseLong(stored));
+            Date newest = newsService.pollKeyword(keyword, previous);
+            if (newest != null && !newest.equals(previous)) {
+                highWaterMarks.setProperty(keyword, Long.toString(newest.getTime()));
+                saveState();
+            }
+        }
+    }
+
+    private void loadState() {
+        if (!Files.exists(stateFile)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            highWaterMarks.load(reader);
+            logger.info("Loaded high-water marks for " + highWaterMarks.size() + " keyword(s)");
+        } catch (IOException e) {
+            logger.warning("Failed to read daemon state: " + e.getMessage());
+        }
+    }
+
+    private void saveState() {
+        try {
+            Path tmp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                highWaterMarks.store(writer, "keyword=newest pubDate (epoch millis)");
+            }
+            Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("Failed to save daemon state: " + e.getMessage());
+        }
+    }
+}
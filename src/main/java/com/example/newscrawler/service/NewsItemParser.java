@@ -0,0 +1,167 @@
+/**
+ * NewsItemParser 클래스는 네이버 뉴스 검색 API의 응답(JSON)을 NewsItem 리스트로 변환합니다.
+ * - 응답은 JsonPullParser로 스트리밍하여 읽으며, 기사마다 title, link, description, pubDate만 꺼내고 나머지 필드는 건너뜁니다.
+ * - 제목과 설명, 기사 링크는 NewsTextNormalizer로 정규화합니다 (태그 제거, 엔티티 디코딩, <b> → **, 링크 변형 통일).
+ * - 게시일은 스레드 안전한 java.time 포매터(PUB_DATE_FORMAT)로 파싱합니다.
+ * - 기준 시각(cutoff)이 주어지면 그보다 오래된 기사는 결과에서 제외하고,
+ *   최신순 응답에서는 처음으로 오래된 기사를 만난 시점에 나머지 응답을 읽지 않고 종료할 수 있습니다.
+ * - recentCutoff()는 수집 대상이 되는 기사의 최소 게시 시각(현재 기준 3일 전)을 반환합니다.
+ * NewsService와 NewsCrawlEngine이 같은 변환 규칙을 공유하도록 분리된 클래스입니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+public class NewsItemParser {
+    // 예: "Tue, 25 Feb 2025 01:02:00 +0900"
+    static final DateTimeFormatter PUB_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+
+    private NewsItemParser() {
+    }
+
+    /**
+     * Page 클래스는 응답 한 페이지를 읽은 결과입니다.
+     * - items: 기준 시각 이후의 기사 (응답 순서 유지)
+     * - display: 응답 헤더의 display 값, 즉 이 페이지에 포함된 전체 기사 수
+     * - cutoffReached: 기준 시각보다 오래된 기사를 하나 이상 만났는지 여부
+     */
+    public static final class Page {
+        private final List<NewsItem> items;
+        private final int display;
+        private final boolean cutoffReached;
+
+        Page(List<NewsItem> items, int display, boolean cutoffReached) {
+            this.items = items;
+            this.display = display;
+            this.cutoffReached = cutoffReached;
+        }
+
+        public List<NewsItem> getItems() {
+            return items;
+        }
+        public int getDisplay() {
+            return display;
+        }
+        public boolean isCutoffReached() {
+            return cutoffReached;
+        }
+    }
+
+    /**
+     * parse 메서드는 응답 본문에 포함된 모든 기사를 응답 순서대로 NewsItem으로 변환합니다.
+     * 게시일에 따른 필터링은 수행하지 않습니다.
+     *
+     * @param response 뉴스 검색 API 응답 본문
+     * @return 응답 순서를 유지한 NewsItem 리스트
+     * @throws Exception JSON 파싱 또는 날짜 파싱 중 발생한 예외
+     */
+    public static List<NewsItem> parse(String response) throws Exception {
+        try (JsonPullParser parser = new JsonPullParser(new StringReader(response))) {
+            return readPage(parser, null, false).getItems();
+        }
+    }
+
+    /**
+     * parse 메서드는 응답 스트림을 읽으며 기준 시각 이후의 기사만 NewsItem으로 변환합니다.
+     *
+     * @param in           뉴스 검색 API 응답 스트림 (이 메서드에서 닫힙니다)
+     * @param cutoff       수집 대상 기사의 최소 게시 시각
+     * @param stopAtCutoff true이면 오래된 기사를 처음 만난 시점에 나머지 응답을 읽지 않음 (최신순 정렬 응답에 사용)
+     * @return 읽은 페이지 정보
+     * @throws Exception JSON 파싱 또는 날짜 파싱 중 발생한 예외
+     */
+    public static Page parse(InputStream in, Date cutoff, boolean stopAtCutoff) throws Exception {
+        try (JsonPullParser parser = new JsonPullParser(in)) {
+            return readPage(parser, cutoff, stopAtCutoff);
+        }
+    }
+
+    private static Page readPage(JsonPullParser parser, Date cutoff, boolean stopAtCutoff) throws Exception {
+        List<NewsItem> newsItems = new ArrayList<>();
+        int display = -1;
+        boolean cutoffReached = false;
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            String name = parser.nextName();
+            if ("display".equals(name)) {
+                display = parser.nextInt();
+            } else if ("items".equals(name)) {
+                parser.beginArray();
+                while (parser.hasNext()) {
+                    NewsItem newsItem = readItem(parser);
+                    if (cutoff != null && newsItem.getPubDate().before(cutoff)) {
+                        cutoffReached = true;
+                        if (stopAtCutoff) {
+                            // 최신순 응답에서는 이후 기사도 모두 기준 시각보다 오래되었으므로 읽기를 멈춥니다.
+                            return new Page(newsItems, display, true);
+                        }
+                        continue;
+                    }
+                    newsItems.add(newsItem);
+                }
+                parser.endArray();
+            } else {
+                parser.skipValue();
+            }
+        }
+        parser.endObject();
+        parser.endDocument();
+        return new Page(newsItems, display, cutoffReached);
+    }
+
+    private static NewsItem readItem(JsonPullParser parser) throws Exception {
+        String title = null;
+        String articleLink = null;
+        String snippet = "";
+        String pubDateStr = null;
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            String name = parser.nextName();
+            switch (name) {
+                case "title":
+                    title = NewsTextNormalizer.title(parser.nextString());
+                    break;
+                case "link":
+                    articleLink = NewsTextNormalizer.articleLink(parser.nextString());
+                    break;
+                case "description":
+                    snippet = NewsTextNormalizer.snippet(parser.nextString());
+                    break;
+                case "pubDate":
+                    pubDateStr = parser.nextString();
+                    break;
+                default:
+                    parser.skipValue();
+                    break;
+            }
+        }
+        parser.endObject();
+
+        if (title == null || articleLink == null || pubDateStr == null) {
+            throw new IllegalStateException("News item is missing title, link or pubDate");
+        }
+        Date pubDate = Date.from(OffsetDateTime.parse(pubDateStr, PUB_DATE_FORMAT).toInstant());
+        return new NewsItem(title, articleLink, snippet, pubDate, pubDateStr);
+    }
+
+    /**
+     * recentCutoff 메서드는 수집 대상 기사의 최소 게시 시각을 반환합니다.
+     *
+     * @return 현재 시각 기준 3일 전
+     */
+    public static Date recentCutoff() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.DAY_OF_YEAR, -3); // 최근 3일 이내 기사만 포함
+        return calendar.getTime();
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * NewsRanker 인터페이스는 전송 후보 기사의 점수를 매기는 방식을 추상화합니다.
+ * - score(): 기사 하나의 점수를 계산합니다. 점수가 높을수록 먼저 전송됩니다.
+ *   dateRank와 simRank는 각 정렬 기준("date", "sim") 검색 결과에서의 위치(0부터)이며, 해당 결과에 없으면 -1입니다.
+ *   keywordHits는 제목과 설명에 나타난 서로 다른 검색어 단어의 수입니다.
+ *   NewsRankingStage는 이 값을 최대로 가정한 점수를 상한으로 쓰므로, 점수는 keywordHits에 대해 줄어들지 않아야 합니다.
+ * - diversityFactor(): 같은 출처의 기사가 이미 selected개 선택되었을 때 점수에 곱할 값입니다. 기본값은 1(다양성 보정 없음)입니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+
+public interface NewsRanker {
+    double score(NewsItem newsItem, int dateRank, int simRank, int keywordHits, long now);
+
+    default double diversityFactor(int selected) {
+        return 1.0;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * NewsRankerImpl 클래스는 NewsRanker의 기본 구현체로, 다음 세 가지 신호의 가중합으로 점수를 매깁니다.
+ * - 신선도: 게시 후 경과 시간에 대해 반감기(halfLife)마다 절반으로 줄어드는 지수 감쇠 (0~1)
+ * - 검색 순위: 각 정렬 기준 결과에서의 위치 r에 대한 상호 순위 RANK_CONSTANT / (RANK_CONSTANT + r)의 평균 (0~1).
+ *   두 기준 모두에서 상위에 있는 기사가 한쪽에만 있는 기사보다 높게 평가됩니다.
+ * - 검색어 일치: 제목과 설명에 나타난 검색어 단어 수 (최대 3개까지, 0~1)
+ * 같은 출처의 기사가 이미 선택되었으면 하나마다 점수에 diversity를 곱해, 한 언론사 기사만 연달아 보내지 않도록 합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.time.Duration;
+
+public class NewsRankerImpl implements NewsRanker {
+    private static final double RANK_CONSTANT = 10;
+    private static final int MAX_KEYWORD_HITS = 3;
+
+    private final double halfLifeMillis;
+    private final double freshnessWeight;
+    private final double rankWeight;
+    private final double keywordWeight;
+    private final double diversity;
+
+    public NewsRankerImpl() {
+        this(Duration.ofHours(12), 1.0, 1.0, 0.5, 0.7);
+    }
+
+    public NewsRankerImpl(Duration halfLife, double freshnessWeight, double rankWeight, double keywordWeight,
+                          double diversity) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.freshnessWeight = freshnessWeight;
+        this.rankWeight = rankWeight;
+        this.keywordWeight = keywordWeight;
+        this.diversity = diversity;
+    }
+
+    @Override
+    public double score(NewsItem newsItem, int dateRank, int simRank, int keywordHits, long now) {
+        double age = Math.max(0, now - newsItem.getPubDate().getTime());
+        double freshness = Math.pow(0.5, age / halfLifeMillis);
+        double rank = (reciprocalRank(dateRank) + reciprocalRank(simRank)) / 2;
+        double keywords = (double) Math.min(keywordHits, MAX_KEYWORD_HITS) / MAX_KEYWORD_HITS;
+        return freshnessWeight * freshness + rankWeight * rank + keywordWeight * keywords;
+    }
+
+    @Override
+    public double diversityFactor(int selected) {
+        return Math.pow(diversity, selected);
+    }
+
+    private static double reciprocalRank(int rank) {
+        return rank < 0 ? 0 : RANK_CONSTANT / (RANK_CONSTANT + rank);
+    }
+}
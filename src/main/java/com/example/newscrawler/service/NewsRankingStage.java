@@ -0,0 +1,248 @@
+/**
+ * NewsRankingStage 클래스는 두 검색 결과("date", "sim")를 합친 전체를 정렬하는 대신, 후보를 하나씩 흘려 보내며
+ * NewsRanker로 점수를 매기고 크기 K의 최소 힙(bounded heap)으로 상위 K개만 유지하는 선택 단계입니다.
+ * - 이미 전송된 링크는 점수 계산 전에 건너뛰고, 두 결과에 모두 있는 기사는 한 번만 점수를 매깁니다(deduped로 기록).
+ * - 검색어 일치 수는 검색어의 단어마다 묶음 하나로 만든 TermMatcher(Aho-Corasick)로 제목과 설명을 한 번만 훑어 셉니다.
+ *   힙이 가득 찬 뒤에는 일치 수를 최대로 가정한 점수로 먼저 상한을 구하고, 그 상한이 힙의 최솟값보다 낮으면
+ *   본문을 훑지 않고 건너뜁니다.
+ * - 시간 복잡도는 후보 n개에 대해 O(n log K)이며, 힙은 K개의 점수와 기사만 보관합니다.
+ *   링크 기준 중복 제거를 위해 "sim" 결과의 위치 표는 결과 크기만큼 필요합니다.
+ * - 힙에서 꺼낸 K개는 출처(언론사)별로 이미 선택된 수에 따라 diversityFactor를 곱해 다시 순서를 정합니다(지연 재평가 탐욕 선택).
+ * - 생성 후에는 상태를 바꾸지 않으므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.net.URI;
+import java.util.*;
+
+public class NewsRankingStage {
+    private final NewsRanker ranker;
+    private final CrawlMetrics metrics;
+
+    public NewsRankingStage(NewsRanker ranker, CrawlMetrics metrics) {
+        this.ranker = ranker;
+        this.metrics = metrics;
+    }
+
+    /**
+     * rank 메서드는 아직 전송되지 않은 후보 중 점수가 가장 높은 기사를 최대 k개, 점수가 높은 순서로 반환합니다.
+     *
+     * @param keywords     검색에 사용한 검색어 목록 (검색어 일치 수 계산에 사용)
+     * @param dateResults  최신순 검색 결과 (결과 안의 순서가 검색 순위)
+     * @param simResults   정확도순 검색 결과 (결과 안의 순서가 검색 순위)
+     * @param sentArticles 이미 전송된 기사 링크의 집합
+     * @param k            선택할 최대 기사 수
+     * @return 점수가 높은 순서의 기사 목록
+     */
+    public List<NewsItem> rank(Collection<String> keywords, List<NewsItem> dateResults, List<NewsItem> simResults,
+                               Set<String> sentArticles, int k) {
+        TermMatcher keywordMatcher = keywordMatcher(keywords);
+        Map<String, Integer> simRanks = new HashMap<>(simResults.size() * 2);
+        for (int i = 0; i < simResults.size(); i++) {
+            simRanks.putIfAbsent(simResults.get(i).getLink(), i);
+        }
+
+        long now = System.currentTimeMillis();
+        BoundedHeap heap = new BoundedHeap(k);
+        Set<String> dateLinks = new HashSet<>(dateResults.size() * 2);
+        int duplicates = 0;
+        for (int i = 0; i < dateResults.size(); i++) {
+            NewsItem newsItem = dateResults.get(i);
+            if (!dateLinks.add(newsItem.getLink())) {
+                duplicates++;
+                continue;
+            }
+            if (sentArticles.contains(newsItem.getLink())) {
+                continue;
+            }
+            Integer simRank = simRanks.get(newsItem.getLink());
+            offer(heap, keywordMatcher, newsItem, i, simRank == null ? -1 : simRank, now);
+        }
+        for (int i = 0; i < simResults.size(); i++) {
+            NewsItem newsItem = simResults.get(i);
+            if (dateLinks.contains(newsItem.getLink()) || simRanks.get(newsItem.getLink()) != i) {
+                duplicates++;
+                continue;
+            }
+            if (sentArticles.contains(newsItem.getLink())) {
+                continue;
+            }
+            offer(heap, keywordMatcher, newsItem, -1, i, now);
+        }
+        metrics.add(CrawlMetrics.ITEMS, "stage=\"deduped\"", duplicates);
+        return diversify(heap);
+    }
+
+    private void offer(BoundedHeap heap, TermMatcher keywordMatcher, NewsItem newsItem,
+                       int dateRank, int simRank, long now) {
+        if (heap.isFull() && keywordMatcher != null) {
+            double upperBound = ranker.score(newsItem, dateRank, simRank, keywordMatcher.getGroupCount(), now);
+            if (!heap.accepts(upperBound, newsItem)) {
+                return;
+            }
+        }
+        int keywordHits = 0;
+        if (keywordMatcher != null) {
+            BitSet matched = new BitSet(keywordMatcher.getGroupCount());
+            keywordMatcher.match(newsItem, matched);
+            keywordHits = matched.cardinality();
+        }
+        heap.offer(newsItem, ranker.score(newsItem, dateRank, simRank, keywordHits, now));
+    }
+
+    /**
+     * diversify 메서드는 힙의 기사를 점수순으로 꺼내되, 같은 출처에서 이미 선택된 수만큼 점수를 낮춰 다시 평가합니다.
+     * diversityFactor는 선택된 수에 대해 증가하지 않으므로, 다시 평가한 점수가 여전히 가장 높으면 바로 선택할 수 있습니다.
+     */
+    private List<NewsItem> diversify(BoundedHeap heap) {
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        for (int i = 0; i < heap.size; i++) {
+            queue.add(new Candidate(heap.items[i], heap.scores[i], heap.scores[i], 0));
+        }
+        Map<String, Integer> selectedBySource = new HashMap<>();
+        List<NewsItem> ranked = new ArrayList<>(heap.size);
+        while (!queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            String source = sourceOf(candidate.newsItem);
+            int selected = selectedBySource.getOrDefault(source, 0);
+            if (selected != candidate.evaluatedAt) {
+                queue.add(new Candidate(candidate.newsItem, candidate.baseScore,
+                        candidate.baseScore * ranker.diversityFactor(selected), selected));
+                continue;
+            }
+            ranked.add(candidate.newsItem);
+            selectedBySource.put(source, selected + 1);
+        }
+        return ranked;
+    }
+
+    private static TermMatcher keywordMatcher(Collection<String> keywords) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String keyword : keywords) {
+            for (String word : keyword.trim().split("\\s+")) {
+                if (!TermMatcher.normalize(word).isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        List<List<String>> termGroups = new ArrayList<>(words.size());
+        for (String word : words) {
+            termGroups.add(List.of(word));
+        }
+        return new TermMatcher(termGroups);
+    }
+
+    /**
+     * sourceOf 메서드는 기사의 출처를 구합니다. 네이버 뉴스 링크(n.news.naver.com/mnews/article/{언론사}/{기사})는
+     * 언론사 번호를, 그 밖의 링크는 호스트를 출처로 봅니다.
+     */
+    static String sourceOf(NewsItem newsItem) {
+        String link = newsItem.getLink();
+        int article = link.indexOf("/article/");
+        if (link.contains("news.naver.com") && article >= 0) {
+            int start = article + "/article/".length();
+            int end = link.indexOf('/', start);
+            if (end > start) {
+                return link.substring(start, end);
+            }
+        }
+        try {
+            String host = URI.create(link).getHost();
+            return host == null ? link : host;
+        } catch (IllegalArgumentException e) {
+            return link;
+        }
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+        final NewsItem newsItem;
+        final double baseScore;
+        final double score;
+        final int evaluatedAt;
+
+        Candidate(NewsItem newsItem, double baseScore, double score, int evaluatedAt) {
+            this.newsItem = newsItem;
+            this.baseScore = baseScore;
+            this.score = score;
+            this.evaluatedAt = evaluatedAt;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : newsItem.compareTo(other.newsItem);
+        }
+    }
+
+    /**
+     * BoundedHeap 클래스는 점수가 가장 낮은 기사가 맨 위에 오는 크기 제한 최소 힙입니다.
+     * 가득 찬 상태에서 맨 위보다 높은 점수가 들어오면 맨 위를 교체합니다. 점수가 같으면 더 최신 기사를 남깁니다.
+     */
+    private static final class BoundedHeap {
+        final NewsItem[] items;
+        final double[] scores;
+        int size;
+
+        BoundedHeap(int capacity) {
+            items = new NewsItem[Math.max(0, capacity)];
+            scores = new double[items.length];
+        }
+
+        boolean isFull() {
+            return size == items.length;
+        }
+
+        /**
+         * accepts 메서드는 가득 찬 힙에 이 점수의 기사가 들어갈 수 있는지 확인합니다.
+         */
+        boolean accepts(double score, NewsItem newsItem) {
+            return size > 0 && lower(scores[0], items[0], score, newsItem);
+        }
+
+        void offer(NewsItem newsItem, double score) {
+            if (size < items.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!lower(score, newsItem, scores[parent], items[parent])) {
+                        break;
+                    }
+                    items[i] = items[parent];
+                    scores[i] = scores[parent];
+                    i = parent;
+                }
+                items[i] = newsItem;
+                scores[i] = score;
+            } else if (accepts(score, newsItem)) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && lower(scores[child + 1], items[child + 1], scores[child], items[child])) {
+                        child++;
+                    }
+                    if (!lower(scores[child], items[child], score, newsItem)) {
+                        break;
+                    }
+                    items[i] = items[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                items[i] = newsItem;
+                scores[i] = score;
+            }
+        }
+
+        private static boolean lower(double score, NewsItem newsItem, double otherScore, NewsItem other) {
+            return score < otherScore || (score == otherScore && newsItem.getPubDate().before(other.getPubDate()));
+        }
+    }
+}
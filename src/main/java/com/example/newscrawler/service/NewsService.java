@@ -1,57 +1,89 @@
 package com.example.newscrawler.service;
 
 import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.model.Subscription;
 import com.example.newscrawler.repository.NewsRepository;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
-import java.text.SimpleDateFormat;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 public class NewsService {
+    private static final int ARTICLES_PER_SUBSCRIPTION = 3;
+    // 구독별 선택 전에 근접 중복 합치기로 줄어들 것을 감안하여, 보낼 기사 수보다 넉넉히 후보를 남김
+    private static final int CANDIDATES_PER_ARTICLE = 10;
+
     private final ApiClient apiClient;
     private final NewsRepository repository;
     private final ImageDownloader imageDownloader;
-    private final Notifier notifier;
+    private final SubscriptionRouter router;
     private final Logger logger;
-    private final SimpleDateFormat inputFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
+    private final int parallelism;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final NewsRankingStage rankingStage;
+    private final CrawlMetrics metrics;
 
     public NewsService(ApiClient apiClient, NewsRepository repository,
                        ImageDownloader imageDownloader, Notifier notifier, Logger logger) {
+        this(apiClient, repository, imageDownloader, SubscriptionRouter.single(notifier, logger), logger, 4,
+                new CrawlMetrics(logger), new NewsRankerImpl(), new NearDuplicateDetector(logger));
+    }
+
+    /**
+     * 구독별 전송, 동시 실행 수, 측정, 순위 방식, 근접 중복 판별기를 모두 지정하여 NewsService를 생성합니다.
+     * 각 기사는 일치하는 구독의 Notifier로 보내지고, 구독마다 최대 3개의 새 기사를 받습니다.
+     *
+     * @param parallelism           파이프라인 단계의 최대 동시 실행 수
+     * @param nearDuplicateDetector 이전 실행에서 전송한 기사를 기억할 수 있는 근접 중복 판별기
+     */
+    public NewsService(ApiClient apiClient, NewsRepository repository, ImageDownloader imageDownloader,
+                       SubscriptionRouter router, Logger logger, int parallelism, CrawlMetrics metrics,
+                       NewsRanker ranker, NearDuplicateDetector nearDuplicateDetector) {
         this.apiClient = apiClient;
         this.repository = repository;
         this.imageDownloader = imageDownloader;
-        this.notifier = notifier;
+        this.router = router;
         this.logger = logger;
+        this.parallelism = parallelism;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.rankingStage = new NewsRankingStage(ranker, metrics);
+        this.metrics = metrics;
     }
 
     /**
      * processNews 메서드는 지정된 키워드로 각각 10개씩 기사를 검색("date"와 "sim")한 후,
-     * 중복 제거 및 최신순 정렬을 거쳐, 아직 전송되지 않은 기사 중 가장 최신의 기사 단 하나만 Slack으로 전송합니다.
+     * NewsRankingStage로 아직 전송되지 않은 기사의 순위를 매겨, 순위가 높은 기사를 Slack으로 전송합니다.
+     * 여러 언론사가 같은 내용을 보도한 기사는 NearDuplicateDetector로 하나로 합친 뒤 선택합니다.
+     * 두 검색 호출과 기사별 이미지 보강은 BoundedStageExecutor의 가상 스레드에서 동시에 실행되므로,
+     * 전체 소요 시간은 호출 시간의 합이 아니라 가장 느린 호출에 가깝게 유지됩니다.
      *
      * @param keyword 검색에 사용할 키워드
      * @param count   각 기준당 검색 개수 (여기서는 10)
      */
     public void processNews(String keyword, int count) {
-        try {
-            // "date"와 "sim" 기준으로 각각 count(10)개씩 기사 검색
-            List<NewsItem> dateResults = getNewsItems(keyword, count, 1, "date");
-            List<NewsItem> simResults = getNewsItems(keyword, count, 1, "sim");
-
-            // 두 결과를 합치고 중복된 기사를 제거
-            Set<NewsItem> uniqueNewsItems = new LinkedHashSet<>();
-            uniqueNewsItems.addAll(dateResults);
-            uniqueNewsItems.addAll(simResults);
-
-            List<NewsItem> finalNewsList = new ArrayList<>(uniqueNewsItems);
-            Collections.sort(finalNewsList); // 최신 기사가 첫 번째에 오도록 정렬
+        try (BoundedStageExecutor stage = new BoundedStageExecutor(parallelism)) {
+            // "date"와 "sim" 기준으로 각각 count(10)개씩 기사를 동시에 검색
+            Future<List<NewsItem>> dateFuture = stage.submit(() -> getNewsItems(keyword, count, 1, "date"));
+            Future<List<NewsItem>> simFuture = stage.submit(() -> getNewsItems(keyword, count, 1, "sim"));
+            List<NewsItem> dateResults = await(dateFuture);
+            List<NewsItem> simResults = await(simFuture);
 
             // 이미 전송한 기사 링크 목록을 불러옴
             Set<String> sentArticles = repository.getSentArticles();
+            Instant canonicalSince = repository.getCanonicalLinksSince();
 
-            // 최신 기사 중 아직 보내지 않은 기사 하나를 선택하여 처리
-            processNewsItems(finalNewsList, sentArticles);
+            // 두 결과에서 아직 보내지 않은 기사의 순위를 매기고, 여러 언론사의 같은 기사는 순위가 가장 높은 기사 하나로 합침
+            List<NewsItem> rankedNewsList = collapse(rankingStage.rank(List.of(keyword),
+                    withoutLegacySent(dateResults, sentArticles, canonicalSince),
+                    withoutLegacySent(simResults, sentArticles, canonicalSince),
+                    sentArticles, candidateCount()));
+
+            processNewsItems(rankedNewsList, sentArticles, stage);
 
         } catch (Exception e) {
             logger.severe("Error in processNews: " + e.getMessage());
@@ -59,6 +91,115 @@ public class NewsService {
         }
     }
 
+    /**
+     * processKeywords 메서드는 여러 검색어를 NewsCrawlEngine으로 여러 페이지에 걸쳐 "date"와 "sim" 기준으로 검색한 후,
+     * processNews와 같은 방식으로 순위를 매겨 아직 전송되지 않은 기사를 Slack으로 전송합니다.
+     * 이미 전송된 링크만 남은 페이지나 3일보다 오래된 페이지에서는 해당 검색어의 추가 페이지를 요청하지 않습니다.
+     *
+     * @param keywords 검색에 사용할 키워드 목록
+     */
+    public void processKeywords(List<String> keywords) {
+        try (BoundedStageExecutor stage = new BoundedStageExecutor(parallelism)) {
+            // 이미 전송한 기사 링크 목록을 먼저 불러와 페이지 조기 종료 판단에 사용
+            Set<String> sentArticles = repository.getSentArticles();
+            Instant canonicalSince = repository.getCanonicalLinksSince();
+
+            NewsCrawlEngine crawlEngine = new NewsCrawlEngine(apiClient, logger, parallelism, metrics);
+            Future<List<NewsItem>> dateFuture = stage.submit(() -> crawlEngine.crawl(keywords, "date", sentArticles));
+            Future<List<NewsItem>> simFuture = stage.submit(() -> crawlEngine.crawl(keywords, "sim", sentArticles));
+
+            List<NewsItem> dateResults = await(dateFuture);
+            List<NewsItem> simResults = await(simFuture);
+
+            List<NewsItem> rankedNewsList = collapse(rankingStage.rank(keywords,
+                    withoutLegacySent(dateResults, sentArticles, canonicalSince),
+                    withoutLegacySent(simResults, sentArticles, canonicalSince),
+                    sentArticles, candidateCount()));
+
+            processNewsItems(rankedNewsList, sentArticles, stage);
+
+        } catch (Exception e) {
+            logger.severe("Error in processKeywords: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * pollKeyword 메서드는 데몬 모드에서 하나의 검색어를 최신순으로 조회하여,
+     * 게시 시각이 고수위 표시(high-water mark)보다 이르지 않은 기사만 처리 대상으로 넘깁니다.
+     * 이전 조회에서 이미 본 기사는 정렬 없이 건너뛰고, 고수위 표시와 같은 시각의 기사는 전송 기록으로 중복을 거릅니다.
+     * 한 페이지가 모두 고수위 표시 이후의 기사이면 다음 페이지도 조회하므로, 조회 사이에 기사가 많이 게시되어도 놓치지 않습니다.
+     * 고수위 표시는 전송했거나 일부러 거른 기사(전송 기록, 근접 중복, 일치하는 구독 없음)만 넘어갑니다.
+     * 순위나 구독별 개수 제한으로 고르지 않은 기사와 전송에 실패한 기사가 있으면 그중 가장 이른 게시 시각에 멈추므로,
+     * 단발 실행과 같이 다음 조회에서 다시 후보가 됩니다.
+     *
+     * @param keyword       검색에 사용할 키워드
+     * @param highWaterMark 이전 조회까지 처리한 가장 최신 기사의 게시 시각, 처음이면 null
+     * @return 다음 조회에서 쓸 고수위 표시
+     */
+    public Date pollKeyword(String keyword, Date highWaterMark) {
+        try (BoundedStageExecutor stage = new BoundedStageExecutor(parallelism)) {
+            Set<String> sentArticles = repository.getSentArticles();
+            Instant canonicalSince = repository.getCanonicalLinksSince();
+            List<NewsItem> newItems = new ArrayList<>();
+            Date newest = highWaterMark;
+            for (int start = 1; start <= NewsCrawlEngine.MAX_START; start += NewsCrawlEngine.MAX_DISPLAY) {
+                NewsItemParser.Page page = getNewsPage(keyword, NewsCrawlEngine.MAX_DISPLAY, start, "date");
+                boolean reachedMark = false;
+                boolean hasUnsent = false;
+                for (NewsItem newsItem : page.getItems()) {
+                    if (highWaterMark != null && newsItem.getPubDate().before(highWaterMark)) {
+                        metrics.increment(CrawlMetrics.ITEMS, "stage=\"deduped\"");
+                        reachedMark = true;
+                        continue;
+                    }
+                    if (newest == null || newsItem.getPubDate().after(newest)) {
+                        newest = newsItem.getPubDate();
+                    }
+                    if (sentArticles.contains(newsItem.getLink())
+                            || isLegacySent(newsItem, sentArticles, canonicalSince)) {
+                        metrics.increment(CrawlMetrics.ITEMS, "stage=\"deduped\"");
+                        continue;
+                    }
+                    hasUnsent = true;
+                    newItems.add(newsItem);
+                }
+                // 처음 조회할 때는 NewsCrawlEngine처럼 전송되지 않은 기사가 있는 동안 다음 페이지를 조회합니다.
+                boolean more = highWaterMark == null ? hasUnsent : !reachedMark;
+                if (!more || page.isCutoffReached() || page.getDisplay() < NewsCrawlEngine.MAX_DISPLAY
+                        || page.getItems().isEmpty()) {
+                    break;
+                }
+            }
+
+            if (newItems.isEmpty()) {
+                logger.info("No unsent articles since the high-water mark for '" + keyword + "'");
+                return newest;
+            }
+            List<NewsItem> candidates = rankingStage.rank(List.of(keyword), newItems, List.of(),
+                    sentArticles, candidateCount());
+            List<NewsItem> rankedNewsList = collapse(candidates);
+            Set<NewsItem> collapsedAway = new HashSet<>(candidates);
+            rankedNewsList.forEach(collapsedAway::remove);
+            Set<NewsItem> delivered = new HashSet<>(processNewsItems(rankedNewsList, sentArticles, stage));
+
+            // 아직 처리하지 않은 기사가 있으면 고수위 표시를 그중 가장 이른 게시 시각까지만 올립니다.
+            for (NewsItem newsItem : newItems) {
+                if (delivered.contains(newsItem) || collapsedAway.contains(newsItem) || !router.matchesAny(newsItem)) {
+                    continue;
+                }
+                if (newsItem.getPubDate().before(newest)) {
+                    newest = newsItem.getPubDate();
+                }
+            }
+            return newest;
+
+        } catch (Exception e) {
+            logger.severe("Error polling '" + keyword + "': " + e.getMessage());
+            return highWaterMark;
+        }
+    }
+
     /**
      * getNewsItems 메서드는 네이버 API를 통해 주어진 키워드로 기사를 검색하고,
      * 최근 3일 이내에 발행된 기사만 NewsItem 객체 리스트로 반환합니다.
@@ -71,86 +212,184 @@ public class NewsService {
      * @throws Exception API 호출 또는 JSON 파싱 중 발생한 예외
      */
     private List<NewsItem> getNewsItems(String keyword, int display, int start, String sort) throws Exception {
-        List<NewsItem> newsItems = new ArrayList<>();
-        String response = apiClient.getData("news.json", keyword, display, start, sort);
-        JSONObject newsJson = new JSONObject(response);
-        JSONArray items = newsJson.getJSONArray("items");
-
-        SimpleDateFormat sdf = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss Z", Locale.ENGLISH);
-        Calendar calendar = Calendar.getInstance();
-        calendar.add(Calendar.DAY_OF_YEAR, -3); // 최근 3일 이내 기사만 포함
-
-        for (int i = 0; i < items.length(); i++) {
-            JSONObject item = items.getJSONObject(i);
-            String title = item.getString("title").replaceAll("<.*?>", "");
-            
-            // 기사 링크 정규화: 쿼리 파라미터 제거
-            String rawLink = item.getString("link");
-            String articleLink = rawLink.split("\\?")[0];
-
-            String snippet = item.optString("description", "");
-            snippet = snippet.replaceAll("<b>", "**").replaceAll("</b>", "**");
-
-            String pubDateStr = item.getString("pubDate");
-            Date pubDate = sdf.parse(pubDateStr);
-            if (pubDate.before(calendar.getTime())) {
-                continue;
+        return getNewsPage(keyword, display, start, sort).getItems();
+    }
+
+    private NewsItemParser.Page getNewsPage(String keyword, int display, int start, String sort) throws Exception {
+        InputStream response = apiClient.getStream("news.json", keyword, display, start, sort);
+        // 최신순 응답은 3일보다 오래된 기사를 만나는 즉시 읽기를 멈춥니다.
+        NewsItemParser.Page page = NewsItemParser.parse(response, NewsItemParser.recentCutoff(), "date".equals(sort));
+        NewsCrawlEngine.recordPage(metrics, page);
+        return page;
+    }
+
+    /**
+     * withoutLegacySent 메서드는 링크 정규화 이전에 전송되어 예전 형식(쿼리를 모두 버린 링크)으로 기록된 기사를 제외합니다.
+     */
+    private static List<NewsItem> withoutLegacySent(List<NewsItem> newsItems, Set<String> sentArticles,
+                                                    Instant canonicalSince) {
+        List<NewsItem> filtered = new ArrayList<>(newsItems.size());
+        for (NewsItem newsItem : newsItems) {
+            if (!isLegacySent(newsItem, sentArticles, canonicalSince)) {
+                filtered.add(newsItem);
             }
+        }
+        return filtered;
+    }
 
-            newsItems.add(new NewsItem(title, articleLink, snippet, pubDate, pubDateStr));
+    /**
+     * isLegacySent 메서드는 기사가 예전 형식의 링크로 전송 기록에 있는지 확인합니다.
+     * 예전 형식은 같은 언론사의 여러 기사가 하나의 링크로 합쳐질 수 있으므로, 전송 기록이 정규화된 링크로 기록되기
+     * 시작한 시각(canonicalSince) 이전에 게시된 기사만 확인합니다.
+     */
+    private static boolean isLegacySent(NewsItem newsItem, Set<String> sentArticles, Instant canonicalSince) {
+        if (!newsItem.getPubDate().toInstant().isBefore(canonicalSince)) {
+            return false;
         }
-        return newsItems;
+        String legacy = NewsTextNormalizer.legacyLink(newsItem.getLink());
+        return legacy != null && sentArticles.contains(legacy);
+    }
+
+    /**
+     * candidateCount 메서드는 순위 단계에서 남길 후보 수(K)를 구합니다. 구독마다 보낼 기사 수에 비례합니다.
+     */
+    private int candidateCount() {
+        return router.getSubscriptions().size() * ARTICLES_PER_SUBSCRIPTION * CANDIDATES_PER_ARTICLE;
     }
 
     /**
-     * processNewsItems 메서드는 정렬된 뉴스 기사 리스트에서 아직 전송되지 않은 기사 중 가장 최신의 기사 단 하나를 선택하여
+     * collapse 메서드는 NearDuplicateDetector로 거의 같은 기사를 합치고, 합쳐진 기사 수를 기록합니다.
+     * 순위순 입력이면 묶음마다 순위가 가장 높은 기사가 남고, 최근 전송한 기사와 같은 묶음의 기사는 남지 않습니다.
+     */
+    private List<NewsItem> collapse(List<NewsItem> newsItems) {
+        List<NewsItem> representatives = nearDuplicateDetector.collapse(newsItems);
+        metrics.add(CrawlMetrics.ITEMS, "stage=\"collapsed\"", newsItems.size() - representatives.size());
+        return representatives;
+    }
+
+    /**
+     * processNewsItems 메서드는 순위순으로 정렬된 뉴스 기사 리스트에서 구독마다 아직 전송되지 않은 기사를 최대 3개씩 선택하여
      * 이미지 다운로드, Slack 알림 전송, 전송 기록 업데이트 및 파일 저장을 수행합니다.
+     * 이미지 다운로드는 선택된 기사 전체에 대해 동시에 시작하고, 알림은 기존 순서대로 기사와 일치하는 구독마다 한 번씩 요청합니다.
+     * 일치한 모든 구독으로 전송이 확인된 기사만 파일에 저장하고 전송 완료로 기록합니다.
+     * 알림 전(beginDelivery)과 전송 결과 확인 후(recordDelivery)에 저장소에 알려, 저널을 쓰는 저장소가
+     * 중간에 종료되어도 다음 실행에서 작업을 마무리하거나 건너뛸 수 있게 합니다.
      *
-     * @param newsItems    정렬된 NewsItem 리스트
+     * @param newsItems    순위순으로 정렬된 NewsItem 리스트
      * @param sentArticles 이미 전송된 기사 링크의 집합
+     * @param stage        이미지 보강 단계를 실행할 실행기
+     * @return 전송 완료로 기록된 기사 리스트
      */
-    private void processNewsItems(List<NewsItem> newsItems, Set<String> sentArticles) {
+    private List<NewsItem> processNewsItems(List<NewsItem> newsItems, Set<String> sentArticles,
+                                            BoundedStageExecutor stage) {
+        List<NewsItem> recorded = new ArrayList<>();
         try {
-            List<NewsItem> articlesToSend = new ArrayList<>();
-    
-            // 아직 전송되지 않은 기사 중 3개 선택
-            for (NewsItem newsItem : newsItems) {
-                if (!sentArticles.contains(newsItem.getLink())) {
-                    articlesToSend.add(newsItem);
-                    if (articlesToSend.size() >= 3) break; // 최대 3개만 선택
-                }
-            }
-    
+            // 구독마다 아직 전송되지 않은 기사 중 최대 3개 선택
+            Map<NewsItem, List<Subscription>> routes = router.route(newsItems, sentArticles, ARTICLES_PER_SUBSCRIPTION);
+            List<NewsItem> articlesToSend = new ArrayList<>(routes.keySet());
+
             if (articlesToSend.isEmpty()) {
                 logger.info("No new articles found to send.");
-                return;
+                return recorded;
             }
+            metrics.add(CrawlMetrics.ITEMS, "stage=\"selected\"", articlesToSend.size());
     
-            // 이미지 다운로드 및 Slack 알림 전송
-            Map<String, String> newsImages = new HashMap<>();
+            // 이미지 다운로드를 기사별로 동시에 시작
+            List<Future<String>> imageFutures = new ArrayList<>();
             for (NewsItem article : articlesToSend) {
-                String imageFileName = imageDownloader.downloadImage(article.getTitle());
+                imageFutures.add(stage.submit(
+                        () -> imageDownloader.downloadImage(article.getTitle(), article.getLink())));
+            }
+
+            // 정렬 순서대로 이미지 결과를 기다림
+            Map<String, String> newsImages = new HashMap<>();
+            List<String> imagePublicUrls = new ArrayList<>();
+            String baseUrl = System.getenv("SLACK_IMAGE_BASE_URL");
+            for (int i = 0; i < articlesToSend.size(); i++) {
+                NewsItem article = articlesToSend.get(i);
+                String imageFileName = await(imageFutures.get(i));
                 String imagePublicUrl = "";
-                String baseUrl = System.getenv("SLACK_IMAGE_BASE_URL");
     
                 if (baseUrl != null && !baseUrl.isEmpty() && !imageFileName.isEmpty()) {
-                    imagePublicUrl = baseUrl + imageFileName;
+                    // Slack 미리보기에는 원본 대신 작은 썸네일을 사용
+                    imagePublicUrl = baseUrl + imageDownloader.thumbnailFor(imageFileName);
                     newsImages.put(article.getTitle(), imageFileName);
                 }
-    
-                // Slack 알림 전송
-                notifier.notify(article.getTitle(), article.getLink(), imagePublicUrl);
+                imagePublicUrls.add(imagePublicUrl);
+            }
+
+            // 첫 알림을 요청하기 전에 선택된 기사를 저널에 기록한 뒤, 기존 순서대로 Slack 알림 전송 요청
+            repository.beginDelivery(articlesToSend, newsImages);
+            List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+            for (int i = 0; i < articlesToSend.size(); i++) {
+                NewsItem article = articlesToSend.get(i);
+                List<Subscription> subscriptions = routes.get(article);
+                CompletableFuture<?>[] routed = new CompletableFuture<?>[subscriptions.size()];
+                for (int s = 0; s < routed.length; s++) {
+                    Subscription subscription = subscriptions.get(s);
+                    metrics.increment(CrawlMetrics.ROUTED, CrawlMetrics.label("subscription", subscription.getName()));
+                    routed[s] = router.notifierFor(subscription)
+                            .notifyAsync(article.getTitle(), article.getLink(), imagePublicUrls.get(i));
+                }
+                deliveries.add(CompletableFuture.allOf(routed));
+            }
+
+            // 전송이 확인된 기사만 전송 완료로 기록하고, 실패한 기사는 다음 실행에서 다시 시도합니다.
+            // 여러 구독 중 일부로만 전송된 기사도 다시 시도하므로, 이미 받은 채널에 한 번 더 갈 수 있습니다.
+            List<NewsItem> deliveredArticles = new ArrayList<>();
+            List<NewsItem> failedArticles = new ArrayList<>();
+            for (int i = 0; i < articlesToSend.size(); i++) {
+                NewsItem article = articlesToSend.get(i);
+                try {
+                    deliveries.get(i).join();
+                } catch (CompletionException e) {
+                    logger.warning("Notification not delivered, will retry later: " + article.getTitle()
+                            + " (" + e.getCause().getMessage() + ")");
+                    failedArticles.add(article);
+                    continue;
+                }
+                deliveredArticles.add(article);
+                logger.info("Processed and notified: " + article.getTitle());
+            }
+            repository.recordDelivery(deliveredArticles, failedArticles);
+
+            // 저장을 먼저 하고 전송 기록에 추가하여, 전송 기록에 있는 기사는 항상 저장도 끝난 상태가 되도록 합니다.
+            // 저널을 쓰는 저장소는 저장이 끝나면 SAVED를 기록하므로, 재생할 때 같은 기사를 다시 저장하지 않습니다.
+            metrics.add(CrawlMetrics.ITEMS, "stage=\"sent\"", deliveredArticles.size());
+            if (!deliveredArticles.isEmpty()) {
+                repository.saveNews(deliveredArticles, newsImages);
+            }
+            for (NewsItem article : deliveredArticles) {
                 repository.markArticleAsSent(article.getLink());
                 sentArticles.add(article.getLink());
-                logger.info("Processed and notified: " + article.getTitle());
             }
-    
-            // 저장할 때 3개의 기사 저장
-            repository.saveNews(articlesToSend, newsImages);
+            repository.flush();
+            nearDuplicateDetector.remember(deliveredArticles);
+            recorded.addAll(deliveredArticles);
     
         } catch (Exception e) {
             logger.severe("Error processing news items: " + e.getMessage());
             e.printStackTrace();
         }
+        return recorded;
+    }
+
+    /**
+     * await 메서드는 단계 작업의 결과를 기다리고, 작업에서 발생한 예외를 원래 예외로 풀어 다시 던집니다.
+     *
+     * @param future 기다릴 작업
+     * @return 작업 결과
+     * @throws Exception 작업 실행 중 발생한 예외
+     */
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,351 @@
+/**
+ * NewsTextNormalizer 클래스는 네이버 검색 API가 돌려주는 제목, 설명, 링크를 저장/알림용 텍스트로 정규화합니다.
+ * - title(): HTML 태그를 제거하고, HTML 엔티티(&quot;, &amp;, &#39;, &#x27; 등)를 문자로 바꾸고, 연속 공백을 하나로 줄입니다.
+ * - snippet(): title()과 같되 검색어 강조 표시 <b>, </b>는 Markdown 굵게 표시(**)로 바꿉니다.
+ * - articleLink(): 같은 기사가 항상 같은 문자열이 되도록 링크를 정규화합니다.
+ *   네이버 기사 링크는 경로에 언론사/기사 번호가 있으므로 쿼리(sid, ntype 등)를 버리고,
+ *   쿼리로 기사를 지정하는 예전 형식(read.nhn?oid=...&aid=...)은 경로 형식으로 바꿉니다.
+ *   그 밖의 언론사 링크는 기사 번호가 쿼리에 있는 경우(articleView.html?idxno=...)가 많으므로
+ *   추적용 파라미터(utm_*, fbclid, gclid)만 제거하고 나머지 쿼리는 유지합니다.
+ * - legacyLink(): 정규화 이전에는 모든 링크의 쿼리를 버려 전송 기록에 남겼으므로, 쿼리를 유지하는 언론사 링크의
+ *   예전 형식을 돌려주어 이미 보낸 기사를 다시 보내지 않게 합니다. 예전 형식은 전송 기록이 정규화된 링크로
+ *   기록되기 시작한 시각(NewsRepository.getCanonicalLinksSince) 이전에 게시된 기사에만 쓰입니다.
+ * - stripQuery(): 쿼리와 fragment를 제거합니다 (이미지 원본 URL 등).
+ * 정규식을 쓰지 않고 입력을 한 번만 훑어 결과 문자열 하나만 만들며, 상태가 없으므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+
+package com.example.newscrawler.service;
+
+public final class NewsTextNormalizer {
+    private static final String[] ENTITY_NAMES = {
+            "quot", "amp", "lt", "gt", "apos", "nbsp", "middot", "hellip",
+            "lsquo", "rsquo", "ldquo", "rdquo", "ndash", "mdash", "bull", "times"};
+    private static final char[] ENTITY_CHARS = {
+            '"', '&', '<', '>', '\'', ' ', '·', '…',
+            '‘', '’', '“', '”', '–', '—', '•', '×'};
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private static final String[] TRACKING_PARAMS = {"utm_", "fbclid", "gclid"};
+
+    private NewsTextNormalizer() {
+    }
+
+    /**
+     * title 메서드는 제목에서 태그를 제거하고 엔티티를 디코딩합니다.
+     *
+     * @param raw API 응답의 title 값
+     * @return 정규화된 제목
+     */
+    public static String title(String raw) {
+        return normalize(raw, false);
+    }
+
+    /**
+     * snippet 메서드는 설명에서 <b> 강조를 **로 바꾸고 나머지 태그를 제거하며 엔티티를 디코딩합니다.
+     *
+     * @param raw API 응답의 description 값
+     * @return 정규화된 설명
+     */
+    public static String snippet(String raw) {
+        return normalize(raw, true);
+    }
+
+    private static String normalize(String raw, boolean boldMarkers) {
+        int length = raw.length();
+        char[] out = new char[length + 8];
+        int n = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c == '<') {
+                int end = tagEnd(raw, i);
+                if (end > 0) {
+                    if (boldMarkers && isBoldTag(raw, i, end)) {
+                        if (pendingSpace && n > 0) {
+                            out[n++] = ' ';
+                        }
+                        pendingSpace = false;
+                        if (n + 2 > out.length) {
+                            out = grow(out);
+                        }
+                        out[n++] = '*';
+                        out[n++] = '*';
+                    }
+                    i = end;
+                    continue;
+                }
+            } else if (c == '&') {
+                int end = raw.indexOf(';', i + 2);
+                int decoded = end > 0 && end - i - 1 <= MAX_ENTITY_LENGTH ? decodeEntity(raw, i + 1, end) : -1;
+                if (decoded >= 0) {
+                    c = (char) decoded;
+                    i = end;
+                    if (Character.isSupplementaryCodePoint(decoded)) {
+                        if (pendingSpace && n > 0) {
+                            out[n++] = ' ';
+                        }
+                        pendingSpace = false;
+                        if (n + 2 > out.length) {
+                            out = grow(out);
+                        }
+                        n += Character.toChars(decoded, out, n);
+                        continue;
+                    }
+                }
+            }
+
+            if (Character.isWhitespace(c) || c == '\u00A0') {
+                pendingSpace = true;
+                continue;
+            }
+            if (n + 2 > out.length) {
+                out = grow(out);
+            }
+            if (pendingSpace && n > 0) {
+                out[n++] = ' ';
+            }
+            pendingSpace = false;
+            out[n++] = c;
+        }
+        return new String(out, 0, n);
+    }
+
+    /**
+     * tagEnd 메서드는 start 위치의 '<'가 태그의 시작이면 닫는 '>'의 위치를, 아니면 -1을 반환합니다.
+     * "3<5"처럼 태그가 아닌 '<'는 그대로 둡니다.
+     */
+    private static int tagEnd(String s, int start) {
+        if (start + 1 >= s.length()) {
+            return -1;
+        }
+        char next = s.charAt(start + 1);
+        if (!(next == '/' || next == '!' || Character.isLetter(next))) {
+            return -1;
+        }
+        return s.indexOf('>', start + 2);
+    }
+
+    private static boolean isBoldTag(String s, int start, int end) {
+        int nameStart = s.charAt(start + 1) == '/' ? start + 2 : start + 1;
+        return end - nameStart == 1 && (s.charAt(nameStart) == 'b' || s.charAt(nameStart) == 'B');
+    }
+
+    /**
+     * decodeEntity 메서드는 s[start, end) 구간의 엔티티 이름(&과 ; 제외)을 코드 포인트로 바꿉니다.
+     *
+     * @return 코드 포인트, 알 수 없는 엔티티이면 -1
+     */
+    private static int decodeEntity(String s, int start, int end) {
+        if (start < end && s.charAt(start) == '#') {
+            int radix = 10;
+            int digits = start + 1;
+            if (digits < end && (s.charAt(digits) == 'x' || s.charAt(digits) == 'X')) {
+                radix = 16;
+                digits++;
+            }
+            if (digits == end) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = digits; i < end; i++) {
+                int digit = Character.digit(s.charAt(i), radix);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = value * radix + digit;
+                if (value > Character.MAX_CODE_POINT) {
+                    return -1;
+                }
+            }
+            return value == 0 ? -1 : value;
+        }
+        int nameLength = end - start;
+        for (int i = 0; i < ENTITY_NAMES.length; i++) {
+            if (ENTITY_NAMES[i].length() == nameLength && s.regionMatches(start, ENTITY_NAMES[i], 0, nameLength)) {
+                return ENTITY_CHARS[i];
+            }
+        }
+        return -1;
+    }
+
+    private static char[] grow(char[] out) {
+        char[] larger = new char[out.length * 2];
+        System.arraycopy(out, 0, larger, 0, out.length);
+        return larger;
+    }
+
+    /**
+     * articleLink 메서드는 기사 링크를 정규화합니다. 같은 기사를 가리키는 네이버 링크 변형은 하나의 문자열이 됩니다.
+     *
+     * @param raw API 응답의 link 값
+     * @return 정규화된 링크
+     */
+    public static String articleLink(String raw) {
+        String link = raw.trim();
+        int schemeEnd = link.indexOf("://");
+        if (schemeEnd < 0) {
+            return stripQuery(link);
+        }
+        int hostStart = schemeEnd + 3;
+        int pathStart = indexOfAny(link, hostStart, '/', '?', '#');
+        String host = link.substring(hostStart, pathStart).toLowerCase();
+        if (!host.endsWith("naver.com")) {
+            return withoutTrackingParams(link);
+        }
+
+        int queryStart = indexOfAny(link, pathStart, '?', '#');
+        String oid = queryParam(link, queryStart, "oid");
+        String aid = queryParam(link, queryStart, "aid");
+        if (oid != null && aid != null) {
+            // 쿼리로 기사를 지정하는 예전 형식 (news.naver.com/main/read.nhn?oid=...&aid=... 등)
+            String base = host.contains("sports") ? "https://m.sports.naver.com/article/"
+                    : host.contains("entertain") ? "https://m.entertain.naver.com/article/"
+                    : "https://n.news.naver.com/mnews/article/";
+            return base + oid + "/" + aid;
+        }
+
+        int pathEnd = queryStart;
+        while (pathEnd > pathStart + 1 && link.charAt(pathEnd - 1) == '/') {
+            pathEnd--;
+        }
+        String path = link.substring(pathStart, pathEnd);
+        switch (host) {
+            case "news.naver.com":
+            case "m.news.naver.com":
+            case "n.news.naver.com":
+                host = "n.news.naver.com";
+                if (path.startsWith("/article/")) {
+                    path = "/mnews" + path;
+                }
+                break;
+            case "sports.naver.com":
+            case "sports.news.naver.com":
+                host = "m.sports.naver.com";
+                break;
+            case "entertain.naver.com":
+            case "entertain.news.naver.com":
+                host = "m.entertain.naver.com";
+                break;
+            default:
+                break;
+        }
+        return "https://" + host + path;
+    }
+
+    /**
+     * legacyLink 메서드는 정규화된 링크가 정규화 이전에 전송 기록에 남던 형식(쿼리와 fragment를 모두 버린 링크)과 다르면
+     * 그 형식을 반환합니다. 네이버 링크는 예전에도 쿼리 없는 경로가 기사를 가리켰으므로 다루지 않습니다.
+     *
+     * @param link articleLink()로 정규화된 링크
+     * @return 예전 형식의 링크, 정규화된 링크와 같으면 null
+     */
+    public static String legacyLink(String link) {
+        int queryStart = link.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+        int schemeEnd = link.indexOf("://");
+        if (schemeEnd >= 0) {
+            int hostStart = schemeEnd + 3;
+            String host = link.substring(hostStart, indexOfAny(link, hostStart, '/', '?', '#')).toLowerCase();
+            if (host.endsWith("naver.com")) {
+                return null;
+            }
+        }
+        return link.substring(0, queryStart);
+    }
+
+    /**
+     * stripQuery 메서드는 URL에서 쿼리와 fragment를 제거합니다.
+     */
+    public static String stripQuery(String url) {
+        int end = indexOfAny(url, 0, '?', '#');
+        return end == url.length() ? url : url.substring(0, end);
+    }
+
+    /**
+     * withoutTrackingParams 메서드는 네이버 외 언론사 링크에서 fragment와 추적용 쿼리 파라미터만 제거합니다.
+     */
+    private static String withoutTrackingParams(String link) {
+        int fragment = link.indexOf('#');
+        int end = fragment < 0 ? link.length() : fragment;
+        int queryStart = link.indexOf('?');
+        if (queryStart < 0 || queryStart > end) {
+            return link.substring(0, end);
+        }
+        StringBuilder sb = new StringBuilder(end).append(link, 0, queryStart);
+        char separator = '?';
+        int paramStart = queryStart + 1;
+        while (paramStart < end) {
+            int paramEnd = link.indexOf('&', paramStart);
+            if (paramEnd < 0 || paramEnd > end) {
+                paramEnd = end;
+            }
+            if (paramEnd > paramStart && !isTrackingParam(link, paramStart)) {
+                sb.append(separator).append(link, paramStart, paramEnd);
+                separator = '&';
+            }
+            paramStart = paramEnd + 1;
+        }
+        return sb.toString();
+    }
+
+    private static boolean isTrackingParam(String link, int paramStart) {
+        for (String prefix : TRACKING_PARAMS) {
+            if (link.regionMatches(true, paramStart, prefix, 0, prefix.length())) {
+                int after = paramStart + prefix.length();
+                if (prefix.endsWith("_") || after == link.length() || link.charAt(after) == '=' || link.charAt(after) == '&') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * queryParam 메서드는 queryStart('?' 위치)부터 시작하는 쿼리에서 이름이 name인 파라미터 값을 찾습니다.
+     */
+    private static String queryParam(String link, int queryStart, String name) {
+        if (queryStart >= link.length() || link.charAt(queryStart) != '?') {
+            return null;
+        }
+        int end = link.indexOf('#', queryStart);
+        if (end < 0) {
+            end = link.length();
+        }
+        int paramStart = queryStart + 1;
+        while (paramStart < end) {
+            int paramEnd = link.indexOf('&', paramStart);
+            if (paramEnd < 0 || paramEnd > end) {
+                paramEnd = end;
+            }
+            int valueStart = paramStart + name.length() + 1;
+            if (valueStart <= paramEnd && link.startsWith(name, paramStart) && link.charAt(paramStart + name.length()) == '=') {
+                return valueStart < paramEnd ? link.substring(valueStart, paramEnd) : null;
+            }
+            paramStart = paramEnd + 1;
+        }
+        return null;
+    }
+
+    private static int indexOfAny(String s, int from, char a, char b) {
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == a || c == b) {
+                return i;
+            }
+        }
+        return s.length();
+    }
+
+    private static int indexOfAny(String s, int from, char a, char b, char c) {
+        for (int i = from; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if (ch == a || ch == b || ch == c) {
+                return i;
+            }
+        }
+        return s.length();
+    }
+}
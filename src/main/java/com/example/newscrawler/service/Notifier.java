@@ -1,5 +1,16 @@
 package com.example.newscrawler.service;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface Notifier {
     void notify(String title, String articleLink, String imageUrl);
+
+    /**
+     * notifyAsync 메서드는 알림 전송을 요청하고, 전송이 확인되면 완료되는 Future를 반환합니다.
+     * 전송에 끝내 실패하면 Future는 예외와 함께 완료됩니다. 기본 구현은 notify를 바로 호출합니다.
+     */
+    default CompletableFuture<Void> notifyAsync(String title, String articleLink, String imageUrl) {
+        notify(title, articleLink, imageUrl);
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -0,0 +1,245 @@
+/**
+ * OpenGraphImageExtractor 클래스는 기사 페이지의 <head>에서 대표 이미지 주소(og:image)를 찾습니다.
+ * - 공유 HttpClient(HTTP/2, 연결 재사용)로 기사 페이지를 요청하고, 응답 본문을 바이트 단위로 흘려 읽으며 <meta> 태그만 해석합니다.
+ * - og:image(또는 og:image:url, og:image:secure_url)를 찾는 즉시, 혹은 </head>나 <body>를 만나면 읽기를 멈추고
+ *   스트림을 닫아 나머지 본문은 받지 않습니다. 이상한 페이지에 대비해 최대 maxHeadBytes까지만 읽습니다.
+ * - og:image가 없으면 twitter:image를 대신 사용합니다.
+ * - 주석과 <script>, <style> 안의 내용은 건너뛰어, 스크립트 문자열 속의 태그 모양 텍스트를 태그로 오인하지 않습니다.
+ * - 상대 주소는 기사 주소를 기준으로 절대 주소로 바꾸고, 속성 값의 &amp;는 &로 바꿉니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+public class OpenGraphImageExtractor {
+    static final int DEFAULT_MAX_HEAD_BYTES = 256 * 1024;
+    private static final int MAX_TAG_BYTES = 8 * 1024;
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; NaverSportsNewsCrawler)";
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final int maxHeadBytes;
+    private final Logger logger;
+
+    public OpenGraphImageExtractor(HttpClient client, Logger logger) {
+        this(client, Duration.ofSeconds(5), DEFAULT_MAX_HEAD_BYTES, logger);
+    }
+
+    public OpenGraphImageExtractor(HttpClient client, Duration timeout, int maxHeadBytes, Logger logger) {
+        this.client = client;
+        this.timeout = timeout;
+        this.maxHeadBytes = maxHeadBytes;
+        this.logger = logger;
+    }
+
+    /**
+     * find 메서드는 기사 페이지를 요청하여 대표 이미지 주소를 찾습니다.
+     *
+     * @param articleUrl 기사 주소
+     * @return 대표 이미지의 절대 주소, 찾지 못하면 null
+     * @throws IOException          요청이 실패한 경우
+     * @throws InterruptedException 요청을 기다리는 중 인터럽트된 경우
+     */
+    public String find(String articleUrl) throws IOException, InterruptedException {
+        URI uri = URI.create(articleUrl);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                logger.fine("Article page returned " + response.statusCode() + ": " + articleUrl);
+                return null;
+            }
+            String image = scan(body, maxHeadBytes);
+            return image == null ? null : response.uri().resolve(image.trim()).toString();
+        }
+    }
+
+    /**
+     * scan 메서드는 HTML 스트림의 <head>에서 대표 이미지 주소를 찾습니다. 찾는 즉시 읽기를 멈춥니다.
+     *
+     * @param in       HTML 스트림 (닫지 않습니다)
+     * @param maxBytes 최대로 읽을 바이트 수
+     * @return 속성 값 그대로의 이미지 주소 (상대 주소일 수 있음), 없으면 null
+     */
+    static String scan(InputStream in, int maxBytes) throws IOException {
+        byte[] buffer = new byte[8192];
+        ByteArrayOutputStream tag = new ByteArrayOutputStream(256);
+        boolean inTag = false;
+        boolean tagOverflow = false;
+        // 주석, <script>, <style> 안에서는 이 종료 표시를 만날 때까지 건너뜀
+        byte[] skipUntil = null;
+        int skipMatched = 0;
+        String fallback = null;
+        int total = 0;
+
+        int read;
+        while (total < maxBytes && (read = in.read(buffer, 0, Math.min(buffer.length, maxBytes - total))) > 0) {
+            total += read;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (skipUntil != null) {
+                    if (lowerAscii(b) == skipUntil[skipMatched]) {
+                        skipMatched++;
+                    } else if (!(b == '-' && skipMatched == 2 && skipUntil[0] == '-')) {
+                        // "--->"처럼 '-'가 더 이어지는 주석 끝은 일치한 "--"를 유지
+                        skipMatched = lowerAscii(b) == skipUntil[0] ? 1 : 0;
+                    }
+                    if (skipMatched == skipUntil.length) {
+                        skipUntil = null;
+                        skipMatched = 0;
+                    }
+                    continue;
+                }
+                if (!inTag) {
+                    if (b == '<') {
+                        inTag = true;
+                        tagOverflow = false;
+                        tag.reset();
+                    }
+                    continue;
+                }
+                if (tag.size() == 3 && tag.toString(StandardCharsets.ISO_8859_1).equals("!--")) {
+                    // 주석: "-->"까지 건너뜀
+                    inTag = false;
+                    skipUntil = "-->".getBytes(StandardCharsets.ISO_8859_1);
+                    skipMatched = b == '-' ? 1 : 0;
+                    continue;
+                }
+                if (b != '>') {
+                    if (tag.size() < MAX_TAG_BYTES) {
+                        tag.write(b);
+                    } else {
+                        tagOverflow = true;
+                    }
+                    continue;
+                }
+
+                inTag = false;
+                if (tagOverflow) {
+                    continue;
+                }
+                String content = tag.toString(StandardCharsets.UTF_8);
+                String name = tagName(content);
+                switch (name) {
+                    case "meta": {
+                        String key = attribute(content, "property");
+                        if (key == null) {
+                            key = attribute(content, "name");
+                        }
+                        if (key == null) {
+                            break;
+                        }
+                        key = key.toLowerCase(Locale.ROOT);
+                        String value = attribute(content, "content");
+                        if (value == null || value.isBlank()) {
+                            break;
+                        }
+                        if (key.equals("og:image") || key.equals("og:image:url") || key.equals("og:image:secure_url")) {
+                            return value;
+                        }
+                        if (fallback == null && (key.equals("twitter:image") || key.equals("twitter:image:src"))) {
+                            fallback = value;
+                        }
+                        break;
+                    }
+                    case "script":
+                    case "style":
+                        if (!content.endsWith("/")) {
+                            skipUntil = ("</" + name).getBytes(StandardCharsets.ISO_8859_1);
+                            skipMatched = 0;
+                        }
+                        break;
+                    case "/head":
+                    case "body":
+                        return fallback;
+                    default:
+                        break;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static byte lowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static String tagName(String tag) {
+        int end = tag.startsWith("/") ? 1 : 0;
+        while (end < tag.length() && Character.isLetterOrDigit(tag.charAt(end))) {
+            end++;
+        }
+        return tag.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * attribute 메서드는 태그 내용에서 이름이 name인 속성 값을 찾습니다. 따옴표가 없는 값도 허용합니다.
+     */
+    static String attribute(String tag, String name) {
+        int i = 0;
+        int length = tag.length();
+        // 태그 이름 건너뜀
+        while (i < length && !Character.isWhitespace(tag.charAt(i))) {
+            i++;
+        }
+        while (i < length) {
+            while (i < length && (Character.isWhitespace(tag.charAt(i)) || tag.charAt(i) == '/')) {
+                i++;
+            }
+            int nameStart = i;
+            while (i < length && tag.charAt(i) != '=' && !Character.isWhitespace(tag.charAt(i)) && tag.charAt(i) != '/') {
+                i++;
+            }
+            String attributeName = tag.substring(nameStart, i);
+            while (i < length && Character.isWhitespace(tag.charAt(i))) {
+                i++;
+            }
+            if (i >= length || tag.charAt(i) != '=') {
+                if (attributeName.isEmpty()) {
+                    i++;
+                }
+                continue;
+            }
+            i++;
+            while (i < length && Character.isWhitespace(tag.charAt(i))) {
+                i++;
+            }
+            String value;
+            if (i < length && (tag.charAt(i) == '"' || tag.charAt(i) == '\'')) {
+                char quote = tag.charAt(i);
+                int end = tag.indexOf(quote, i + 1);
+                if (end < 0) {
+                    end = length;
+                }
+                value = tag.substring(i + 1, end);
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < length && !Character.isWhitespace(tag.charAt(i))) {
+                    i++;
+                }
+                value = tag.substring(start, i);
+            }
+            if (attributeName.equalsIgnoreCase(name)) {
+                return value.replace("&amp;", "&");
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,310 @@
+/**
+ * ScheduledApiClient 클래스는 ApiClient 앞에서 네이버 API 호출 속도와 일일 할당량을 관리하는 데코레이터입니다.
+ * - 토큰 버킷으로 초당 요청 수를 제한하고, 하루 요청 수를 파일에 기록하여 실행이 바뀌어도 일일 할당량을 넘지 않게 합니다.
+ * - 뉴스 검색 요청이 대기 중이면 이미지 검색 요청은 토큰을 받지 못하도록 우선순위를 둡니다.
+ * - 429 또는 5xx 응답과 네트워크 오류는 지터(jitter)를 준 지수 백오프로 재시도합니다.
+ * - 429를 받으면 동시 요청 한도를 절반으로 줄이고, 성공이 이어지면 한도를 하나씩 다시 늘립니다(AIMD).
+ * - getStream()과 getConditionalStream()은 본문을 읽는 동안에도 연결을 쓰므로, 동시 요청 자리를 반환된 스트림이 닫힐 때 돌려줍니다.
+ *   본문이 없는 304 응답은 바로 돌려줍니다.
+ * 가상 스레드가 대기 중 캐리어 스레드를 점유하지 않도록 synchronized 대신 ReentrantLock을 사용합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+public class ScheduledApiClient implements ApiClient {
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 8000;
+    private static final int SUCCESSES_PER_INCREASE = 10;
+    private static final int SAVE_EVERY = 20;
+    // 네이버 API의 일일 할당량은 한국 시간 자정에 초기화됩니다.
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("Asia/Seoul");
+
+    private final ApiClient delegate;
+    private final Path quotaFile;
+    private final long dailyQuota;
+    private final double ratePerSecond;
+    private final int maxConcurrency;
+    private final Logger logger;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private int concurrencyLimit;
+    private int inFlight;
+    private int waitingHighPriority;
+    private int successStreak;
+    private LocalDate quotaDate;
+    private long usedToday;
+    private long unsaved;
+
+    public ScheduledApiClient(ApiClient delegate, Path quotaFile, long dailyQuota,
+                              double ratePerSecond, int maxConcurrency, Logger logger) {
+        this.delegate = delegate;
+        this.quotaFile = quotaFile;
+        this.dailyQuota = dailyQuota;
+        this.ratePerSecond = ratePerSecond;
+        this.maxConcurrency = maxConcurrency;
+        this.logger = logger;
+        this.tokens = ratePerSecond;
+        this.concurrencyLimit = maxConcurrency;
+        loadQuota();
+    }
+
+    @Override
+    public String getData(String path, String query, int display, int start, String sort) throws Exception {
+        return schedule(path, () -> delegate.getData(path, query, display, start, sort));
+    }
+
+    @Override
+    public InputStream getStream(String path, String query, int display, int start, String sort) throws Exception {
+        return schedule(path, () -> delegate.getStream(path, query, display, start, sort), SlotReleasingStream::new);
+    }
+
+    @Override
+    public ApiResponse getConditional(String path, String query, int display, int start, String sort,
+                                      String etag, String lastModified) throws Exception {
+        return schedule(path, () -> delegate.getConditional(path, query, display, start, sort, etag, lastModified));
+    }
+
+    @Override
+    public ApiResponse getConditionalStream(String path, String query, int display, int start, String sort,
+                                            String etag, String lastModified) throws Exception {
+        return schedule(path,
+                () -> delegate.getConditionalStream(path, query, display, start, sort, etag, lastModified),
+                response -> {
+                    if (response.getBodyStream() == null) {
+                        release(false);
+                        return response;
+                    }
+                    return ApiResponse.streamed(response.getStatusCode(),
+                            new SlotReleasingStream(response.getBodyStream()),
+                            response.getEtag(), response.getLastModified());
+                });
+    }
+
+    /**
+     * saveQuota 메서드는 오늘 사용한 요청 수를 파일에 기록합니다. 실행 종료 시 한 번 호출해야 합니다.
+     */
+    public void saveQuota() {
+        lock.lock();
+        try {
+            Files.createDirectories(quotaFile.toAbsolutePath().getParent());
+            Files.writeString(quotaFile, quotaDate + " " + usedToday + "\n", StandardCharsets.UTF_8);
+            unsaved = 0;
+        } catch (IOException e) {
+            logger.warning("Failed to save API quota usage: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getUsedToday() {
+        lock.lock();
+        try {
+            rollQuotaDate();
+            return usedToday;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * schedule 메서드는 실행 허가를 얻은 뒤 호출을 수행하고, 재시도 가능한 실패는 백오프 후 다시 시도합니다.
+     *
+     * @param path 호출 경로 ("news.json"은 우선 처리)
+     * @param call 실제 API 호출
+     * @return 호출 결과
+     * @throws Exception 재시도 횟수를 모두 쓰거나 일일 할당량이 소진된 경우
+     */
+    private <T> T schedule(String path, Callable<T> call) throws Exception {
+        return schedule(path, call, null);
+    }
+
+    /**
+     * schedule 메서드는 위와 같되, holdSlot이 주어지면 성공한 결과를 holdSlot으로 감싸 반환하고
+     * 동시 요청 자리는 감싼 결과가 직접 돌려주도록 남겨 둡니다.
+     */
+    private <T> T schedule(String path, Callable<T> call, UnaryOperator<T> holdSlot) throws Exception {
+        boolean highPriority = path.startsWith("news");
+        for (int attempt = 1; ; attempt++) {
+            acquire(highPriority);
+            boolean throttled = false;
+            boolean handedOff = false;
+            try {
+                T result = call.call();
+                onSuccess();
+                if (holdSlot != null) {
+                    result = holdSlot.apply(result);
+                    handedOff = true;
+                }
+                return result;
+            } catch (ApiException e) {
+                throttled = e.getStatusCode() == 429;
+                if (!e.isRetryable() || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warning("API call to " + path + " failed with " + e.getStatusCode() + ", retrying (attempt " + attempt + ")");
+            } catch (IOException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.warning("API call to " + path + " failed: " + e.getMessage() + ", retrying (attempt " + attempt + ")");
+            } finally {
+                if (!handedOff) {
+                    release(throttled);
+                }
+            }
+            // 전체 지터: 0 ~ min(상한, 기본값 * 2^(시도-1)) 사이에서 무작위로 기다립니다.
+            long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    private void acquire(boolean highPriority) throws Exception {
+        lock.lock();
+        try {
+            if (highPriority) {
+                waitingHighPriority++;
+            }
+            try {
+                while (true) {
+                    rollQuotaDate();
+                    if (usedToday >= dailyQuota) {
+                        throw new ApiException(429, "Daily API quota of " + dailyQuota + " requests exhausted");
+                    }
+                    refill();
+                    boolean yieldToHigh = !highPriority && waitingHighPriority > 0;
+                    if (!yieldToHigh && inFlight < concurrencyLimit && tokens >= 1) {
+                        tokens -= 1;
+                        inFlight++;
+                        usedToday++;
+                        if (++unsaved >= SAVE_EVERY) {
+                            saveQuota();
+                        }
+                        return;
+                    }
+                    long waitNanos = tokens >= 1 ? TimeUnit.MILLISECONDS.toNanos(50)
+                            : (long) ((1 - tokens) / ratePerSecond * 1_000_000_000L);
+                    changed.awaitNanos(Math.max(waitNanos, 1_000_000L));
+                }
+            } finally {
+                if (highPriority) {
+                    waitingHighPriority--;
+                    changed.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(boolean throttled) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (throttled) {
+                int reduced = Math.max(1, concurrencyLimit / 2);
+                if (reduced < concurrencyLimit) {
+                    logger.warning("Throttled by API, lowering concurrency to " + reduced);
+                }
+                concurrencyLimit = reduced;
+                successStreak = 0;
+                tokens = 0;
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            if (++successStreak >= SUCCESSES_PER_INCREASE && concurrencyLimit < maxConcurrency) {
+                concurrencyLimit++;
+                successStreak = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(ratePerSecond, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * ratePerSecond);
+        lastRefillNanos = now;
+    }
+
+    private void rollQuotaDate() {
+        LocalDate today = LocalDate.now(QUOTA_ZONE);
+        if (!today.equals(quotaDate)) {
+            quotaDate = today;
+            usedToday = 0;
+        }
+    }
+
+    private void loadQuota() {
+        quotaDate = LocalDate.now(QUOTA_ZONE);
+        if (!Files.exists(quotaFile)) {
+            return;
+        }
+        try {
+            String[] fields = Files.readString(quotaFile, StandardCharsets.UTF_8).trim().split(" ");
+            if (fields.length == 2 && LocalDate.parse(fields[0]).equals(quotaDate)) {
+                usedToday = Long.parseLong(fields[1]);
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to read API quota usage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * SlotReleasingStream 클래스는 응답 본문 스트림이 처음 닫힐 때 동시 요청 자리를 돌려줍니다.
+     */
+    private final class SlotReleasingStream extends FilterInputStream {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        SlotReleasingStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    release(false);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * SubscriptionConfig 클래스는 구독 설정 파일(JSON)을 읽어 공용 검색어 목록과 구독 목록을 만듭니다.
+ * - queries: 모든 구독이 함께 쓰는 넓은 검색어 목록입니다. 검색은 이 검색어로만 하고, 구독별 규칙은 가져온 기사에 적용합니다.
+ * - subscriptions: 구독마다 name, teams, players, keywords와 웹훅 주소를 지정합니다.
+ *   웹훅 주소는 비밀 값이므로 파일에 직접 쓰는 webhook 대신 환경 변수 이름(webhookEnv)으로 지정할 수 있습니다.
+ *   둘 다 없거나 환경 변수가 비어 있으면 기본 웹훅(SLACK_WEBHOOK_URL)을 사용합니다.
+ * 예시는 저장소의 subscriptions.example.json을 참고하십시오.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.Subscription;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class SubscriptionConfig {
+    private final List<String> queries;
+    private final List<Subscription> subscriptions;
+
+    public SubscriptionConfig(List<String> queries, List<Subscription> subscriptions) {
+        this.queries = List.copyOf(queries);
+        this.subscriptions = List.copyOf(subscriptions);
+    }
+
+    public List<String> getQueries() {
+        return queries;
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * load 메서드는 구독 설정 파일을 읽습니다.
+     *
+     * @param file              설정 파일 경로
+     * @param defaultWebhookUrl 웹훅을 지정하지 않은 구독에 사용할 웹훅 주소
+     * @param logger            로거
+     * @return 읽은 설정
+     * @throws IOException 파일을 읽을 수 없거나 형식이 잘못된 경우
+     */
+    public static SubscriptionConfig load(Path file, String defaultWebhookUrl, Logger logger) throws IOException {
+        JSONObject root;
+        try {
+            root = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+        } catch (JSONException e) {
+            throw new IOException("Invalid subscription config " + file + ": " + e.getMessage(), e);
+        }
+
+        List<String> queries = strings(root.optJSONArray("queries"));
+        List<Subscription> subscriptions = new ArrayList<>();
+        JSONArray entries = root.optJSONArray("subscriptions");
+        for (int i = 0; entries != null && i < entries.length(); i++) {
+            JSONObject entry = entries.getJSONObject(i);
+            String name = entry.optString("name", "subscription-" + (i + 1));
+            String webhookUrl = entry.optString("webhook", "");
+            String webhookEnv = entry.optString("webhookEnv", "");
+            if (webhookUrl.isEmpty() && !webhookEnv.isEmpty()) {
+                webhookUrl = System.getenv(webhookEnv);
+            }
+            if (webhookUrl == null || webhookUrl.isEmpty()) {
+                logger.warning("No webhook for subscription '" + name + "', using the default webhook");
+                webhookUrl = defaultWebhookUrl;
+            }
+            subscriptions.add(new Subscription(name, webhookUrl, strings(entry.optJSONArray("teams")),
+                    strings(entry.optJSONArray("players")), strings(entry.optJSONArray("keywords"))));
+        }
+        logger.info("Loaded " + subscriptions.size() + " subscription(s) sharing " + queries.size() + " query(ies) from " + file);
+        return new SubscriptionConfig(queries, subscriptions);
+    }
+
+    private static List<String> strings(JSONArray array) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; array != null && i < array.length(); i++) {
+            String value = array.getString(i).trim();
+            if (!value.isEmpty()) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+}
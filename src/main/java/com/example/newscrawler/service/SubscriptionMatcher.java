@@ -0,0 +1,53 @@
+/**
+ * SubscriptionMatcher 클래스는 기사 하나를 모든 구독 규칙과 한 번에 비교합니다.
+ * - 구독마다 팀/선수/키워드 규칙을 묶음 하나로 하여 TermMatcher(Aho-Corasick)를 만들므로,
+ *   규칙 수와 상관없이 제목과 설명을 한 번만 훑어 일치하는 구독을 모두 찾습니다. 정규화와 경계 검사는 TermMatcher를 따릅니다.
+ * - 규칙이 없는 구독은 모든 기사와 일치합니다.
+ * - 생성 후에는 상태를 바꾸지 않으므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.model.Subscription;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class SubscriptionMatcher {
+    private final List<Subscription> subscriptions;
+    private final BitSet catchAll = new BitSet();
+    private final TermMatcher termMatcher;
+
+    public SubscriptionMatcher(List<Subscription> subscriptions) {
+        this.subscriptions = List.copyOf(subscriptions);
+        List<List<String>> termGroups = new ArrayList<>(this.subscriptions.size());
+        for (int s = 0; s < this.subscriptions.size(); s++) {
+            Subscription subscription = this.subscriptions.get(s);
+            if (subscription.isCatchAll()) {
+                catchAll.set(s);
+                termGroups.add(List.of());
+            } else {
+                termGroups.add(subscription.getTerms());
+            }
+        }
+        this.termMatcher = new TermMatcher(termGroups);
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * match 메서드는 기사와 일치하는 구독 번호(getSubscriptions()의 위치)를 반환합니다.
+     *
+     * @param newsItem 비교할 기사
+     * @return 일치하는 구독 번호의 집합, 규칙이 없는 구독은 항상 포함됩니다.
+     */
+    public BitSet match(NewsItem newsItem) {
+        BitSet matched = (BitSet) catchAll.clone();
+        termMatcher.match(newsItem, matched);
+        return matched;
+    }
+}
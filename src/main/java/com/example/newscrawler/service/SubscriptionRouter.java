@@ -0,0 +1,113 @@
+/**
+ * SubscriptionRouter 클래스는 검색된 기사를 구독별 알림 채널(Notifier)로 나누어 보냅니다.
+ * - 기사마다 SubscriptionMatcher로 모든 구독 규칙을 한 번에 비교하고, 구독마다 아직 전송되지 않은 순위가 높은 기사를
+ *   최대 perSubscription개까지 고릅니다. 한 기사가 여러 구독과 일치하면 각 구독의 Notifier로 한 번씩 보냅니다.
+ * - 몇 개의 넓은 검색어로 가져온 기사를 여러 구독이 나누어 쓰므로, API 호출 수는 구독 수가 아니라 검색어 수에 비례합니다.
+ * - single()은 모든 기사와 일치하는 구독 하나로 구성된 라우터를 만들며, 구독 설정이 없을 때의 기존 동작과 같습니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+import com.example.newscrawler.model.Subscription;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+public class SubscriptionRouter {
+    private final SubscriptionMatcher matcher;
+    private final List<Notifier> notifiers;
+    private final Logger logger;
+
+    /**
+     * @param subscriptions 구독 목록
+     * @param notifiers     구독과 같은 순서의 알림 채널 목록 (같은 웹훅을 쓰는 구독은 같은 Notifier를 공유할 수 있습니다)
+     * @param logger        로거
+     */
+    public SubscriptionRouter(List<Subscription> subscriptions, List<Notifier> notifiers, Logger logger) {
+        if (subscriptions.size() != notifiers.size()) {
+            throw new IllegalArgumentException("Expected one notifier per subscription");
+        }
+        this.matcher = new SubscriptionMatcher(subscriptions);
+        this.notifiers = List.copyOf(notifiers);
+        this.logger = logger;
+    }
+
+    /**
+     * single 메서드는 모든 기사를 하나의 Notifier로 보내는 라우터를 만듭니다.
+     */
+    public static SubscriptionRouter single(Notifier notifier, Logger logger) {
+        Subscription all = new Subscription("default", null, List.of(), List.of(), List.of());
+        return new SubscriptionRouter(List.of(all), List.of(notifier), logger);
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return matcher.getSubscriptions();
+    }
+
+    /**
+     * matchesAny 메서드는 기사와 일치하는 구독이 하나라도 있는지 확인합니다.
+     */
+    public boolean matchesAny(NewsItem newsItem) {
+        return !matcher.match(newsItem).isEmpty();
+    }
+
+    public Notifier notifierFor(Subscription subscription) {
+        return notifiers.get(matcher.getSubscriptions().indexOf(subscription));
+    }
+
+    /**
+     * route 메서드는 순위순(NewsRankingStage)으로 정렬된 기사 중 구독마다 아직 전송되지 않은 기사를 perSubscription개까지 고릅니다.
+     * 모든 구독이 perSubscription개를 채우면 남은 기사는 비교하지 않습니다.
+     *
+     * @param newsItems       순위순으로 정렬된 기사 목록
+     * @param sentArticles    이미 전송된 기사 링크의 집합
+     * @param perSubscription 구독마다 보낼 최대 기사 수
+     * @return 선택된 기사와 그 기사를 받을 구독 목록 (기사 순서는 입력 순서를 따릅니다)
+     */
+    public Map<NewsItem, List<Subscription>> route(List<NewsItem> newsItems, Set<String> sentArticles,
+                                                   int perSubscription) {
+        List<Subscription> subscriptions = matcher.getSubscriptions();
+        int[] selectedCounts = new int[subscriptions.size()];
+        int open = subscriptions.size();
+        Map<NewsItem, List<Subscription>> routes = new LinkedHashMap<>();
+
+        for (NewsItem newsItem : newsItems) {
+            if (open == 0) {
+                break;
+            }
+            if (sentArticles.contains(newsItem.getLink())) {
+                continue;
+            }
+            BitSet matched = matcher.match(newsItem);
+            List<Subscription> targets = null;
+            for (int s = matched.nextSetBit(0); s >= 0; s = matched.nextSetBit(s + 1)) {
+                if (selectedCounts[s] >= perSubscription) {
+                    continue;
+                }
+                if (++selectedCounts[s] == perSubscription) {
+                    open--;
+                }
+                if (targets == null) {
+                    targets = new ArrayList<>(matched.cardinality());
+                }
+                targets.add(subscriptions.get(s));
+            }
+            if (targets != null) {
+                routes.put(newsItem, targets);
+            }
+        }
+
+        if (subscriptions.size() > 1) {
+            for (int s = 0; s < subscriptions.size(); s++) {
+                logger.fine("Subscription '" + subscriptions.get(s).getName() + "': " + selectedCounts[s] + " article(s)");
+            }
+        }
+        return routes;
+    }
+}
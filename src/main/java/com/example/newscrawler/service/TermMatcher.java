@@ -0,0 +1,261 @@
+/**
+ * TermMatcher 클래스는 여러 묶음의 검색 규칙을 기사 하나와 한 번에 비교하는 Aho-Corasick 자동자입니다.
+ * - 모든 규칙을 하나의 트라이(trie)로 만들고 실패 링크(failure link)를 연결하므로,
+ *   규칙 수와 상관없이 제목과 설명을 한 번만 훑어 일치하는 묶음을 모두 찾습니다.
+ * - 규칙과 기사 본문은 같은 방식으로 정규화합니다: 영문은 소문자로 바꾸고, 글자와 숫자 외의 문자(공백, 문장 부호,
+ *   강조 표시 ** 등)는 건너뜁니다. 따라서 "LG 트윈스" 규칙은 "LG트윈스", "lg 트윈스"와도 일치합니다.
+ * - 영문/숫자로 시작하거나 끝나는 규칙(KT, NC 등)은 앞뒤에 다른 영문/숫자가 붙어 있으면 일치로 보지 않습니다 (KTX, SYNC 등).
+ *   한글 규칙은 조사가 바로 붙으므로("김도영이") 이 경계 검사를 하지 않습니다.
+ * - 제목과 설명은 별도로 훑으므로 두 필드에 걸친 일치는 생기지 않습니다.
+ * - SubscriptionMatcher는 구독마다, NewsRankingStage는 검색어 단어마다 묶음 하나를 만들어 사용합니다.
+ * - 생성 후에는 상태를 바꾸지 않으므로 여러 스레드에서 동시에 사용할 수 있습니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TermMatcher {
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final int groupCount;
+
+    // 상태 s의 전이는 keys/targets[transitionStart[s] .. transitionStart[s + 1]) 구간에 문자 순으로 정렬되어 있습니다.
+    private final int[] transitionStart;
+    private final char[] keys;
+    private final int[] targets;
+    private final int[] fail;
+    // 상태에 도달했을 때 끝나는 규칙 번호 (실패 링크로 이어진 상태의 규칙 포함)
+    private final int[][] outputs;
+
+    private final int[] termLength;
+    private final boolean[] termLeadingBoundary;
+    private final boolean[] termTrailingBoundary;
+    private final int[] termGroup;
+
+    /**
+     * @param termGroups 규칙 묶음 목록. 묶음의 규칙 중 하나라도 일치하면 그 묶음 번호(목록의 위치)가 일치합니다.
+     *                   정규화 후 비어 있는 규칙은 무시합니다.
+     */
+    public TermMatcher(List<? extends Collection<String>> termGroups) {
+        this.groupCount = termGroups.size();
+
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        List<String> normalizedTerms = new ArrayList<>();
+
+        for (int g = 0; g < groupCount; g++) {
+            for (String term : termGroups.get(g)) {
+                String normalized = normalize(term);
+                if (normalized.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < normalized.length(); i++) {
+                    Integer next = trie.get(state).get(normalized.charAt(i));
+                    if (next == null) {
+                        next = trie.size();
+                        trie.get(state).put(normalized.charAt(i), next);
+                        trie.add(new TreeMap<>());
+                        ends.add(new ArrayList<>());
+                    }
+                    state = next;
+                }
+                ends.get(state).add(lengths.size());
+                lengths.add(normalized.length());
+                owners.add(g);
+                normalizedTerms.add(normalized);
+            }
+        }
+
+        int stateCount = trie.size();
+        transitionStart = new int[stateCount + 1];
+        int transitionCount = 0;
+        for (int state = 0; state < stateCount; state++) {
+            transitionStart[state] = transitionCount;
+            transitionCount += trie.get(state).size();
+        }
+        transitionStart[stateCount] = transitionCount;
+        keys = new char[transitionCount];
+        targets = new int[transitionCount];
+        for (int state = 0; state < stateCount; state++) {
+            int t = transitionStart[state];
+            for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                keys[t] = edge.getKey();
+                targets[t] = edge.getValue();
+                t++;
+            }
+        }
+
+        // 너비 우선으로 실패 링크를 연결합니다. 부모의 실패 링크가 먼저 정해지므로 출력도 함께 합칠 수 있습니다.
+        fail = new int[stateCount];
+        outputs = new int[stateCount][];
+        outputs[0] = NO_OUTPUTS;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int t = transitionStart[0]; t < transitionStart[1]; t++) {
+            int child = targets[t];
+            fail[child] = 0;
+            outputs[child] = toArray(ends.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int t = transitionStart[state]; t < transitionStart[state + 1]; t++) {
+                int child = targets[t];
+                int fallback = fail[state];
+                int next;
+                while ((next = transition(fallback, keys[t])) < 0 && fallback != 0) {
+                    fallback = fail[fallback];
+                }
+                fail[child] = next < 0 ? 0 : next;
+                outputs[child] = merge(toArray(ends.get(child)), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+
+        int termCount = lengths.size();
+        termLength = new int[termCount];
+        termLeadingBoundary = new boolean[termCount];
+        termTrailingBoundary = new boolean[termCount];
+        termGroup = new int[termCount];
+        for (int i = 0; i < termCount; i++) {
+            String term = normalizedTerms.get(i);
+            termLength[i] = lengths.get(i);
+            termLeadingBoundary[i] = isAsciiAlphanumeric(term.charAt(0));
+            termTrailingBoundary[i] = isAsciiAlphanumeric(term.charAt(term.length() - 1));
+            termGroup[i] = owners.get(i);
+        }
+    }
+
+    public int getGroupCount() {
+        return groupCount;
+    }
+
+    /**
+     * match 메서드는 기사와 일치하는 묶음 번호를 matched에 더합니다.
+     *
+     * @param newsItem 비교할 기사
+     * @param matched  일치한 묶음 번호를 더할 집합
+     */
+    public void match(NewsItem newsItem, BitSet matched) {
+        if (termLength.length == 0) {
+            return;
+        }
+        scan(newsItem.getTitle(), matched);
+        if (newsItem.getDescription() != null) {
+            scan(newsItem.getDescription(), matched);
+        }
+    }
+
+    private void scan(String text, BitSet matched) {
+        // 경계 검사를 위해 정규화한 문자와, 그 앞에 건너뛴 문자(공백 등)가 있었는지를 보관합니다.
+        // 끝에 한 칸을 두어 마지막 문자 다음 위치를 0으로 둡니다.
+        char[] normalized = new char[text.length() + 1];
+        boolean[] separated = new boolean[text.length() + 1];
+        int n = 0;
+        boolean skipped = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalizeChar(text.charAt(i));
+            if (c == 0) {
+                skipped = true;
+                continue;
+            }
+            separated[n] = skipped;
+            normalized[n++] = c;
+            skipped = false;
+        }
+
+        int state = 0;
+        for (int i = 0; i < n; i++) {
+            char c = normalized[i];
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next < 0 ? 0 : next;
+            for (int term : outputs[state]) {
+                int start = i + 1 - termLength[term];
+                if (termLeadingBoundary[term] && start > 0 && !separated[start]
+                        && isAsciiAlphanumeric(normalized[start - 1])) {
+                    continue;
+                }
+                if (termTrailingBoundary[term] && !separated[i + 1] && isAsciiAlphanumeric(normalized[i + 1])) {
+                    continue;
+                }
+                matched.set(termGroup[term]);
+            }
+        }
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(keys, transitionStart[state], transitionStart[state + 1], c);
+        return index < 0 ? -1 : targets[index];
+    }
+
+    /**
+     * normalize 메서드는 규칙 문자열을 기사 본문과 같은 방식으로 정규화합니다.
+     */
+    static String normalize(String term) {
+        StringBuilder sb = new StringBuilder(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            char c = normalizeChar(term.charAt(i));
+            if (c != 0) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * normalizeChar 메서드는 비교에 쓰는 문자를 반환합니다. 건너뛸 문자이면 0을 반환합니다.
+     */
+    private static char normalizeChar(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        if (c < 0x80) {
+            return isAsciiAlphanumeric(c) ? c : 0;
+        }
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : 0;
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values.isEmpty()) {
+            return NO_OUTPUTS;
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (inherited.length == 0) {
+            return own;
+        }
+        if (own.length == 0) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * JournaledNewsRepositoryTest 클래스는 비정상 종료 후 저널 재생을 검증합니다.
+ * - 각 테스트는 저널을 쓰다가 flush 없이 채널만 닫아 종료를 흉내 내고, 새 인스턴스를 열어 재생 결과를 확인합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import com.example.newscrawler.model.NewsItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledNewsRepositoryTest {
+    private static final Logger logger = Logger.getLogger(JournaledNewsRepositoryTest.class.getName());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysEachStateAndTruncatesTheJournal() throws IOException {
+        Path journalPath = dir.resolve("news_journal.log");
+        NewsItem selected = item("selected");
+        NewsItem notified = item("notified");
+        NewsItem saved = item("saved");
+        NewsItem failed = item("failed");
+
+        RecordingNewsRepository first = new RecordingNewsRepository();
+        JournaledNewsRepository journal = new JournaledNewsRepository(first, journalPath, logger);
+        journal.beginDelivery(List.of(selected, notified, saved, failed), Map.of(notified.getTitle(), "notified.jpg"));
+        journal.recordDelivery(List.of(notified, saved), List.of(failed));
+        journal.saveNews(List.of(saved), Map.of());
+        journal.close();
+        assertTrue(Files.size(journalPath) > 0);
+
+        RecordingNewsRepository second = new RecordingNewsRepository();
+        new JournaledNewsRepository(second, journalPath, logger).close();
+
+        // SELECTED는 다시 알리지 않고 저장, NOTIFIED는 저장, SAVED는 전송 기록만, FAILED는 다음 실행에서 다시 선택
+        assertEquals(List.of(notified.getLink(), selected.getLink()), second.saved.stream().sorted().toList());
+        assertEquals("notified.jpg", second.images.get(notified.getTitle()));
+        assertEquals(List.of(notified.getLink(), saved.getLink(), selected.getLink()),
+                second.marked.stream().sorted().toList());
+        assertEquals(1, second.flushes);
+        assertEquals(0, Files.size(journalPath));
+
+        RecordingNewsRepository third = new RecordingNewsRepository();
+        new JournaledNewsRepository(third, journalPath, logger).close();
+        assertTrue(third.saved.isEmpty());
+        assertTrue(third.marked.isEmpty());
+    }
+
+    @Test
+    void completedDeliveryLeavesNothingToReplay() throws IOException {
+        Path journalPath = dir.resolve("news_journal.log");
+        NewsItem newsItem = item("done");
+        JournaledNewsRepository journal = new JournaledNewsRepository(new RecordingNewsRepository(), journalPath, logger);
+        journal.beginDelivery(List.of(newsItem), Map.of());
+        journal.recordDelivery(List.of(newsItem), List.of());
+        journal.saveNews(List.of(newsItem), Map.of());
+        journal.markArticleAsSent(newsItem.getLink());
+        journal.flush();
+        journal.close();
+
+        RecordingNewsRepository second = new RecordingNewsRepository();
+        new JournaledNewsRepository(second, journalPath, logger).close();
+        assertTrue(second.saved.isEmpty());
+        assertTrue(second.marked.isEmpty());
+    }
+
+    @Test
+    void ignoresTornTailRecord() throws IOException {
+        Path journalPath = dir.resolve("news_journal.log");
+        NewsItem newsItem = item("torn");
+        JournaledNewsRepository journal = new JournaledNewsRepository(new RecordingNewsRepository(), journalPath, logger);
+        journal.beginDelivery(List.of(newsItem), Map.of());
+        journal.recordDelivery(List.of(newsItem), List.of());
+        journal.close();
+        long complete = Files.size(journalPath);
+
+        // 다음 레코드의 헤더와 내용 일부만 쓰인 채 종료된 경우
+        Files.write(journalPath, new byte[]{0, 0, 0, 64, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+        assertEquals(complete + 10, Files.size(journalPath));
+
+        RecordingNewsRepository second = new RecordingNewsRepository();
+        new JournaledNewsRepository(second, journalPath, logger).close();
+        assertEquals(List.of(newsItem.getLink()), second.saved);
+        assertEquals(List.of(newsItem.getLink()), List.copyOf(second.marked));
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    @Test
+    void ignoresTailRecordWithBadChecksum() throws IOException {
+        Path journalPath = dir.resolve("news_journal.log");
+        NewsItem newsItem = item("corrupt");
+        JournaledNewsRepository journal = new JournaledNewsRepository(new RecordingNewsRepository(), journalPath, logger);
+        journal.beginDelivery(List.of(newsItem), Map.of());
+        journal.recordDelivery(List.of(newsItem), List.of());
+        journal.saveNews(List.of(newsItem), Map.of());
+        journal.close();
+
+        // 마지막 레코드(SAVED)의 내용 한 바이트를 바꾸면 CRC가 맞지 않아 NOTIFIED까지만 재생됨
+        byte[] bytes = Files.readAllBytes(journalPath);
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(journalPath, bytes);
+
+        RecordingNewsRepository second = new RecordingNewsRepository();
+        new JournaledNewsRepository(second, journalPath, logger).close();
+        assertEquals(List.of(newsItem.getLink()), second.saved);
+        assertEquals(List.of(newsItem.getLink()), List.copyOf(second.marked));
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    private static NewsItem item(String id) {
+        return new NewsItem("제목 " + id, "https://example.com/" + id, "설명 " + id, new Date(1_790_000_000_000L),
+                "Sat, 17 Oct 2026 12:00:00 +0900");
+    }
+}
@@ -0,0 +1,145 @@
+/**
+ * MappedNewsRepositoryTest 클래스는 지문 색인을 그대로 여는 경우와 다시 만드는 경우(크기 확장, dirty, 로그보다 오래된 색인)를 검증합니다.
+ * - 색인을 다시 만들었는지는 로그 메시지("Built sent article index")로 확인합니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedNewsRepositoryTest {
+    private final Logger logger = Logger.getAnonymousLogger();
+    private final List<String> messages = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+    private Path logPath;
+    private Path indexPath;
+
+    @BeforeEach
+    void setUp() {
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        logPath = dir.resolve("sent_articles.txt");
+        indexPath = dir.resolve(".cache").resolve("sent_articles.idx");
+    }
+
+    @Test
+    void migratesExistingLogAndReopensWithoutRebuild() throws IOException {
+        Files.writeString(logPath, "https://example.com/a\nhttps://example.com/b\n", StandardCharsets.UTF_8);
+
+        Set<String> sent = open().getSentArticles();
+        assertEquals(1, rebuilds());
+        assertTrue(sent.contains("https://example.com/a"));
+        assertTrue(sent.contains(" https://example.com/b "));
+        assertFalse(sent.contains("https://example.com/c"));
+
+        MappedNewsRepository repository = open();
+        repository.markArticleAsSent("https://example.com/c");
+        repository.flush();
+        assertEquals(1, rebuilds());
+
+        sent = open().getSentArticles();
+        assertEquals(1, rebuilds());
+        assertEquals(3, sent.size());
+        assertTrue(sent.contains("https://example.com/c"));
+        assertEquals(List.of("https://example.com/a", "https://example.com/b", "https://example.com/c"),
+                List.copyOf(sent));
+    }
+
+    @Test
+    void growsTableAndKeepsEveryLink() throws IOException {
+        MappedNewsRepository repository = open();
+        long initialSize = Files.size(indexPath);
+        for (int i = 0; i < 5000; i++) {
+            repository.markArticleAsSent("https://example.com/" + i);
+        }
+        repository.flush();
+        assertTrue(Files.size(indexPath) > initialSize);
+
+        Set<String> sent = open().getSentArticles();
+        assertEquals(1, rebuilds());
+        assertEquals(5000, sent.size());
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(sent.contains("https://example.com/" + i), "missing link " + i);
+        }
+        assertFalse(sent.contains("https://example.com/5000"));
+    }
+
+    @Test
+    void rebuildsWhenClosedWithoutFlush() throws IOException {
+        MappedNewsRepository repository = open();
+        repository.markArticleAsSent("https://example.com/flushed");
+        repository.flush();
+        repository.markArticleAsSent("https://example.com/pending");
+
+        // flush 전에 종료되면 색인에만 있고 로그에는 없는 지문이 남으므로 로그에서 다시 만듦
+        Set<String> sent = open().getSentArticles();
+        assertEquals(2, rebuilds());
+        assertTrue(sent.contains("https://example.com/flushed"));
+        assertFalse(sent.contains("https://example.com/pending"));
+    }
+
+    @Test
+    void rebuildsWhenLogChangedBehindTheIndex() throws IOException {
+        MappedNewsRepository repository = open();
+        repository.markArticleAsSent("https://example.com/a");
+        repository.flush();
+
+        Files.writeString(logPath, "https://example.com/b\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        Set<String> sent = open().getSentArticles();
+        assertEquals(2, rebuilds());
+        assertTrue(sent.contains("https://example.com/a"));
+        assertTrue(sent.contains("https://example.com/b"));
+    }
+
+    @Test
+    void rebuildsCorruptIndex() throws IOException {
+        MappedNewsRepository repository = open();
+        repository.markArticleAsSent("https://example.com/a");
+        repository.flush();
+
+        Files.write(indexPath, new byte[64]);
+
+        assertTrue(open().getSentArticles().contains("https://example.com/a"));
+        assertEquals(2, rebuilds());
+    }
+
+    private MappedNewsRepository open() {
+        return new MappedNewsRepository(logger, logPath, indexPath, new RecordingNewsRepository());
+    }
+
+    private long rebuilds() {
+        return messages.stream().filter(m -> m.startsWith("Built sent article index")).count();
+    }
+}
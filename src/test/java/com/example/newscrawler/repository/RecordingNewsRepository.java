@@ -0,0 +1,39 @@
+/**
+ * RecordingNewsRepository 클래스는 저장과 전송 기록 호출을 메모리에 남기는 테스트용 NewsRepository입니다.
+ */
+
+package com.example.newscrawler.repository;
+
+import com.example.newscrawler.model.NewsItem;
+
+import java.util.*;
+
+class RecordingNewsRepository implements NewsRepository {
+    final List<String> saved = new ArrayList<>();
+    final Map<String, String> images = new HashMap<>();
+    final Set<String> marked = new LinkedHashSet<>();
+    int flushes;
+
+    @Override
+    public Set<String> getSentArticles() {
+        return new HashSet<>(marked);
+    }
+
+    @Override
+    public void markArticleAsSent(String articleLink) {
+        marked.add(articleLink);
+    }
+
+    @Override
+    public void saveNews(List<NewsItem> newsItems, Map<String, String> newsImages) {
+        for (NewsItem newsItem : newsItems) {
+            saved.add(newsItem.getLink());
+        }
+        images.putAll(newsImages);
+    }
+
+    @Override
+    public void flush() {
+        flushes++;
+    }
+}
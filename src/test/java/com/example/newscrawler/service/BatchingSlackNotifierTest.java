@@ -0,0 +1,97 @@
+/**
+ * BatchingSlackNotifierTest 클래스는 로컬 HTTP 서버를 웹훅으로 사용하여 묶음 전송의 실패 처리를 검증합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingSlackNotifierTest {
+    private static final Logger logger = Logger.getLogger(BatchingSlackNotifierTest.class.getName());
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 본문에 "bad"가 있는 페이로드는 Slack처럼 400으로 거부합니다.
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            requests.incrementAndGet();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] response = (body.contains("bad") ? "invalid_attachments" : "ok").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(body.contains("bad") ? 400 : 200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void rejectedBatchIsSplitSoOnlyTheBadItemFails() throws Exception {
+        try (BatchingSlackNotifier notifier = newNotifier()) {
+            CompletableFuture<Void> good = notifier.notifyAsync("good", "https://example.com/good", "");
+            CompletableFuture<Void> bad = notifier.notifyAsync("bad", "https://example.com/bad", "");
+
+            good.get(10, TimeUnit.SECONDS);
+            ExecutionException error = assertThrows(ExecutionException.class, () -> bad.get(10, TimeUnit.SECONDS));
+            assertTrue(error.getCause().getMessage().contains("400"));
+            // 묶음 한 번, 나눈 뒤 하나씩 두 번
+            assertEquals(3, requests.get());
+        }
+    }
+
+    @Test
+    void notifyAfterCloseCompletesExceptionally() {
+        BatchingSlackNotifier notifier = newNotifier();
+        notifier.close();
+
+        CompletableFuture<Void> result = notifier.notifyAsync("late", "https://example.com/late", "");
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, requests.get());
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndHttpDate() {
+        assertEquals(30_000, BatchingSlackNotifier.parseRetryAfter(" 30 ", 1000));
+
+        String inAMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(60));
+        long millis = BatchingSlackNotifier.parseRetryAfter(inAMinute, 1000);
+        assertTrue(millis > 55_000 && millis <= 60_000, "unexpected wait " + millis);
+
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().minusSeconds(60));
+        assertEquals(0, BatchingSlackNotifier.parseRetryAfter(past, 1000));
+        assertEquals(1000, BatchingSlackNotifier.parseRetryAfter("soon", 1000));
+    }
+
+    private BatchingSlackNotifier newNotifier() {
+        String webhookUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+        return new BatchingSlackNotifier(HttpClient.newHttpClient(), webhookUrl, 16,
+                Duration.ofMillis(500), 10, logger);
+    }
+}
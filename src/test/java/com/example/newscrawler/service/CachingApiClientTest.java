@@ -0,0 +1,155 @@
+/**
+ * CachingApiClientTest 클래스는 스트림 응답(getStream)이 캐시에 기록되는 경우와 기록되지 않는 경우를 검증합니다.
+ * - 위임 ApiClient는 미리 만든 뉴스 검색 응답을 ETag와 함께 돌려주고, 같은 ETag로 재검증하면 304로 응답합니다.
+ *   요청 수와 실제로 읽힌 바이트 수를 셉니다.
+ */
+
+package com.example.newscrawler.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingApiClientTest {
+    private static final Logger logger = Logger.getLogger(CachingApiClientTest.class.getName());
+
+    @TempDir
+    Path cacheDir;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private byte[] body;
+
+    @Test
+    void fullyParsedResponseIsCached() throws Exception {
+        body = newsJson(ZonedDateTime.now(), 20);
+        CachingApiClient client = newClient();
+
+        NewsItemParser.Page first = parse(client, NewsItemParser.recentCutoff());
+        assertEquals(20, first.getItems().size());
+        assertEquals(body.length, bytesRead.get());
+        assertEquals(0, tmpFiles());
+
+        NewsItemParser.Page second = parse(client, NewsItemParser.recentCutoff());
+        assertEquals(20, second.getItems().size());
+        assertEquals(1, requests.get());
+        assertEquals(1, client.getHits());
+    }
+
+    @Test
+    void streamedResponseIsRevalidatedWithItsValidators() throws Exception {
+        body = newsJson(ZonedDateTime.now(), 20);
+        CachingApiClient client = newClient(Duration.ZERO);
+
+        parse(client, NewsItemParser.recentCutoff());
+        NewsItemParser.Page second = parse(client, NewsItemParser.recentCutoff());
+        assertEquals(20, second.getItems().size());
+        assertEquals(2, requests.get());
+        assertEquals(1, notModified.get());
+        assertEquals(1, client.getRevalidated());
+        assertEquals(body.length, bytesRead.get());
+    }
+
+    @Test
+    void responseClosedAtCutoffIsNeitherDrainedNorCached() throws Exception {
+        // 첫 두 기사만 최근 기사이고 나머지는 기준 시각보다 오래됨
+        ZonedDateTime now = ZonedDateTime.now();
+        body = newsJson(now.plusHours(1), 200);
+        Date cutoff = Date.from(now.minusMinutes(30).toInstant());
+        CachingApiClient client = newClient();
+
+        NewsItemParser.Page page = parse(client, cutoff);
+        assertTrue(page.isCutoffReached());
+        assertEquals(2, page.getItems().size());
+        assertTrue(bytesRead.get() < body.length / 2, "read " + bytesRead.get() + " of " + body.length);
+        assertEquals(0, tmpFiles());
+
+        parse(client, cutoff);
+        assertEquals(2, requests.get());
+        assertEquals(0, client.getHits());
+    }
+
+    private NewsItemParser.Page parse(CachingApiClient client, Date cutoff) throws Exception {
+        return NewsItemParser.parse(client.getStream("news.json", "KBO", 100, 1, "date"), cutoff, true);
+    }
+
+    private CachingApiClient newClient() {
+        return newClient(Duration.ofHours(1));
+    }
+
+    private CachingApiClient newClient(Duration ttl) {
+        ApiClient delegate = new ApiClient() {
+            @Override
+            public String getData(String path, String query, int display, int start, String sort) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ApiResponse getConditionalStream(String path, String query, int display, int start, String sort,
+                                                    String etag, String lastModified) {
+                requests.incrementAndGet();
+                if ("\"v1\"".equals(etag)) {
+                    notModified.incrementAndGet();
+                    return ApiResponse.streamed(304, null, etag, lastModified);
+                }
+                return ApiResponse.streamed(200, counting(body), "\"v1\"", "Sat, 17 Oct 2026 03:00:00 GMT");
+            }
+
+            private InputStream counting(byte[] bytes) {
+                return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        // 네트워크 응답처럼 조금씩 읽힘
+                        int n = super.read(b, off, Math.min(len, 512));
+                        if (n > 0) {
+                            bytesRead.addAndGet(n);
+                        }
+                        return n;
+                    }
+                };
+            }
+        };
+        return new CachingApiClient(delegate, cacheDir, Map.of(), ttl, 1 << 20, logger);
+    }
+
+    private long tmpFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(file -> file.toString().endsWith(".tmp")).count();
+        }
+    }
+
+    /**
+     * newsJson 메서드는 newest부터 한 시간 간격으로 오래되어 가는 기사 count개의 뉴스 검색 응답을 만듭니다.
+     */
+    private static byte[] newsJson(ZonedDateTime newest, int count) {
+        StringBuilder json = new StringBuilder("{\"lastBuildDate\":\"\",\"total\":").append(count)
+                .append(",\"start\":1,\"display\":").append(count).append(",\"items\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"title\":\"기사 ").append(i)
+                    .append("\",\"originallink\":\"https://example.com/").append(i)
+                    .append("\",\"link\":\"https://example.com/").append(i)
+                    .append("\",\"description\":\"설명 ").append(i)
+                    .append("\",\"pubDate\":\"").append(NewsItemParser.PUB_DATE_FORMAT.format(newest.minusHours(i)))
+                    .append("\"}");
+        }
+        return json.append("]}\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * NearDuplicateDetectorTest 클래스는 근접 중복 기사 묶기와, 서명을 만들 수 없는 기사를 그대로 남기는지 검증합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import com.example.newscrawler.model.NewsItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NearDuplicateDetectorTest {
+    private final NearDuplicateDetector detector =
+            new NearDuplicateDetector(Logger.getLogger(NearDuplicateDetectorTest.class.getName()));
+
+    @Test
+    void collapsesReportsOfTheSameStory() {
+        NewsItem first = item(1, "LG 트윈스, 한국시리즈 우승 확정", "LG 트윈스가 한국시리즈 5차전에서 승리하며 통합 우승을 확정했다");
+        NewsItem second = item(2, "LG 트윈스 한국시리즈 우승 확정!", "LG 트윈스가 한국시리즈 5차전에서 승리하며 통합 우승을 확정했다.");
+        NewsItem other = item(3, "두산 베어스 새 감독 선임", "두산 베어스가 구단 역대 12번째 사령탑을 발표했다");
+
+        assertEquals(List.of(first, other), detector.collapse(List.of(first, second, other)));
+    }
+
+    @Test
+    void keepsArticlesWithoutBigrams() {
+        NewsItem empty = item(1, "", "");
+        NewsItem punctuation = item(2, "…!?", "— · —");
+        NewsItem singleLetters = item(3, "A B", "C");
+
+        assertEquals(List.of(empty, punctuation, singleLetters),
+                detector.collapse(List.of(empty, punctuation, singleLetters)));
+
+        detector.remember(List.of(empty));
+        assertEquals(List.of(punctuation), detector.collapse(List.of(punctuation)));
+    }
+
+    private static NewsItem item(int id, String title, String description) {
+        return new NewsItem(title, "https://example.com/" + id, description, new Date(), "");
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * NewsTextNormalizerTest 클래스는 기사 링크 정규화(articleLink)와 정규화 이전 형식(legacyLink)을 검증합니다.
+ */
+
+package com.example.newscrawler.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NewsTextNormalizerTest {
+
+    @Test
+    void publisherLinkDropsOnlyTrackingParams() {
+        String link = NewsTextNormalizer.articleLink(
+                "https://www.osen.co.kr/news/articleView.html?idxno=123&utm_source=naver&fbclid=abc");
+        assertEquals("https://www.osen.co.kr/news/articleView.html?idxno=123", link);
+        assertEquals("https://www.osen.co.kr/news/articleView.html", NewsTextNormalizer.legacyLink(link));
+    }
+
+    @Test
+    void publisherLinkKeepsRefFromShareAndDropsFragment() {
+        String link = NewsTextNormalizer.articleLink("https://example.com/view?id=9&ref=main&from=home&share=1#top");
+        assertEquals("https://example.com/view?id=9&ref=main&from=home&share=1", link);
+        assertEquals("https://example.com/view", NewsTextNormalizer.legacyLink(link));
+    }
+
+    @Test
+    void gclidIsDroppedFromTheMiddleOfTheQuery() {
+        assertEquals("https://example.com/view?id=9&page=2",
+                NewsTextNormalizer.articleLink("https://example.com/view?id=9&gclid=x&page=2"));
+    }
+
+    @Test
+    void naverPathLinkDropsQueryAndHasNoLegacyForm() {
+        String link = NewsTextNormalizer.articleLink(
+                "https://n.news.naver.com/mnews/article/117/0003812345?sid=104&ntype=RANKING");
+        assertEquals("https://n.news.naver.com/mnews/article/117/0003812345", link);
+        assertNull(NewsTextNormalizer.legacyLink("https://n.news.naver.com/mnews/article/117/0003812345?sid=104"));
+    }
+
+    @Test
+    void naverQueryLinkIsRewrittenToPathForm() {
+        assertEquals("https://m.sports.naver.com/article/117/0003812345", NewsTextNormalizer.articleLink(
+                "https://sports.news.naver.com/news.nhn?oid=117&aid=0003812345"));
+        assertEquals("https://n.news.naver.com/mnews/article/001/0014000000", NewsTextNormalizer.articleLink(
+                "https://news.naver.com/main/read.nhn?mode=LSD&oid=001&aid=0014000000"));
+    }
+
+    @Test
+    void naverHostVariantsMapToOneHost() {
+        assertEquals("https://n.news.naver.com/mnews/article/117/0003812345",
+                NewsTextNormalizer.articleLink("https://m.news.naver.com/article/117/0003812345/"));
+    }
+
+    @Test
+    void linkWithoutQueryHasNoLegacyForm() {
+        String link = NewsTextNormalizer.articleLink("https://example.com/news/2026/10/17/kbo ");
+        assertEquals("https://example.com/news/2026/10/17/kbo", link);
+        assertNull(NewsTextNormalizer.legacyLink(link));
+    }
+}